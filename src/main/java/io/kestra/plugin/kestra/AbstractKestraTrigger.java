@@ -1,15 +1,18 @@
 package io.kestra.plugin.kestra;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
-import java.util.Optional;
+import java.time.Duration;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.triggers.AbstractTrigger;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.runners.SDK;
+import io.kestra.plugin.kestra.connection.ApiCircuitBreaker;
+import io.kestra.plugin.kestra.connection.ApiRateLimit;
+import io.kestra.plugin.kestra.connection.ApiRetry;
+import io.kestra.plugin.kestra.connection.KestraAuthentication;
+import io.kestra.plugin.kestra.connection.KestraConnection;
+import io.kestra.plugin.kestra.connection.KestraConnectionInterface;
 import io.kestra.sdk.KestraClient;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -21,10 +24,7 @@ import lombok.experimental.SuperBuilder;
 @ToString
 @EqualsAndHashCode
 @Getter
-public abstract class AbstractKestraTrigger extends AbstractTrigger {
-    private static final String DEFAULT_KESTRA_URL = "http://localhost:8080";
-    private static final String KESTRA_URL_TEMPLATE = "{{ kestra.url }}";
-
+public abstract class AbstractKestraTrigger extends AbstractTrigger implements KestraConnectionInterface {
     @Schema(
         title = "Override Kestra API endpoint",
         description = """
@@ -46,122 +46,53 @@ public abstract class AbstractKestraTrigger extends AbstractTrigger {
     @PluginProperty(group = "connection")
     protected Property<String> tenantId;
 
-    protected String resolveKestraUrl(RunContext runContext) throws IllegalVariableEvaluationException {
-        String raw = runContext.render(kestraUrl).as(String.class)
-            .orElseGet(() ->
-            {
-                try {
-                    return runContext.render(KESTRA_URL_TEMPLATE);
-                } catch (IllegalVariableEvaluationException e) {
-                    return DEFAULT_KESTRA_URL;
-                }
-            });
-        return raw.trim().replaceAll("/+$", "");
-    }
+    @Schema(title = "Connection timeout", description = "Maximum time to establish a connection to the Kestra API on raw API calls, e.g. cached reads, flow listings and execution fetches; defaults to 10 seconds. Calls made through the Kestra SDK client use its own HTTP client and timeouts.")
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    private Property<Duration> connectTimeout = Property.ofValue(KestraConnection.DEFAULT_CONNECT_TIMEOUT);
 
-    protected String resolveAuthorizationHeader(RunContext runContext) throws IllegalVariableEvaluationException {
-        if (auth != null) {
-            if (auth.apiToken != null && (auth.username != null || auth.password != null)) {
-                throw new IllegalArgumentException("Cannot use both API Token authentication and HTTP Basic authentication");
-            }
-            var rApiToken = runContext.render(auth.apiToken).as(String.class).orElse(null);
-            if (rApiToken != null) {
-                return "Bearer " + rApiToken;
-            }
-            var maybeUsername = runContext.render(auth.username).as(String.class);
-            var maybePassword = runContext.render(auth.password).as(String.class);
-            if (maybeUsername.isPresent() && maybePassword.isPresent()) {
-                return "Basic " + Base64.getEncoder().encodeToString(
-                    (maybeUsername.get() + ":" + maybePassword.get()).getBytes(StandardCharsets.UTF_8)
-                );
-            }
-            if (maybeUsername.isPresent() || maybePassword.isPresent()) {
-                throw new IllegalArgumentException("Both username and password are required for HTTP Basic authentication");
-            }
-            if (runContext.render(auth.auto).as(Boolean.class).orElse(Boolean.TRUE)) {
-                return sdkAuthToHeader(runContext);
-            }
-            throw new IllegalArgumentException("No authentication method provided");
-        }
-        return sdkAuthToHeader(runContext);
-    }
+    @Schema(title = "Read timeout", description = "Maximum time to wait for a response on raw API calls, e.g. cached reads, flow listings and execution fetches; defaults to 1 minute. Calls made through the Kestra SDK client use its own HTTP client and timeouts; bound them with `apiTimeout`.")
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    private Property<Duration> readTimeout = Property.ofValue(KestraConnection.DEFAULT_READ_TIMEOUT);
+
+    @Schema(title = "Total API time budget", description = "Maximum total time spent calling the Kestra API during one evaluation, across all requests, pages and retries. When reached, the evaluation is skipped. Defaults to the polling interval.")
+    @PluginProperty(group = "connection")
+    private Property<Duration> apiTimeout;
+
+    @Schema(
+        title = "Retry transient API failures",
+        description = "Idempotent API calls (reads and searches) are retried on HTTP 429, 502, 503, 504 and connection errors with exponential backoff and jitter, honoring `Retry-After`. Calls that modify data are never retried."
+    )
+    @PluginProperty(group = "advanced")
+    private ApiRetry apiRetry;
+
+    @Schema(
+        title = "Throttle API calls",
+        description = "Token buckets shared by every task of the worker targeting the same Kestra URL and tenant, with separate budgets for reads and writes. Time spent waiting is reported in the `api.throttled` metric."
+    )
+    @PluginProperty(group = "advanced")
+    private ApiRateLimit apiRateLimit;
+
+    @Schema(
+        title = "Fail fast while the Kestra API is unavailable",
+        description = "After consecutive server or connection errors, the circuit opens and evaluations are skipped without calling the API until a probe call succeeds. The circuit is shared by every trigger of the worker targeting the same Kestra URL."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private ApiCircuitBreaker apiCircuitBreaker = ApiCircuitBreaker.builder().build();
 
-    private String sdkAuthToHeader(RunContext runContext) {
-        var autoAuth = runContext.sdk().defaultAuthentication();
-        if (autoAuth.isEmpty()) {
-            return null;
-        }
-        if (autoAuth.get().apiToken().isPresent()) {
-            return "Bearer " + autoAuth.get().apiToken().get();
-        }
-        if (autoAuth.get().username().isPresent() && autoAuth.get().password().isPresent()) {
-            return "Basic " + Base64.getEncoder().encodeToString(
-                (autoAuth.get().username().get() + ":" + autoAuth.get().password().get()).getBytes(StandardCharsets.UTF_8)
-            );
-        }
-        return null;
+    protected KestraConnection kestraConnection(RunContext runContext) throws IllegalVariableEvaluationException {
+        return KestraConnection.of(runContext, this);
     }
 
     protected KestraClient kestraClient(RunContext runContext) throws IllegalVariableEvaluationException {
-        var normalizedUrl = resolveKestraUrl(runContext);
-
-        runContext.logger().info("Kestra URL: {}", normalizedUrl);
-
-        var builder = KestraClient.builder();
-        builder.url(normalizedUrl);
-        if (auth != null) {
-            if (auth.apiToken != null && (auth.username != null || auth.password != null)) {
-                throw new IllegalArgumentException("Cannot use both API Token authentication and HTTP Basic authentication");
-            }
-
-            var rApiToken = runContext.render(auth.apiToken).as(String.class).orElse(null);
-            if (rApiToken != null) {
-                builder.tokenAuth(rApiToken);
-                return builder.build();
-            }
-
-            var maybeUsername = runContext.render(auth.username).as(String.class);
-            var maybePassword = runContext.render(auth.password).as(String.class);
-            if (maybeUsername.isPresent() && maybePassword.isPresent()) {
-                builder.basicAuth(maybeUsername.get(), maybePassword.get());
-                return builder.build();
-            }
-
-            if (maybeUsername.isPresent() || maybePassword.isPresent()) {
-                throw new IllegalArgumentException("Both username and password are required for HTTP Basic authentication");
-            }
-
-            if (runContext.render(auth.auto).as(Boolean.class).orElse(Boolean.TRUE)) {
-                Optional<SDK.Auth> autoAuth = runContext.sdk().defaultAuthentication();
-                if (autoAuth.isPresent()) {
-                    if (autoAuth.get().apiToken().isPresent()) {
-                        return builder.tokenAuth(autoAuth.get().apiToken().get()).build();
-                    }
-                    if (autoAuth.get().username().isPresent() && autoAuth.get().password().isPresent()) {
-                        return builder.basicAuth(autoAuth.get().username().get(), autoAuth.get().password().get()).build();
-                    }
-                }
-            }
-
-            throw new IllegalArgumentException("No authentication method provided");
-        } else {
-            // try automatic authentication
-            Optional<SDK.Auth> autoAuth = runContext.sdk().defaultAuthentication();
-            if (autoAuth.isPresent()) {
-                if (autoAuth.get().apiToken().isPresent()) {
-                    return builder.tokenAuth(autoAuth.get().apiToken().get()).build();
-                }
-                if (autoAuth.get().username().isPresent() && autoAuth.get().password().isPresent()) {
-                    return builder.basicAuth(autoAuth.get().username().get(), autoAuth.get().password().get()).build();
-                }
-            }
-        }
-        return builder.build();
+        return kestraConnection(runContext).getClient();
     }
 
     @Builder
     @Getter
-    public static class Auth {
+    public static class Auth implements KestraAuthentication {
         @Schema(title = "API token for bearer auth")
         @PluginProperty(group = "connection", secret = true)
         private Property<String> apiToken;
@@ -0,0 +1,41 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the conditional response cache, see {@link ResponseCache}. Cached bodies were fetched with the task
+ * credentials, so they are kept in the worker memory rather than the namespace KV store, where any flow of the
+ * namespace could read them. That memory is bounded by {@code maxEntries} times {@code maxEntrySize}.
+ */
+@Builder
+@Getter
+public class ApiCache {
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+
+    @Schema(title = "Time to keep a cached response", description = "Defaults to 1 hour.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> ttl = Property.ofValue(DEFAULT_TTL);
+
+    @Schema(title = "Maximum size of a cached response, in bytes", description = "Larger responses are not cached. Defaults to 1 MiB.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxEntrySize = Property.ofValue(DEFAULT_MAX_ENTRY_SIZE);
+
+    @Schema(
+        title = "Maximum number of cached responses on the worker",
+        description = "Cached responses are kept in the memory of the worker, shared by the tasks running on it; once there are more, the least recently used ones are evicted. With `maxEntrySize`, this bounds the memory used by the cache. Defaults to 100."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxEntries = Property.ofValue(DEFAULT_MAX_ENTRIES);
+}
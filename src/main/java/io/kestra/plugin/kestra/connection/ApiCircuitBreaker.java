@@ -0,0 +1,35 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Circuit breaker settings for triggers polling the Kestra API, see {@link CircuitBreaker}.
+ */
+@Builder
+@Getter
+public class ApiCircuitBreaker {
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofMinutes(1);
+
+    @Schema(title = "Enable the circuit breaker", description = "Defaults to true.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> enabled = Property.ofValue(true);
+
+    @Schema(title = "Consecutive failures before opening the circuit", description = "Only server errors, throttling and connection errors count as failures. Defaults to 5.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> failureThreshold = Property.ofValue(DEFAULT_FAILURE_THRESHOLD);
+
+    @Schema(title = "Time the circuit stays open", description = "Once elapsed, a single probe call is let through to decide whether to close the circuit. Defaults to 1 minute.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> openDuration = Property.ofValue(DEFAULT_OPEN_DURATION);
+}
@@ -0,0 +1,177 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+import io.kestra.sdk.internal.ApiException;
+
+/**
+ * Metrics emitted for Kestra API calls, all tagged by operation and tenant, and by HTTP status where it applies.
+ * <p>
+ * Calls may run concurrently, e.g. pages fetched in parallel on virtual threads, so they are not reported to the run
+ * context one by one: they are summed up in thread-safe accumulators, and {@link #flush} emits one entry per metric and
+ * tags, when the task or trigger evaluation is done with the connection. Request durations are summed, and
+ * {@code api.requests} counts the requests they were summed from.
+ * <p>
+ * The SDK does not expose the status nor the size of successful responses: they are reported as {@code 2xx}, and
+ * received bytes are only counted for raw HTTP responses and binary payloads such as exports.
+ */
+public class ApiMetrics {
+    public static final String REQUESTS = "api.requests";
+    public static final String REQUEST_DURATION = "api.request.duration";
+    public static final String RETRIES = "api.retries";
+    public static final String THROTTLED = "api.throttled";
+    public static final String PAGES = "api.pages";
+    public static final String ROWS = "api.rows";
+    public static final String PAGE_SIZE = "api.page.size";
+    public static final String BYTES_RECEIVED = "api.bytes.received";
+    public static final String BYTES_STORED = "storage.bytes.written";
+    public static final String CACHE_HITS = "api.cache.hits";
+    public static final String CACHE_MISSES = "api.cache.misses";
+    public static final String SHARED = "api.shared";
+
+    static final String STATUS_SUCCESS = "2xx";
+    static final String STATUS_IO_ERROR = "io_error";
+    static final String STATUS_ERROR = "error";
+    static final String STATUS_TIMEOUT = "timeout";
+
+    private final RunContext runContext;
+    private final String tenantId;
+    private final Map<Key, Long> counters;
+    private final Map<Key, Long> timers;
+
+    ApiMetrics(RunContext runContext, String tenantId) {
+        this(runContext, tenantId, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private ApiMetrics(RunContext runContext, String tenantId, Map<Key, Long> counters, Map<Key, Long> timers) {
+        this.runContext = runContext;
+        this.tenantId = tenantId;
+        this.counters = counters;
+        this.timers = timers;
+    }
+
+    /**
+     * @return metrics tagged by {@code tenantId} instead, summed up in the same accumulators and emitted by the same
+     *     {@link #flush}
+     */
+    ApiMetrics forTenant(String tenantId) {
+        return new ApiMetrics(runContext, tenantId, counters, timers);
+    }
+
+    void request(String operation, String status, Duration duration) {
+        List<String> tags = tags(operation, status);
+        count(REQUESTS, 1, tags);
+        time(REQUEST_DURATION, duration, tags);
+    }
+
+    void retry(String operation, String status) {
+        count(RETRIES, 1, tags(operation, status));
+    }
+
+    void throttled(String operation, boolean write, Duration waited) {
+        time(THROTTLED, waited, tags(operation, null, "type", write ? "write" : "read"));
+    }
+
+    void received(String operation, String status, long bytes) {
+        count(BYTES_RECEIVED, bytes, tags(operation, status));
+    }
+
+    void shared(String operation) {
+        count(SHARED, 1, tags(operation, null));
+    }
+
+    void cache(String operation, boolean hit) {
+        count(hit ? CACHE_HITS : CACHE_MISSES, 1, tags(operation, null));
+    }
+
+    /**
+     * Count one page of results.
+     */
+    public void page(String operation, int rows) {
+        List<String> tags = tags(operation, null);
+        count(PAGES, 1, tags);
+        count(ROWS, rows, tags);
+    }
+
+    /**
+     * Count one page requested with an adaptive size, tagged by that size.
+     */
+    public void pageSize(String operation, int size) {
+        count(PAGE_SIZE, 1, tags(operation, null, "size", String.valueOf(size)));
+    }
+
+    /**
+     * Count bytes written to internal storage from the results of {@code operation}.
+     */
+    public void stored(String operation, long bytes) {
+        count(BYTES_STORED, bytes, tags(operation, null));
+    }
+
+    /**
+     * Emit what was accumulated since the last flush to the run context, on the calling thread. Calls still running
+     * keep accumulating, and are emitted by the next flush.
+     */
+    public void flush() {
+        for (Key key : counters.keySet()) {
+            Long value = counters.remove(key);
+            if (value != null) {
+                runContext.metric(Counter.of(key.name(), value, key.tagArray()));
+            }
+        }
+        for (Key key : timers.keySet()) {
+            Long nanos = timers.remove(key);
+            if (nanos != null) {
+                runContext.metric(Timer.of(key.name(), Duration.ofNanos(nanos), key.tagArray()));
+            }
+        }
+    }
+
+    private void count(String name, long value, List<String> tags) {
+        // merged atomically: a value is either emitted by a flush or kept for the next one
+        counters.merge(new Key(name, tags), value, Long::sum);
+    }
+
+    private void time(String name, Duration duration, List<String> tags) {
+        timers.merge(new Key(name, tags), duration.toNanos(), Long::sum);
+    }
+
+    static String status(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof ApiException apiException && apiException.getCode() != 0) {
+                return String.valueOf(apiException.getCode());
+            }
+            if (current instanceof IOException) {
+                return STATUS_IO_ERROR;
+            }
+        }
+        return STATUS_ERROR;
+    }
+
+    private List<String> tags(String operation, String status, String... extraTags) {
+        List<String> tags = new ArrayList<>(List.of("operation", operation));
+        tags.addAll(List.of(extraTags));
+        if (status != null) {
+            tags.add("status");
+            tags.add(status);
+        }
+        if (tenantId != null) {
+            tags.add("tenant");
+            tags.add(tenantId);
+        }
+        return tags;
+    }
+
+    private record Key(String name, List<String> tags) {
+        String[] tagArray() {
+            return tags.toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.kestra.plugin.kestra.connection;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Client-side throttling of Kestra API calls, see {@link ApiRateLimiter}.
+ */
+@Builder
+@Getter
+public class ApiRateLimit {
+    @Schema(title = "Maximum read requests per second", description = "Applies to searches, gets and exports. Unlimited when not set.")
+    @PluginProperty(group = "advanced")
+    private Property<Double> readsPerSecond;
+
+    @Schema(title = "Maximum write requests per second", description = "Applies to calls that create, update or delete resources. Unlimited when not set.")
+    @PluginProperty(group = "advanced")
+    private Property<Double> writesPerSecond;
+}
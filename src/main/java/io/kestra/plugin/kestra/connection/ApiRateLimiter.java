@@ -0,0 +1,103 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Worker-wide token buckets throttling calls to a Kestra instance, with separate read and write budgets.
+ * <p>
+ * Buckets are keyed by Kestra URL and tenant, so every task running on the worker against the same endpoint draws
+ * from the same budget, whatever the number of concurrent {@code ForEach} iterations. The rate is part of the key too:
+ * tasks configuring different rates for the same endpoint each draw from their own bucket, at their own rate.
+ */
+public class ApiRateLimiter {
+    public static final ApiRateLimiter UNLIMITED = new ApiRateLimiter(null, null, null, null);
+
+    private static final Cache<Key, RateLimiter> BUCKETS = CacheBuilder.newBuilder()
+        .maximumSize(KestraClientCache.MAXIMUM_SIZE * 2)
+        .expireAfterAccess(KestraClientCache.IDLE_TIMEOUT)
+        .build();
+
+    private final String url;
+    private final String tenantId;
+    private final Double readsPerSecond;
+    private final Double writesPerSecond;
+
+    ApiRateLimiter(String url, String tenantId, Double readsPerSecond, Double writesPerSecond) {
+        this.url = url;
+        this.tenantId = tenantId;
+        this.readsPerSecond = readsPerSecond;
+        this.writesPerSecond = writesPerSecond;
+    }
+
+    public static ApiRateLimiter of(RunContext runContext, ApiRateLimit rateLimit, String url, String tenantId) throws IllegalVariableEvaluationException {
+        if (rateLimit == null) {
+            return UNLIMITED;
+        }
+
+        Double rReadsPerSecond = runContext.render(rateLimit.getReadsPerSecond()).as(Double.class).orElse(null);
+        Double rWritesPerSecond = runContext.render(rateLimit.getWritesPerSecond()).as(Double.class).orElse(null);
+        if ((rReadsPerSecond != null && rReadsPerSecond <= 0) || (rWritesPerSecond != null && rWritesPerSecond <= 0)) {
+            throw new IllegalArgumentException("API rate limits must be strictly positive");
+        }
+        return new ApiRateLimiter(url, tenantId, rReadsPerSecond, rWritesPerSecond);
+    }
+
+    /**
+     * Block until a permit is available.
+     *
+     * @return the time spent waiting, {@link Duration#ZERO} when the call was not throttled.
+     */
+    public Duration acquire(boolean write) {
+        Double permitsPerSecond = write ? writesPerSecond : readsPerSecond;
+        if (permitsPerSecond == null) {
+            return Duration.ZERO;
+        }
+
+        double waitedSeconds = bucket(write, permitsPerSecond).acquire();
+        return Duration.ofNanos((long) (waitedSeconds * 1_000_000_000L));
+    }
+
+    /**
+     * Wait for a permit, but no longer than {@code timeout}.
+     *
+     * @return the time spent waiting, or empty when no permit would be available within {@code timeout}; the call
+     * then returns without waiting.
+     */
+    public Optional<Duration> tryAcquire(boolean write, Duration timeout) {
+        Double permitsPerSecond = write ? writesPerSecond : readsPerSecond;
+        if (permitsPerSecond == null) {
+            return Optional.of(Duration.ZERO);
+        }
+
+        long start = System.nanoTime();
+        if (!bucket(write, permitsPerSecond).tryAcquire(1, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private RateLimiter bucket(boolean write, double permitsPerSecond) {
+        try {
+            return BUCKETS.get(new Key(url, tenantId, write, permitsPerSecond), () -> RateLimiter.create(permitsPerSecond));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static void invalidateAll() {
+        BUCKETS.invalidateAll();
+    }
+
+    private record Key(String url, String tenantId, boolean write, double permitsPerSecond) {
+    }
+}
@@ -0,0 +1,42 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Retry settings applied to idempotent Kestra API calls, see {@link RetryPolicy}.
+ */
+@Builder
+@Getter
+public class ApiRetry {
+    public static final int DEFAULT_MAX_ATTEMPTS = 4;
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(500);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(30);
+    public static final int DEFAULT_BUDGET = 20;
+
+    @Schema(title = "Maximum attempts per request", description = "Includes the first attempt; set to 1 to disable retries. Defaults to 4.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxAttempts = Property.ofValue(DEFAULT_MAX_ATTEMPTS);
+
+    @Schema(title = "Initial backoff delay", description = "Doubled on each attempt, with full jitter. Defaults to 500 milliseconds.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> initialDelay = Property.ofValue(DEFAULT_INITIAL_DELAY);
+
+    @Schema(title = "Maximum backoff delay", description = "Upper bound for a single wait, including waits requested by a `Retry-After` header. Defaults to 30 seconds.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> maxDelay = Property.ofValue(DEFAULT_MAX_DELAY);
+
+    @Schema(title = "Retry budget", description = "Maximum number of retries for the whole task run or trigger evaluation, across all requests. Defaults to 20.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> budget = Property.ofValue(DEFAULT_BUDGET);
+}
@@ -0,0 +1,193 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.sdk.internal.ApiException;
+
+/**
+ * Worker-wide circuit breaker per Kestra URL, used by triggers so that an API incident does not hold scheduler
+ * threads on calls that are bound to fail.
+ * <ul>
+ *     <li>{@code CLOSED}: calls go through; consecutive failures are counted.</li>
+ *     <li>{@code OPEN}: reached after {@code failureThreshold} consecutive failures; calls fail fast with a
+ *     {@link CircuitBreakerOpenException} until {@code openDuration} has elapsed.</li>
+ *     <li>{@code HALF_OPEN}: a single probe call goes through; its success closes the circuit, its failure opens it
+ *     again.</li>
+ * </ul>
+ * Only server errors, throttling, I/O errors and calls cut by the {@code apiTimeout} count as failures: a 4xx answer
+ * proves the API is reachable.
+ */
+public class CircuitBreaker {
+    public static final CircuitBreaker DISABLED = new CircuitBreaker(null, null, 0, Duration.ZERO, Clock.systemUTC());
+
+    private static final Cache<String, Circuit> CIRCUITS = CacheBuilder.newBuilder()
+        .maximumSize(KestraClientCache.MAXIMUM_SIZE)
+        .expireAfterAccess(KestraClientCache.IDLE_TIMEOUT)
+        .build();
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String url;
+    private final Circuit circuit;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    CircuitBreaker(String url, Circuit circuit, int failureThreshold, Duration openDuration, Clock clock) {
+        this.url = url;
+        this.circuit = circuit;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public static CircuitBreaker of(RunContext runContext, ApiCircuitBreaker circuitBreaker, String url) throws IllegalVariableEvaluationException {
+        if (circuitBreaker == null || !runContext.render(circuitBreaker.getEnabled()).as(Boolean.class).orElse(true)) {
+            return DISABLED;
+        }
+
+        return new CircuitBreaker(
+            url,
+            circuit(url),
+            runContext.render(circuitBreaker.getFailureThreshold()).as(Integer.class).orElse(ApiCircuitBreaker.DEFAULT_FAILURE_THRESHOLD),
+            runContext.render(circuitBreaker.getOpenDuration()).as(Duration.class).orElse(ApiCircuitBreaker.DEFAULT_OPEN_DURATION),
+            Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Let a call through, or fail fast while the circuit is open or a probe is already in flight.
+     */
+    public void acquire(Logger logger) {
+        if (circuit == null) {
+            return;
+        }
+
+        synchronized (circuit) {
+            Instant now = clock.instant();
+            Instant retryAt = circuit.changedAt.plus(openDuration);
+            switch (circuit.state) {
+                case CLOSED -> {
+                }
+                case OPEN -> {
+                    if (now.isBefore(retryAt)) {
+                        throw new CircuitBreakerOpenException(url, retryAt);
+                    }
+                    transition(State.HALF_OPEN, now, logger);
+                }
+                // a probe that never reported back (e.g. its thread was interrupted) is replaced after openDuration
+                case HALF_OPEN -> {
+                    if (now.isBefore(retryAt)) {
+                        throw new CircuitBreakerOpenException(url, retryAt);
+                    }
+                    circuit.changedAt = now;
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the outcome of a call let through by {@link #acquire}, {@code failure} being null on success.
+     */
+    public void record(Throwable failure, Logger logger) {
+        record(failure == null || !isFailure(failure), logger);
+    }
+
+    /**
+     * Record the outcome of a raw HTTP call let through by {@link #acquire}.
+     */
+    public void record(int statusCode, Logger logger) {
+        record(!isFailure(statusCode), logger);
+    }
+
+    private void record(boolean success, Logger logger) {
+        if (circuit == null) {
+            return;
+        }
+
+        synchronized (circuit) {
+            if (success) {
+                circuit.consecutiveFailures = 0;
+                if (circuit.state != State.CLOSED) {
+                    transition(State.CLOSED, clock.instant(), logger);
+                }
+                return;
+            }
+
+            circuit.consecutiveFailures++;
+            if (circuit.state == State.HALF_OPEN || (circuit.state == State.CLOSED && circuit.consecutiveFailures >= failureThreshold)) {
+                transition(State.OPEN, clock.instant(), logger);
+            }
+        }
+    }
+
+    State state() {
+        return circuit == null ? State.CLOSED : circuit.state;
+    }
+
+    private void transition(State state, Instant now, Logger logger) {
+        State previous = circuit.state;
+        circuit.state = state;
+        circuit.changedAt = now;
+
+        if (logger == null) {
+            return;
+        }
+        switch (state) {
+            case OPEN -> logger.warn(
+                "Circuit breaker for Kestra API at {} opened after {} consecutive failures, calls are suspended for {}",
+                url, circuit.consecutiveFailures, openDuration
+            );
+            case HALF_OPEN -> logger.info("Circuit breaker for Kestra API at {} is half-open, probing", url);
+            case CLOSED -> logger.info("Circuit breaker for Kestra API at {} closed (was {})", url, previous);
+        }
+    }
+
+    static boolean isFailure(Throwable failure) {
+        if (failure instanceof DeadlineExceededException) {
+            return true;
+        }
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof ApiException apiException && apiException.getCode() != 0) {
+                return isFailure(apiException.getCode());
+            }
+        }
+        return RetryPolicy.isRetryable(failure);
+    }
+
+    static boolean isFailure(int statusCode) {
+        return statusCode >= 500 || statusCode == 429;
+    }
+
+    private static Circuit circuit(String url) {
+        try {
+            return CIRCUITS.get(url, Circuit::new);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static void invalidateAll() {
+        CIRCUITS.invalidateAll();
+    }
+
+    static final class Circuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private Instant changedAt = Instant.EPOCH;
+    }
+}
@@ -0,0 +1,12 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Instant;
+
+/**
+ * Thrown instead of calling the Kestra API while the {@link CircuitBreaker} of its endpoint is open.
+ */
+public class CircuitBreakerOpenException extends IllegalStateException {
+    public CircuitBreakerOpenException(String url, Instant retryAt) {
+        super("Kestra API at " + url + " is unavailable, calls are suspended until " + retryAt);
+    }
+}
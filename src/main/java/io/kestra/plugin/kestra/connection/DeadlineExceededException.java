@@ -0,0 +1,12 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a Kestra API call would start, or keep running, past the {@code apiTimeout} of the task or trigger.
+ */
+public class DeadlineExceededException extends IllegalStateException {
+    public DeadlineExceededException(String operation, Duration apiTimeout, Throwable cause) {
+        super("Kestra API call '" + operation + "' exceeded the time budget of " + apiTimeout, cause);
+    }
+}
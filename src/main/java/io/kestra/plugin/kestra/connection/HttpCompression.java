@@ -0,0 +1,105 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.io.CountingInputStream;
+
+/**
+ * Content negotiation for the raw HTTP path: responses are requested compressed and decompressed while streaming,
+ * so that large search pages are neither transferred nor buffered in full.
+ */
+final class HttpCompression {
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private HttpCompression() {
+    }
+
+    /**
+     * Decode a response body according to its {@code Content-Encoding}. Responses without a body, like a 304 answer
+     * to a conditional request, are returned empty whatever their encoding.
+     *
+     * @param onClose receives the number of bytes read from the wire, once the body is closed
+     */
+    static InputStream decode(int statusCode, String contentEncoding, InputStream body, LongConsumer onClose) throws IOException {
+        CountingInputStream wire = new CountingInputStream(body);
+        String encoding = contentEncoding == null || hasNoBody(statusCode) ? "identity" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+        InputStream decoded;
+        try {
+            decoded = switch (encoding) {
+                case "gzip", "x-gzip" -> {
+                    // GZIPInputStream reads the header as soon as it is created, and fails on an empty body
+                    InputStream buffered = new BufferedInputStream(wire, BUFFER_SIZE);
+                    yield isEmpty(buffered) ? buffered : new GZIPInputStream(buffered, BUFFER_SIZE);
+                }
+                case "deflate" -> {
+                    InputStream buffered = new BufferedInputStream(wire, BUFFER_SIZE);
+                    yield isEmpty(buffered) ? buffered : inflating(buffered, new Inflater(!isZlibWrapped(buffered)));
+                }
+                case "identity", "" -> wire;
+                default -> throw new IOException("Unsupported Content-Encoding '" + contentEncoding + "'");
+            };
+        } catch (IOException e) {
+            // the body is not handed over to the caller: close it, or the connection leaks
+            wire.close();
+            throw e;
+        }
+
+        return new FilterInputStream(decoded) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    super.close();
+                    onClose.accept(wire.getCount());
+                }
+            }
+        };
+    }
+
+    // InflaterInputStream only ends the inflaters it creates itself: end this one on close, or its native memory is only
+    // released once it is garbage collected
+    private static InputStream inflating(InputStream body, Inflater inflater) {
+        return new InflaterInputStream(body, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static boolean hasNoBody(int statusCode) {
+        return statusCode == 204 || statusCode == 304;
+    }
+
+    private static boolean isEmpty(InputStream body) throws IOException {
+        body.mark(1);
+        int first = body.read();
+        body.reset();
+        return first == -1;
+    }
+
+    // "deflate" is specified as zlib-wrapped, but some servers send a raw deflate stream: sniff the zlib header
+    private static boolean isZlibWrapped(InputStream body) throws IOException {
+        body.mark(2);
+        int cmf = body.read();
+        int flg = body.read();
+        body.reset();
+        return cmf != -1 && flg != -1 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+    }
+}
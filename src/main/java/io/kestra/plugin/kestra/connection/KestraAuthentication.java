@@ -0,0 +1,16 @@
+package io.kestra.plugin.kestra.connection;
+
+import io.kestra.core.models.property.Property;
+
+/**
+ * Authentication settings shared by the task and trigger {@code auth} properties.
+ */
+public interface KestraAuthentication {
+    Property<String> getApiToken();
+
+    Property<String> getUsername();
+
+    Property<String> getPassword();
+
+    Property<Boolean> getAuto();
+}
@@ -0,0 +1,49 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import io.kestra.sdk.KestraClient;
+
+/**
+ * Worker-wide cache of {@link KestraClient}, so that every task and trigger targeting the same Kestra instance
+ * with the same credentials reuses one HTTP stack and its keep-alive connections.
+ * <p>
+ * Entries are keyed by normalized URL, credentials fingerprint and tenant, bounded in size and evicted when idle.
+ */
+public final class KestraClientCache {
+    static final int MAXIMUM_SIZE = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final Cache<Key, KestraClient> CLIENTS = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .expireAfterAccess(IDLE_TIMEOUT)
+        .build();
+
+    private KestraClientCache() {
+    }
+
+    public static KestraClient get(String url, KestraCredentials credentials, String tenantId) {
+        try {
+            return CLIENTS.get(new Key(url, credentials.fingerprint(), tenantId), () -> credentials.newClient(url));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException("Unable to create a Kestra client for " + url, e.getCause());
+        }
+    }
+
+    static long size() {
+        CLIENTS.cleanUp();
+        return CLIENTS.size();
+    }
+
+    static void invalidateAll() {
+        CLIENTS.invalidateAll();
+    }
+
+    private record Key(String url, String credentialsFingerprint, String tenantId) {
+    }
+}
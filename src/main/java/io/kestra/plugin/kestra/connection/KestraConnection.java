@@ -0,0 +1,563 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.SDK;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.sdk.KestraClient;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A resolved connection to a Kestra instance, shared by tasks and triggers.
+ * <p>
+ * It exposes the pooled {@link KestraClient} from {@link KestraClientCache} and, for endpoints the SDK does not cover,
+ * a raw HTTP path backed by a worker-wide HTTP/2-capable {@link HttpClient} running on virtual threads.
+ * <p>
+ * API calls should go through {@link #read} or {@link #write}: reads are idempotent and transparently retried
+ * following the {@link RetryPolicy}, writes are never retried automatically. Both are throttled by the worker-wide
+ * {@link ApiRateLimiter} when a rate limit is configured, and guarded by the endpoint {@link CircuitBreaker} when the
+ * caller enables one. When an {@code apiTimeout} is set, no call starts nor waits past the resulting deadline:
+ * {@link DeadlineExceededException} is thrown instead, so that pagination loops can stop and report partial results.
+ * The raw HTTP path enforces it with a request timeout. SDK calls have none: a read still running at the deadline is
+ * interrupted and abandoned, but the request it sent may complete in the background and keep its pooled connection
+ * until then.
+ * <p>
+ * Closing the connection emits its {@link ApiMetrics}; the pooled clients are kept open.
+ */
+@Getter
+public class KestraConnection implements AutoCloseable {
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final String DEFAULT_KESTRA_URL = "http://localhost:8080";
+    private static final String KESTRA_URL_TEMPLATE = "{{ kestra.url }}";
+
+    private static final ExecutorService HTTP_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Map<Duration, HttpClient> HTTP_CLIENTS = new ConcurrentHashMap<>();
+    private static final ObjectMapper JSON_MAPPER = JacksonMapper.ofJson().copy()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Getter(AccessLevel.NONE)
+    private final RunContext runContext;
+    private final String url;
+    private final String tenantId;
+    private final KestraCredentials credentials;
+    private final KestraClient client;
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    @Getter(AccessLevel.NONE)
+    private final RetryPolicy retryPolicy;
+    @Getter(AccessLevel.NONE)
+    private final ApiRateLimiter rateLimiter;
+    @Getter(AccessLevel.NONE)
+    private final CircuitBreaker circuitBreaker;
+    @Getter(AccessLevel.NONE)
+    private final ResponseCache responseCache;
+    private final ApiMetrics metrics;
+    private final Duration apiTimeout;
+    @Getter(AccessLevel.NONE)
+    private final Instant deadline;
+
+    // unset collaborators fall back to no credentials, default timeouts, and no retry, rate limit, circuit breaker nor cache
+    @Builder(access = AccessLevel.PACKAGE)
+    KestraConnection(
+        RunContext runContext,
+        String url,
+        String tenantId,
+        KestraCredentials credentials,
+        Duration connectTimeout,
+        Duration readTimeout,
+        RetryPolicy retryPolicy,
+        ApiRateLimiter rateLimiter,
+        CircuitBreaker circuitBreaker,
+        ResponseCache responseCache,
+        Duration apiTimeout
+    ) {
+        this.runContext = runContext;
+        this.url = url;
+        this.tenantId = tenantId;
+        this.credentials = credentials != null ? credentials : KestraCredentials.NONE;
+        this.client = KestraClientCache.get(url, this.credentials, tenantId);
+        this.httpClient = HTTP_CLIENTS.computeIfAbsent(connectTimeout != null ? connectTimeout : DEFAULT_CONNECT_TIMEOUT, KestraConnection::newHttpClient);
+        this.readTimeout = readTimeout != null ? readTimeout : DEFAULT_READ_TIMEOUT;
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.NONE;
+        this.rateLimiter = rateLimiter != null ? rateLimiter : ApiRateLimiter.UNLIMITED;
+        this.circuitBreaker = circuitBreaker != null ? circuitBreaker : CircuitBreaker.DISABLED;
+        this.responseCache = responseCache != null ? responseCache : ResponseCache.DISABLED;
+        this.metrics = new ApiMetrics(runContext, tenantId);
+        this.apiTimeout = apiTimeout;
+        this.deadline = apiTimeout != null ? Instant.now().plus(apiTimeout) : null;
+    }
+
+    private KestraConnection(KestraConnection connection, String tenantId) {
+        this.runContext = connection.runContext;
+        this.url = connection.url;
+        this.tenantId = tenantId;
+        this.credentials = connection.credentials;
+        this.client = KestraClientCache.get(url, credentials, tenantId);
+        this.httpClient = connection.httpClient;
+        this.readTimeout = connection.readTimeout;
+        this.retryPolicy = connection.retryPolicy;
+        this.rateLimiter = connection.rateLimiter;
+        this.circuitBreaker = connection.circuitBreaker;
+        this.responseCache = connection.responseCache;
+        this.metrics = connection.metrics.forTenant(tenantId);
+        this.apiTimeout = connection.apiTimeout;
+        this.deadline = connection.deadline;
+    }
+
+    public static KestraConnection of(RunContext runContext, KestraConnectionInterface spec) throws IllegalVariableEvaluationException {
+        String normalizedUrl = resolveUrl(runContext, spec.getKestraUrl());
+        KestraCredentials credentials = resolveCredentials(runContext, spec.getAuth());
+        String rTenantId = runContext.render(spec.getTenantId()).as(String.class).orElse(runContext.flowInfo().tenantId());
+        Duration rConnectTimeout = runContext.render(spec.getConnectTimeout()).as(Duration.class).orElse(DEFAULT_CONNECT_TIMEOUT);
+        Duration rReadTimeout = runContext.render(spec.getReadTimeout()).as(Duration.class).orElse(DEFAULT_READ_TIMEOUT);
+        RetryPolicy retryPolicy = RetryPolicy.of(runContext, spec.getApiRetry());
+        ApiRateLimiter rateLimiter = ApiRateLimiter.of(runContext, spec.getApiRateLimit(), normalizedUrl, rTenantId);
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(runContext, spec.getApiCircuitBreaker(), normalizedUrl);
+        ResponseCache responseCache = ResponseCache.of(runContext, spec.getApiCache(), normalizedUrl, rTenantId, credentials);
+        // a trigger evaluation must not outlive its polling interval, or evaluations pile up
+        Duration rApiTimeout = runContext.render(spec.getApiTimeout()).as(Duration.class)
+            .orElse(spec instanceof PollingTriggerInterface pollingTrigger ? pollingTrigger.getInterval() : null);
+
+        runContext.logger().debug("Kestra URL: {}", normalizedUrl);
+
+        return new KestraConnection(runContext, normalizedUrl, rTenantId, credentials, rConnectTimeout, rReadTimeout, retryPolicy, rateLimiter, circuitBreaker, responseCache, rApiTimeout);
+    }
+
+    public static String resolveUrl(RunContext runContext, Property<String> kestraUrl) throws IllegalVariableEvaluationException {
+        String raw = runContext.render(kestraUrl).as(String.class)
+            .orElseGet(() ->
+            {
+                try {
+                    return runContext.render(KESTRA_URL_TEMPLATE);
+                } catch (IllegalVariableEvaluationException e) {
+                    return DEFAULT_KESTRA_URL;
+                }
+            });
+        return raw.trim().replaceAll("/+$", "");
+    }
+
+    public static KestraCredentials resolveCredentials(RunContext runContext, KestraAuthentication auth) throws IllegalVariableEvaluationException {
+        if (auth != null) {
+            if (auth.getApiToken() != null && (auth.getUsername() != null || auth.getPassword() != null)) {
+                throw new IllegalArgumentException("Cannot use both API Token authentication and HTTP Basic authentication");
+            }
+
+            String rApiToken = runContext.render(auth.getApiToken()).as(String.class).orElse(null);
+            if (rApiToken != null) {
+                return KestraCredentials.ofToken(rApiToken);
+            }
+
+            Optional<String> maybeUsername = runContext.render(auth.getUsername()).as(String.class);
+            Optional<String> maybePassword = runContext.render(auth.getPassword()).as(String.class);
+            if (maybeUsername.isPresent() && maybePassword.isPresent()) {
+                return KestraCredentials.ofBasic(maybeUsername.get(), maybePassword.get());
+            }
+            if (maybeUsername.isPresent() || maybePassword.isPresent()) {
+                throw new IllegalArgumentException("Both username and password are required for HTTP Basic authentication");
+            }
+
+            if (runContext.render(auth.getAuto()).as(Boolean.class).orElse(Boolean.TRUE)) {
+                Optional<KestraCredentials> autoCredentials = defaultCredentials(runContext);
+                if (autoCredentials.isPresent()) {
+                    return autoCredentials.get();
+                }
+            }
+
+            throw new IllegalArgumentException("No authentication method provided");
+        }
+
+        // try automatic authentication
+        return defaultCredentials(runContext).orElse(KestraCredentials.NONE);
+    }
+
+    private static Optional<KestraCredentials> defaultCredentials(RunContext runContext) {
+        Optional<SDK.Auth> autoAuth = runContext.sdk().defaultAuthentication();
+        if (autoAuth.isPresent()) {
+            if (autoAuth.get().apiToken().isPresent()) {
+                return Optional.of(KestraCredentials.ofToken(autoAuth.get().apiToken().get()));
+            }
+            if (autoAuth.get().username().isPresent() && autoAuth.get().password().isPresent()) {
+                return Optional.of(KestraCredentials.ofBasic(autoAuth.get().username().get(), autoAuth.get().password().get()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Run an idempotent API call, retrying transient failures.
+     *
+     * @param operation a short name of the call, like {@code executions.search}, used in logs and metrics
+     */
+    public <T> T read(String operation, ApiCall<T> call) throws Exception {
+        return call(operation, call, true);
+    }
+
+    /**
+     * Run an idempotent API call like {@link #read}, sharing its result with identical calls running concurrently on the
+     * worker, see {@link SingleFlight}.
+     *
+     * @param type the type of the result, like {@code new TypeReference<List<String>>() {}}, to give a copy to each
+     *     caller sharing it
+     * @param arguments every argument of the call, including filters, which must implement {@code equals}
+     */
+    public <T> T readShared(String operation, TypeReference<T> type, ApiCall<T> call, Object... arguments) throws Exception {
+        return shared(operation, type, Arrays.asList(arguments), () -> read(operation, call));
+    }
+
+    private <T> T shared(String operation, TypeReference<T> type, List<?> arguments, Callable<T> call) throws Exception {
+        SingleFlight.Key key = new SingleFlight.Key(url, tenantId, credentials.fingerprint(), operation, arguments);
+        try {
+            return SingleFlight.execute(key, deadline != null ? remaining() : null, () -> metrics.shared(operation), type, call);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(operation, apiTimeout, e);
+        }
+    }
+
+    /**
+     * Run an idempotent API call returning a page of results, counting the page and its rows in metrics.
+     *
+     * @param rows extracts the rows of the page, like {@code PagedResultsExecution::getResults}
+     */
+    public <T> T readPage(String operation, ApiCall<T> call, Function<T, ? extends Collection<?>> rows) throws Exception {
+        T page = read(operation, call);
+        Collection<?> pageRows = page != null ? rows.apply(page) : null;
+        metrics.page(operation, pageRows != null ? pageRows.size() : 0);
+        return page;
+    }
+
+    /**
+     * Run a non-idempotent API call; failures are propagated as is.
+     *
+     * @param operation a short name of the call, like {@code executions.kill}, used in logs and metrics
+     */
+    public <T> T write(String operation, ApiCall<T> call) throws Exception {
+        return call(operation, call, false);
+    }
+
+    /**
+     * Run a non-idempotent API call whose response is not needed; failures are propagated as is.
+     */
+    public void execute(String operation, ApiAction action) throws Exception {
+        call(
+            operation, client ->
+            {
+                action.run(client);
+                return null;
+            }, false
+        );
+    }
+
+    private <T> T call(String operation, ApiCall<T> call, boolean idempotent) throws Exception {
+        circuitBreaker.acquire(runContext.logger());
+        int attempt = 1;
+        while (true) {
+            checkDeadline(operation, null);
+            throttle(operation, !idempotent);
+            long start = System.nanoTime();
+            try {
+                T result = idempotent ? callWithinDeadline(operation, call) : call.call(client);
+                metrics.request(operation, ApiMetrics.STATUS_SUCCESS, Duration.ofNanos(System.nanoTime() - start));
+                if (result instanceof byte[] bytes) {
+                    metrics.received(operation, ApiMetrics.STATUS_SUCCESS, bytes.length);
+                }
+                circuitBreaker.record(null, runContext.logger());
+                return result;
+            } catch (DeadlineExceededException e) {
+                metrics.request(operation, ApiMetrics.STATUS_TIMEOUT, Duration.ofNanos(System.nanoTime() - start));
+                circuitBreaker.record(e, runContext.logger());
+                throw e;
+            } catch (Exception e) {
+                String status = ApiMetrics.status(e);
+                metrics.request(operation, status, Duration.ofNanos(System.nanoTime() - start));
+                Optional<Duration> delay = idempotent ? retryPolicy.nextDelay(attempt, e) : Optional.empty();
+                if (delay.isEmpty()) {
+                    circuitBreaker.record(e, runContext.logger());
+                    throw e;
+                }
+                waitBeforeRetry(operation, attempt, delay.get(), status, e);
+                attempt++;
+            }
+        }
+    }
+
+    private <T> T callWithinDeadline(String operation, ApiCall<T> call) throws Exception {
+        if (deadline == null) {
+            return call.call(client);
+        }
+
+        // the SDK has no per-call timeout: run the call on a virtual thread and interrupt it once the deadline is hit
+        Future<T> future = HTTP_EXECUTOR.submit(() -> call.call(client));
+        try {
+            return future.get(remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // the interrupt only stops the call if the SDK checks for it: a call blocked reading its response keeps
+            // its connection until the server answers, the task just stops waiting for it
+            future.cancel(true);
+            throw new DeadlineExceededException(operation, apiTimeout, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void checkDeadline(String operation, Throwable cause) {
+        if (isDeadlineExceeded()) {
+            throw new DeadlineExceededException(operation, apiTimeout, cause);
+        }
+    }
+
+    private Duration remaining() {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * @return whether the {@code apiTimeout} is set and has elapsed.
+     */
+    public boolean isDeadlineExceeded() {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    /**
+     * @return this connection for the calls of a task to another tenant, e.g. when it fans out to several tenants:
+     *     calls share the retry policy, rate limit, circuit breaker, cache and deadline of this connection, and their
+     *     metrics are tagged by {@code tenantId} and emitted when this connection is closed
+     */
+    public KestraConnection forTenant(String tenantId) {
+        return new KestraConnection(this, tenantId);
+    }
+
+    @Override
+    public void close() {
+        metrics.flush();
+    }
+
+    /**
+     * Start a raw request to {@code path} (relative to the Kestra URL, e.g. {@code /api/v1/main/triggers/search?page=1}),
+     * with authentication and the read timeout already applied.
+     */
+    public HttpRequest.Builder request(String path) {
+        var builder = HttpRequest.newBuilder()
+            .uri(URI.create(url + path))
+            .timeout(readTimeout);
+
+        String authorization = credentials.authorizationHeader();
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder;
+    }
+
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        return httpClient.send(request, bodyHandler);
+    }
+
+    /**
+     * Send a raw GET request, retrying transient failures like {@link #read}. The response is negotiated with
+     * gzip or deflate compression and its body is decompressed while being read.
+     */
+    public RawResponse get(String operation, String path) throws IOException, InterruptedException {
+        if (!responseCache.isEnabled()) {
+            return fetch(operation, path, Map.of());
+        }
+
+        Optional<ResponseCache.Entry> cached = responseCache.lookup(path);
+        Map<String, String> conditionalHeaders = new HashMap<>();
+        cached.ifPresent(entry ->
+        {
+            if (entry.etag() != null) {
+                conditionalHeaders.put("If-None-Match", entry.etag());
+            }
+            if (entry.lastModified() != null) {
+                conditionalHeaders.put("If-Modified-Since", entry.lastModified());
+            }
+        });
+
+        RawResponse response = fetch(operation, path, conditionalHeaders);
+        if (response.statusCode() == 304 && cached.isPresent()) {
+            response.close();
+            metrics.cache(operation, true);
+            return new RawResponse(200, response.headers(), new ByteArrayInputStream(cached.get().body().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        metrics.cache(operation, false);
+        if (!response.isSuccessful()) {
+            return response;
+        }
+
+        String body;
+        try (response) {
+            body = response.bodyAsString();
+        }
+        responseCache.store(path, new ResponseCache.Entry(
+            response.headers().firstValue("ETag").orElse(null),
+            response.headers().firstValue("Last-Modified").orElse(null),
+            body
+        ));
+        return new RawResponse(response.statusCode(), response.headers(), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Send a raw GET request and parse its JSON body, failing on any non-2xx status. Identical requests running
+     * concurrently on the worker share one call.
+     */
+    public <T> T getJson(String operation, String path, TypeReference<T> type) throws Exception {
+        return shared(operation, type, List.of(path), () ->
+        {
+            try (RawResponse response = get(operation, path)) {
+                if (!response.isSuccessful()) {
+                    throw new IllegalStateException("Kestra API call '" + operation + "' returned HTTP " + response.statusCode() + ": " + response.bodyAsString());
+                }
+                return JSON_MAPPER.readValue(response.body(), type);
+            }
+        });
+    }
+
+    private RawResponse fetch(String operation, String path, Map<String, String> headers) throws IOException, InterruptedException {
+        circuitBreaker.acquire(runContext.logger());
+        int attempt = 1;
+        while (true) {
+            checkDeadline(operation, null);
+            HttpRequest.Builder builder = request(path)
+                .header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING)
+                .GET();
+            headers.forEach(builder::header);
+            if (deadline != null && remaining().compareTo(readTimeout) < 0) {
+                builder.timeout(remaining());
+            }
+            HttpRequest request = builder.build();
+            HttpResponse<InputStream> response;
+            throttle(operation, false);
+            long start = System.nanoTime();
+            try {
+                response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (IOException e) {
+                metrics.request(operation, ApiMetrics.STATUS_IO_ERROR, Duration.ofNanos(System.nanoTime() - start));
+                if (e instanceof HttpTimeoutException && isDeadlineExceeded()) {
+                    circuitBreaker.record(e, runContext.logger());
+                    throw new DeadlineExceededException(operation, apiTimeout, e);
+                }
+                Optional<Duration> delay = retryPolicy.nextDelay(attempt, e);
+                if (delay.isEmpty()) {
+                    circuitBreaker.record(e, runContext.logger());
+                    throw e;
+                }
+                waitBeforeRetry(operation, attempt, delay.get(), ApiMetrics.STATUS_IO_ERROR, e);
+                attempt++;
+                continue;
+            }
+
+            String status = String.valueOf(response.statusCode());
+            metrics.request(operation, status, Duration.ofNanos(System.nanoTime() - start));
+
+            Optional<Duration> delay = retryPolicy.nextDelay(attempt, response.statusCode(), response.headers().firstValue("Retry-After").orElse(null));
+            if (delay.isEmpty()) {
+                circuitBreaker.record(response.statusCode(), runContext.logger());
+                InputStream body = HttpCompression.decode(
+                    response.statusCode(),
+                    response.headers().firstValue("Content-Encoding").orElse(null),
+                    response.body(),
+                    wireBytes -> metrics.received(operation, status, wireBytes)
+                );
+                return new RawResponse(response.statusCode(), response.headers(), body);
+            }
+            response.body().close();
+            waitBeforeRetry(operation, attempt, delay.get(), status, null);
+            attempt++;
+        }
+    }
+
+    private void throttle(String operation, boolean write) {
+        Duration waited = deadline == null ?
+            rateLimiter.acquire(write) :
+            rateLimiter.tryAcquire(write, remaining()).orElseThrow(() -> new DeadlineExceededException(operation, apiTimeout, null));
+        if (!waited.isZero()) {
+            runContext.logger().debug("Kestra API call '{}' throttled for {}", operation, waited);
+            metrics.throttled(operation, write, waited);
+        }
+    }
+
+    private void waitBeforeRetry(String operation, int attempt, Duration delay, String status, Throwable failure) throws InterruptedException {
+        if (deadline != null && delay.compareTo(remaining()) >= 0) {
+            // the failed attempt is the last one: report it, or a circuit would never see the failures of such calls
+            DeadlineExceededException exceeded = new DeadlineExceededException(operation, apiTimeout, failure);
+            circuitBreaker.record(exceeded, runContext.logger());
+            throw exceeded;
+        }
+        String reason = failure != null ? failure.getMessage() : "HTTP " + status;
+        runContext.logger().warn("Kestra API call '{}' failed on attempt {} ({}), retrying in {}", operation, attempt, reason, delay);
+        metrics.retry(operation, status);
+        Thread.sleep(delay);
+    }
+
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        T call(KestraClient client) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ApiAction {
+        void run(KestraClient client) throws Exception;
+    }
+
+    /**
+     * Encode a path segment or a query parameter value for {@link #get} paths.
+     */
+    public static String encode(String value) {
+        // "+" only stands for a space in query strings
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static HttpClient newHttpClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(HTTP_EXECUTOR)
+            .build();
+    }
+}
@@ -0,0 +1,40 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+
+import io.kestra.core.models.property.Property;
+
+/**
+ * Connection properties exposed by every plugin that talks to the Kestra API, resolved by {@link KestraConnection#of}.
+ */
+public interface KestraConnectionInterface {
+    Property<String> getKestraUrl();
+
+    KestraAuthentication getAuth();
+
+    Property<String> getTenantId();
+
+    Property<Duration> getConnectTimeout();
+
+    Property<Duration> getReadTimeout();
+
+    Property<Duration> getApiTimeout();
+
+    ApiRetry getApiRetry();
+
+    ApiRateLimit getApiRateLimit();
+
+    /**
+     * Circuit breaker guarding the endpoint; only triggers enable one by default.
+     */
+    default ApiCircuitBreaker getApiCircuitBreaker() {
+        return null;
+    }
+
+    /**
+     * Conditional response cache; only tasks that read through the raw HTTP path expose it.
+     */
+    default ApiCache getApiCache() {
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import io.kestra.sdk.KestraClient;
+
+/**
+ * Resolved credentials used to authenticate against the Kestra API.
+ * At most one of {@code apiToken} or {@code username}/{@code password} is set; {@link #NONE} means anonymous access.
+ */
+public record KestraCredentials(String apiToken, String username, String password) {
+    public static final KestraCredentials NONE = new KestraCredentials(null, null, null);
+
+    public static KestraCredentials ofToken(String apiToken) {
+        return new KestraCredentials(apiToken, null, null);
+    }
+
+    public static KestraCredentials ofBasic(String username, String password) {
+        return new KestraCredentials(null, username, password);
+    }
+
+    public String authorizationHeader() {
+        if (apiToken != null) {
+            return "Bearer " + apiToken;
+        }
+        if (username != null && password != null) {
+            return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    /**
+     * A one-way hash of the credentials, safe to use as a cache key without keeping secrets around.
+     */
+    public String fingerprint() {
+        String header = authorizationHeader();
+        if (header == null) {
+            return "anonymous";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(header.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    KestraClient newClient(String url) {
+        var builder = KestraClient.builder();
+        builder.url(url);
+        if (apiToken != null) {
+            builder.tokenAuth(apiToken);
+        } else if (username != null && password != null) {
+            builder.basicAuth(username, password);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "KestraCredentials[" + (apiToken != null ? "token" : username != null ? "basic" : "none") + "]";
+    }
+}
@@ -0,0 +1,26 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A response of the raw HTTP path, whose body is streamed and already decompressed. It must be closed to release the
+ * underlying connection.
+ */
+public record RawResponse(int statusCode, HttpHeaders headers, InputStream body) implements Closeable {
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public String bodyAsString() throws IOException {
+        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -0,0 +1,116 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Keeps the last body of raw GET responses together with their {@code ETag} or {@code Last-Modified} validator, so
+ * that the next run sends a conditional request and reuses the body on {@code 304 Not Modified}.
+ * <p>
+ * Bodies are fetched with the credentials of the task, so they are kept in the memory of the worker only, never in
+ * a store flows can read: they survive across the executions running on the same worker, and expire after the TTL.
+ * The worker keeps the {@code maxEntries} most recently used entries of the last task that stored one. Keys are derived
+ * from the URL, tenant, credentials fingerprint and request path, so two identities never share an entry.
+ */
+public class ResponseCache {
+    public static final ResponseCache DISABLED = new ResponseCache(null, null, null, 0, 0);
+
+    // in access order, so that the eldest entry is the least recently used one
+    private static final Map<String, Cached> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final RunContext runContext;
+    private final String scope;
+    private final Duration ttl;
+    private final int maxEntrySize;
+    private final int maxEntries;
+
+    ResponseCache(RunContext runContext, String scope, Duration ttl, int maxEntrySize, int maxEntries) {
+        this.runContext = runContext;
+        this.scope = scope;
+        this.ttl = ttl;
+        this.maxEntrySize = maxEntrySize;
+        this.maxEntries = maxEntries;
+    }
+
+    public static ResponseCache of(RunContext runContext, ApiCache apiCache, String url, String tenantId, KestraCredentials credentials) throws IllegalVariableEvaluationException {
+        if (apiCache == null) {
+            return DISABLED;
+        }
+
+        return new ResponseCache(
+            runContext,
+            url + "|" + tenantId + "|" + credentials.fingerprint(),
+            runContext.render(apiCache.getTtl()).as(Duration.class).orElse(ApiCache.DEFAULT_TTL),
+            runContext.render(apiCache.getMaxEntrySize()).as(Integer.class).orElse(ApiCache.DEFAULT_MAX_ENTRY_SIZE),
+            runContext.render(apiCache.getMaxEntries()).as(Integer.class).orElse(ApiCache.DEFAULT_MAX_ENTRIES)
+        );
+    }
+
+    public boolean isEnabled() {
+        return runContext != null;
+    }
+
+    Optional<Entry> lookup(String path) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        String key = key(path);
+        synchronized (ENTRIES) {
+            Cached cached = ENTRIES.get(key);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            if (cached.expiresAt().isBefore(Instant.now())) {
+                ENTRIES.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(cached.entry());
+        }
+    }
+
+    void store(String path, Entry entry) {
+        if (!isEnabled() || (entry.etag() == null && entry.lastModified() == null)) {
+            return;
+        }
+        if (entry.body().getBytes(StandardCharsets.UTF_8).length > maxEntrySize) {
+            runContext.logger().debug("Response for {} is larger than {} bytes, not caching it", path, maxEntrySize);
+            return;
+        }
+
+        synchronized (ENTRIES) {
+            ENTRIES.put(key(path), new Cached(entry, Instant.now().plus(ttl)));
+            Iterator<Cached> eldest = ENTRIES.values().iterator();
+            while (ENTRIES.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    String key(String path) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest((scope + "|" + path).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record Entry(String etag, String lastModified, String body) {
+    }
+
+    private record Cached(Entry entry, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,151 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JacksonException;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.sdk.internal.ApiException;
+
+/**
+ * Exponential backoff with full jitter for transient Kestra API failures: HTTP 429, 502, 503, 504 and I/O errors
+ * such as connection resets. A {@code Retry-After} header, when present, takes precedence over the computed backoff.
+ * <p>
+ * The retry budget is shared by every request made through the same {@link KestraConnection}, so a run against an
+ * unhealthy server gives up instead of retrying each page to exhaustion.
+ */
+public class RetryPolicy {
+    static final Set<Integer> RETRYABLE_STATUS_CODES = Set.of(429, 502, 503, 504);
+    static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 0);
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final AtomicInteger budget;
+
+    RetryPolicy(int maxAttempts, Duration initialDelay, Duration maxDelay, int budget) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.budget = new AtomicInteger(budget);
+    }
+
+    public static RetryPolicy of(RunContext runContext, ApiRetry apiRetry) throws IllegalVariableEvaluationException {
+        if (apiRetry == null) {
+            return new RetryPolicy(ApiRetry.DEFAULT_MAX_ATTEMPTS, ApiRetry.DEFAULT_INITIAL_DELAY, ApiRetry.DEFAULT_MAX_DELAY, ApiRetry.DEFAULT_BUDGET);
+        }
+
+        return new RetryPolicy(
+            runContext.render(apiRetry.getMaxAttempts()).as(Integer.class).orElse(ApiRetry.DEFAULT_MAX_ATTEMPTS),
+            runContext.render(apiRetry.getInitialDelay()).as(Duration.class).orElse(ApiRetry.DEFAULT_INITIAL_DELAY),
+            runContext.render(apiRetry.getMaxDelay()).as(Duration.class).orElse(ApiRetry.DEFAULT_MAX_DELAY),
+            runContext.render(apiRetry.getBudget()).as(Integer.class).orElse(ApiRetry.DEFAULT_BUDGET)
+        );
+    }
+
+    /**
+     * @return the delay to wait before the next attempt, or empty if the failure must be propagated.
+     */
+    public Optional<Duration> nextDelay(int attempt, Throwable failure) {
+        if (!isRetryable(failure)) {
+            return Optional.empty();
+        }
+        return nextDelay(attempt, retryAfter(failure));
+    }
+
+    /**
+     * @return the delay to wait before retrying a raw HTTP response, or empty if the response must be returned as is.
+     */
+    public Optional<Duration> nextDelay(int attempt, int statusCode, String retryAfterHeader) {
+        if (!RETRYABLE_STATUS_CODES.contains(statusCode)) {
+            return Optional.empty();
+        }
+        return nextDelay(attempt, parseRetryAfter(retryAfterHeader));
+    }
+
+    private Optional<Duration> nextDelay(int attempt, Duration retryAfter) {
+        if (attempt >= maxAttempts || budget.getAndUpdate(remaining -> Math.max(remaining - 1, -1)) <= 0) {
+            return Optional.empty();
+        }
+
+        long ceiling = Math.min(maxDelay.toMillis(), initialDelay.toMillis() << Math.min(attempt - 1, 20));
+        Duration delay = Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        if (retryAfter != null && retryAfter.compareTo(delay) > 0) {
+            delay = retryAfter;
+        }
+        return Optional.of(delay.compareTo(maxDelay) > 0 ? maxDelay : delay);
+    }
+
+    static boolean isRetryable(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof ApiException apiException && apiException.getCode() != 0) {
+                return RETRYABLE_STATUS_CODES.contains(apiException.getCode());
+            }
+            if (current instanceof JacksonException) {
+                return false;
+            }
+            if (current instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Duration retryAfter(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof ApiException apiException) {
+                return parseRetryAfter(header(apiException.getResponseHeaders(), "Retry-After"));
+            }
+        }
+        return null;
+    }
+
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Instant date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(Instant.now(), date);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    // the SDK exposes response headers either as java.net.http.HttpHeaders or as a multimap depending on the generator
+    private static String header(Object headers, String name) {
+        if (headers instanceof HttpHeaders httpHeaders) {
+            return httpHeaders.firstValue(name).orElse(null);
+        }
+        if (headers instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getKey() instanceof String key && key.equalsIgnoreCase(name)) {
+                    Object value = entry.getValue();
+                    if (value instanceof Collection<?> values) {
+                        return values.isEmpty() ? null : String.valueOf(values.iterator().next());
+                    }
+                    return value != null ? value.toString() : null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Worker-wide de-duplication of identical in-flight reads: while a read is running, the same read issued by another
+ * task of the worker (e.g. another iteration of a {@code ForEach}) waits for it and gets its result instead of
+ * calling the API again. Nothing is kept once the read completes, so this never serves stale data.
+ * <p>
+ * Only successes are shared: a call can fail for reasons of its own caller, like its time budget or its interruption
+ * when its execution is killed, so when it fails every caller waiting for it makes its own call. Each of them gets its
+ * own copy of the result, deserialized from the JSON the caller of the shared call serialized once, so that none sees
+ * the objects of another task.
+ */
+final class SingleFlight {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson().copy()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final Map<Key, Flight> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private SingleFlight() {
+    }
+
+    /**
+     * Run {@code call}, or join the identical call already in flight.
+     *
+     * @param maxWait how long to wait for a call run by someone else, null to wait until it completes; a
+     *     {@link java.util.concurrent.TimeoutException} is thrown once elapsed
+     * @param onShared invoked when the result of another call is reused
+     * @param type the type of the result, to copy it for the callers sharing it
+     */
+    static <T> T execute(Key key, Duration maxWait, Runnable onShared, TypeReference<T> type, Callable<T> call) throws Exception {
+        Flight own = new Flight();
+        // joining is atomic with the removal of the flight, so its caller knows whether anyone waits for its result
+        Flight flight = IN_FLIGHT.compute(key, (k, inFlight) ->
+        {
+            if (inFlight == null) {
+                return own;
+            }
+            inFlight.joiners.incrementAndGet();
+            return inFlight;
+        });
+
+        if (flight != own) {
+            byte[] shared = maxWait != null ? flight.result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS) : flight.result.get();
+            if (shared == null) {
+                return call.call();
+            }
+            onShared.run();
+            return MAPPER.readValue(shared, type);
+        }
+
+        T result = null;
+        boolean succeeded = false;
+        try {
+            result = call.call();
+            succeeded = true;
+            return result;
+        } finally {
+            IN_FLIGHT.remove(key, own);
+            own.result.complete(succeeded && own.joiners.get() > 0 ? serialize(result) : null);
+        }
+    }
+
+    private static byte[] serialize(Object result) {
+        try {
+            return MAPPER.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            // the callers waiting make their own call
+            return null;
+        }
+    }
+
+    static int inFlight() {
+        return IN_FLIGHT.size();
+    }
+
+    static int joiners(Key key) {
+        Flight flight = IN_FLIGHT.get(key);
+        return flight != null ? flight.joiners.get() : 0;
+    }
+
+    private static final class Flight {
+        // the serialized result of a successful call, null when the call failed
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private final AtomicInteger joiners = new AtomicInteger();
+    }
+
+    /**
+     * Identity of a read: same endpoint, tenant, credentials, operation and arguments, including filters.
+     */
+    record Key(String url, String tenantId, String credentialsFingerprint, String operation, List<?> arguments) {
+    }
+}
@@ -49,13 +49,13 @@ public class Delete extends AbstractKestraTask implements RunnableTask<VoidOutpu
 
     @Override
     public VoidOutput run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
+        try (var connection = kestraConnection(runContext)) {
+            connection.execute("assets.deleteAsset", client -> client.assets().deleteAsset(
+                runContext.render(assetId).as(String.class).orElseThrow(),
+                runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
+            ));
 
-        kestraClient.assets().deleteAsset(
-            runContext.render(assetId).as(String.class).orElseThrow(),
-            runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
-        );
-
-        return null;
+            return null;
+        }
     }
 }
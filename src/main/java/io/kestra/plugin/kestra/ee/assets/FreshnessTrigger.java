@@ -27,6 +27,10 @@ import io.kestra.core.models.triggers.TriggerOutput;
 import io.kestra.core.models.triggers.TriggerService;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTrigger;
+import io.kestra.plugin.kestra.connection.CircuitBreakerOpenException;
+import io.kestra.plugin.kestra.connection.DeadlineExceededException;
+import io.kestra.plugin.kestra.pagination.PageSizer;
+import io.kestra.plugin.kestra.pagination.Paginator;
 import io.kestra.sdk.model.*;
 
 import io.swagger.v3.oas.annotations.Hidden;
@@ -167,6 +171,11 @@ public class FreshnessTrigger extends AbstractKestraTrigger implements PollingTr
     @Schema(title = "Metadata field queries to filter assets by")
     private Property<List<FieldQuery>> metadataQuery;
 
+    @Builder.Default
+    @Schema(title = "Pages fetched concurrently", description = "Once the first page has returned the total, the remaining pages are fetched in parallel. Defaults to 4.")
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageConcurrency = Property.ofValue(Paginator.DEFAULT_CONCURRENCY);
+
     @Hidden
     @Getter(AccessLevel.NONE)
     @Builder.Default
@@ -174,62 +183,69 @@ public class FreshnessTrigger extends AbstractKestraTrigger implements PollingTr
     Clock clock = Clock.systemDefaultZone();
 
     @Override
-    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws IllegalVariableEvaluationException {
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
         RunContext runContext = conditionContext.getRunContext();
-        var kestraClient = kestraClient(runContext);
-
-        List<AssetsControllerApiAsset> fetchedAssets = new ArrayList<>();
-        int currentPage = 1;
-        long total;
-        int size = 100;
-        Instant now = clock.instant();
-        String tenantId = runContext.render(this.tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        do {
-            PagedResultsAssetsControllerApiAsset results = kestraClient.assets().searchAssets(
-                tenantId,
-                currentPage,
-                size,
-                null,
-                toQueryFilters(
-                    runContext.render(assetId).as(String.class).orElse(null),
-                    runContext.render(namespace).as(String.class).orElse(null),
-                    runContext.render(assetType).as(String.class).orElse(null),
-                    runContext.render(metadataQuery).asList(FieldQuery.class),
-                    now.minus(runContext.render(maxStaleness).as(Duration.class).orElseThrow())
+        try (var connection = kestraConnection(runContext)) {
+            List<AssetsControllerApiAsset> fetchedAssets = new ArrayList<>();
+            Instant now = clock.instant();
+            String tenantId = runContext.render(this.tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var filters = toQueryFilters(
+                runContext.render(assetId).as(String.class).orElse(null),
+                runContext.render(namespace).as(String.class).orElse(null),
+                runContext.render(assetType).as(String.class).orElse(null),
+                runContext.render(metadataQuery).asList(FieldQuery.class),
+                now.minus(runContext.render(maxStaleness).as(Duration.class).orElseThrow())
+            );
+            try {
+                // every page is needed anyway, so let the page size follow the server
+                Paginator.fetchAll(
+                    PageSizer.adaptive(pageSize -> connection.getMetrics().pageSize("assets.searchAssets", pageSize)),
+                    runContext.render(pageConcurrency).as(Integer.class).orElse(Paginator.DEFAULT_CONCURRENCY),
+                    Paginator.UNLIMITED,
+                    (requestedPage, pageSize) -> connection.readPage("assets.searchAssets", client -> client.assets().searchAssets(tenantId, requestedPage, pageSize, null, filters), PagedResultsAssetsControllerApiAsset::getResults),
+                    PagedResultsAssetsControllerApiAsset::getResults,
+                    PagedResultsAssetsControllerApiAsset::getTotal,
+                    // asset IDs are only unique within a namespace
+                    asset -> asset.getNamespace() + "/" + asset.getId(),
+                    fetchedAssets::addAll
+                );
+            } catch (CircuitBreakerOpenException e) {
+                runContext.logger().debug("Skipping evaluation: {}", e.getMessage());
+                return Optional.empty();
+            } catch (DeadlineExceededException e) {
+                runContext.logger().warn("Skipping evaluation, results would be partial: {}", e.getMessage());
+                return Optional.empty();
+            }
+
+            if (fetchedAssets.isEmpty()) {
+                return Optional.empty();
+            }
+
+            return Optional.of(
+                TriggerService.generateExecution(
+                    this, conditionContext, context, Output.builder()
+                        .assets(
+                            fetchedAssets.stream()
+                                .map(
+                                    fetchedAsset -> new AssetWithStaleInfo(
+                                        tenantId,
+                                        fetchedAsset.getNamespace(),
+                                        fetchedAsset.getId(),
+                                        fetchedAsset.getType(),
+                                        fetchedAsset.getDisplayName(),
+                                        fetchedAsset.getDescription(),
+                                        fetchedAsset.getMetadata(),
+                                        Optional.ofNullable(fetchedAsset.getCreated()).map(OffsetDateTime::toInstant).orElse(null),
+                                        Optional.ofNullable(fetchedAsset.getUpdated()).map(OffsetDateTime::toInstant).orElse(null),
+                                        false,
+                                        Duration.between(fetchedAsset.getUpdated().toInstant(), now),
+                                        now
+                                    )
+                                ).toList()
+                        ).build()
                 )
             );
-            fetchedAssets.addAll(results.getResults());
-            total = results.getTotal();
-        } while ((long) currentPage++ * size < total);
-
-        if (fetchedAssets.isEmpty()) {
-            return Optional.empty();
         }
-
-        return Optional.of(
-            TriggerService.generateExecution(
-                this, conditionContext, context, Output.builder()
-                    .assets(
-                        fetchedAssets.stream()
-                            .map(
-                                fetchedAsset -> new AssetWithStaleInfo(
-                                    tenantId,
-                                    fetchedAsset.getNamespace(),
-                                    fetchedAsset.getId(),
-                                    fetchedAsset.getType(),
-                                    fetchedAsset.getDisplayName(),
-                                    fetchedAsset.getDescription(),
-                                    fetchedAsset.getMetadata(),
-                                    Optional.ofNullable(fetchedAsset.getCreated()).map(OffsetDateTime::toInstant).orElse(null),
-                                    Optional.ofNullable(fetchedAsset.getUpdated()).map(OffsetDateTime::toInstant).orElse(null),
-                                    false,
-                                    Duration.between(fetchedAsset.getUpdated().toInstant(), now),
-                                    now
-                                )
-                            ).toList()
-                    ).build()
-            )
-        );
     }
 
     private List<QueryFilter> toQueryFilters(String assetId, String namespace, String typeFilter, List<FieldQuery> metadataQuery, Instant updatedBefore) {
@@ -1,8 +1,5 @@
 package io.kestra.plugin.kestra.ee.assets;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Map;
@@ -15,9 +12,12 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.FileSerde;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.pagination.PagedListing;
+import io.kestra.plugin.kestra.pagination.Paginator;
+import io.kestra.plugin.kestra.serde.FetchGuard;
+import io.kestra.plugin.kestra.serde.OutputCompression;
+import io.kestra.plugin.kestra.serde.OutputFormat;
 import io.kestra.sdk.model.*;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -28,7 +28,6 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 import static io.kestra.core.utils.Rethrow.throwBiConsumer;
-import static io.kestra.core.utils.Rethrow.throwConsumer;
 
 @SuperBuilder(toBuilder = true)
 @Getter
@@ -88,6 +87,22 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     @PluginProperty(group = "advanced")
     private Property<Integer> size = Property.ofValue(100);
 
+    @Builder.Default
+    @Schema(
+        title = "Pages fetched concurrently",
+        description = "When `page` is omitted, the remaining pages are fetched in parallel once the first page has returned the total; results keep the page order. Defaults to 4."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageConcurrency = Property.ofValue(Paginator.DEFAULT_CONCURRENCY);
+
+    @Nullable
+    @Schema(
+        title = "Maximum number of assets to return",
+        description = "When `page` is omitted, stops fetching pages as soon as this many assets are collected; `truncated` tells whether more matched. Defaults to all."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxResults;
+
     @Nullable
     @Schema(
         title = "Namespace filter"
@@ -115,73 +130,79 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     @PluginProperty(group = "execution")
     private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
 
+    @Builder.Default
+    @Schema(
+        title = "Format of the stored file",
+        description = "With `fetchType: STORE`, ION writes one asset per line, NDJSON one JSON object per line, and CSV a header then one line per asset with nested fields flattened into dotted columns. Defaults to ION."
+    )
+    @PluginProperty(group = "execution")
+    private Property<OutputFormat> format = Property.ofValue(OutputFormat.ION);
+
+    @Builder.Default
+    @Schema(title = "Compression of the stored file", description = "With `fetchType: STORE`, GZIP compresses the file as it is written. Defaults to NONE.")
+    @PluginProperty(group = "execution")
+    private Property<OutputCompression> compression = Property.ofValue(OutputCompression.NONE);
+
+    @Nullable
+    @Schema(
+        title = "Maximum number of assets to fetch",
+        description = "With `fetchType: FETCH`, when more assets are found, they are stored as with STORE instead: `uri` is set and `assets` only holds the first 10. Defaults to no limit."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxFetchRows;
+
+    @Nullable
+    @Schema(
+        title = "Maximum size in bytes of the assets to fetch",
+        description = "Like `maxFetchRows`, on the size of the assets serialized to JSON. Defaults to no limit."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Long> maxFetchBytes;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         FetchType renderedFetchType = runContext.render(this.fetchType).as(FetchType.class).orElseThrow();
 
         Integer rPage = runContext.render(this.page).as(Integer.class).orElse(null);
         Integer rSize = runContext.render(this.size).as(Integer.class).orElse(100);
+        Integer rPageConcurrency = runContext.render(this.pageConcurrency).as(Integer.class).orElse(Paginator.DEFAULT_CONCURRENCY);
+        Integer rMaxResults = runContext.render(this.maxResults).as(Integer.class).orElse(null);
+        var rFormat = runContext.render(this.format).as(OutputFormat.class).orElse(OutputFormat.ION);
+        var rCompression = runContext.render(this.compression).as(OutputCompression.class).orElse(OutputCompression.NONE);
+        var guard = FetchGuard.of(
+            runContext.render(this.maxFetchRows).as(Integer.class).orElse(null),
+            runContext.render(this.maxFetchBytes).as(Long.class).orElse(null)
+        );
 
-        var kestraClient = kestraClient(runContext);
-
-        java.util.List<AssetsControllerApiAsset> fetchedAssets;
-        var rTenantForAssets = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        if (rPage != null) {
-            fetchedAssets = kestraClient.assets().searchAssets(
-                rTenantForAssets,
-                rPage,
-                rSize,
-                null,
-                toQueryFilters(
-                    runContext.render(namespace).as(String.class).orElse(null), runContext.render(types).asList(String.class), runContext.render(metadataQuery).asList(FieldQuery.class)
-                )
-            ).getResults();
-        } else {
-            fetchedAssets = new ArrayList<>();
-
-            int currentPage = 1;
-            long total;
-            do {
-                PagedResultsAssetsControllerApiAsset results = kestraClient.assets().searchAssets(
-                    rTenantForAssets,
-                    currentPage,
-                    rSize,
-                    null,
-                    toQueryFilters(
-                        runContext.render(namespace).as(String.class).orElse(null), runContext.render(types).asList(String.class), runContext.render(metadataQuery).asList(FieldQuery.class)
-                    )
-                );
-                fetchedAssets.addAll(results.getResults());
-                total = results.getTotal();
-            } while ((long) currentPage++ * rSize < total);
-        }
+        try (var connection = kestraConnection(runContext)) {
+            var rTenantForAssets = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var filters = toQueryFilters(
+                runContext.render(namespace).as(String.class).orElse(null), runContext.render(types).asList(String.class), runContext.render(metadataQuery).asList(FieldQuery.class)
+            );
+
+            var result = new PagedListing<>(
+                runContext,
+                connection,
+                "assets.searchAssets",
+                AssetsControllerApiAsset.class,
+                (client, page, size) -> client.assets().searchAssets(rTenantForAssets, page, size, null, filters),
+                PagedResultsAssetsControllerApiAsset::getResults,
+                PagedResultsAssetsControllerApiAsset::getTotal,
+                asset -> asset.getNamespace() + "/" + asset.getId()
+            ).list(rPage, rSize, rPageConcurrency, rMaxResults, renderedFetchType, rFormat, rCompression, guard);
 
-        Output.OutputBuilder outputBuilder = Output.builder();
-        switch (renderedFetchType) {
-            case FETCH_ONE -> outputBuilder
-                .asset(fetchedAssets.getFirst())
-                .size(1L);
-            case STORE -> {
-                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
-                try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
-                    fetchedAssets.forEach(throwConsumer(asset ->
-                    {
-                        final String s = JacksonMapper.ofIon().writeValueAsString(asset);
-                        fileWriter.write(s);
-                        fileWriter.write("\n");
-                    }));
-                }
-                outputBuilder
-                    .uri(runContext.storage().putFile(tempFile))
-                    .size((long) fetchedAssets.size());
+            Output.OutputBuilder outputBuilder = Output.builder()
+                .uri(result.uri())
+                .size(result.size())
+                .partial(result.partial())
+                .truncated(result.truncated());
+            if (renderedFetchType == FetchType.FETCH_ONE) {
+                outputBuilder.asset(result.rows().getFirst());
+            } else {
+                outputBuilder.assets(result.rows());
             }
-            case FETCH -> outputBuilder
-                .assets(fetchedAssets)
-                .size((long) fetchedAssets.size());
-            case NONE -> runContext.logger().info("fetchType is set to NONE, no output will be returned");
+            return outputBuilder.build();
         }
-
-        return outputBuilder.build();
     }
 
     private java.util.List<QueryFilter> toQueryFilters(String namespace, java.util.List<String> typesFilter, java.util.List<FieldQuery> metadataQuery) {
@@ -233,7 +254,7 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
             title = "List containing the fetched assets",
-            description = "Only populated if using `fetchType=FETCH`."
+            description = "Only populated if using `fetchType=FETCH`; only the first 10 when `maxFetchRows` or `maxFetchBytes` was exceeded."
         )
         private java.util.List<AssetsControllerApiAsset> assets;
 
@@ -245,7 +266,7 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
 
         @Schema(
             title = "Kestra's internal storage URI of the stored assets",
-            description = "Only populated if using `fetchType=STORE`."
+            description = "Only populated if using `fetchType=STORE`, or `fetchType=FETCH` when `maxFetchRows` or `maxFetchBytes` was exceeded."
         )
         private URI uri;
 
@@ -253,5 +274,16 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
             title = "The number of fetched assets. Only populated if FetchType != NONE"
         )
         private Long size;
+
+        @Schema(
+            title = "Whether the results are partial",
+            description = "True when `apiTimeout` was reached before all pages were fetched."
+        )
+        private Boolean partial;
+
+        @Schema(
+            title = "Whether more assets matched than `maxResults`"
+        )
+        private Boolean truncated;
     }
 }
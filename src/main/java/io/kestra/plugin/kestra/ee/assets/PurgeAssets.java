@@ -174,65 +174,66 @@ public class PurgeAssets extends AbstractKestraTask implements RunnableTask<Purg
             }
         }
 
-        var kestraClient = kestraClient(runContext);
-        PurgeOutput.PurgeOutputBuilder outputBuilder = PurgeOutput.builder();
-
-        String rNamespace = runContext.render(namespace).as(String.class).orElse(null);
-        Instant rEndDate = runContext.render(endDate).as(Instant.class).orElse(null);
-        var rTenantForPurge = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        if (runContext.render(purgeAssets).as(Boolean.class).orElse(true)) {
-            outputBuilder.purgedAssetsCount(
-                kestraClient.assets().deleteAssetsByQuery(
-                    rTenantForPurge,
-                    this.toQueryFilters(
-                        rAssetId,
-                        rNamespace,
-                        rAssetType,
-                        rMetadataQuery,
-                        rEndDate,
-                        QueryFilterField.ID,
-                        QueryFilterField.UPDATED
-                    ),
-                    true
-                ).getCount()
-            );
-        }
+        try (var connection = kestraConnection(runContext)) {
+            PurgeOutput.PurgeOutputBuilder outputBuilder = PurgeOutput.builder();
+
+            String rNamespace = runContext.render(namespace).as(String.class).orElse(null);
+            Instant rEndDate = runContext.render(endDate).as(Instant.class).orElse(null);
+            var rTenantForPurge = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            if (runContext.render(purgeAssets).as(Boolean.class).orElse(true)) {
+                outputBuilder.purgedAssetsCount(
+                    connection.write("assets.deleteAssetsByQuery", client -> client.assets().deleteAssetsByQuery(
+                        rTenantForPurge,
+                        this.toQueryFilters(
+                            rAssetId,
+                            rNamespace,
+                            rAssetType,
+                            rMetadataQuery,
+                            rEndDate,
+                            QueryFilterField.ID,
+                            QueryFilterField.UPDATED
+                        ),
+                        true
+                    )).getCount()
+                );
+            }
 
-        if (rPurgeAssetUsages) {
-            outputBuilder.purgedAssetUsagesCount(
-                kestraClient.assets().deleteAssetUsagesByQuery(
-                    rTenantForPurge,
-                    this.toQueryFilters(
-                        rAssetId,
-                        rNamespace,
-                        rAssetType,
-                        rMetadataQuery,
-                        rEndDate,
-                        QueryFilterField.ASSET_ID,
-                        QueryFilterField.CREATED
-                    )
-                ).getCount()
-            );
-        }
+            if (rPurgeAssetUsages) {
+                outputBuilder.purgedAssetUsagesCount(
+                    connection.write("assets.deleteAssetUsagesByQuery", client -> client.assets().deleteAssetUsagesByQuery(
+                        rTenantForPurge,
+                        this.toQueryFilters(
+                            rAssetId,
+                            rNamespace,
+                            rAssetType,
+                            rMetadataQuery,
+                            rEndDate,
+                            QueryFilterField.ASSET_ID,
+                            QueryFilterField.CREATED
+                        )
+                    )).getCount()
+                );
+            }
 
-        if (rPurgeAssetLineages) {
-            outputBuilder.purgedAssetLineagesCount(
-                kestraClient.assets().deleteAssetLineageEventsByQuery(
-                    rTenantForPurge,
-                    this.toQueryFilters(
-                        rAssetId,
-                        rNamespace,
-                        rAssetType,
-                        rMetadataQuery,
-                        rEndDate,
-                        QueryFilterField.ASSET_ID,
-                        QueryFilterField.CREATED
-                    )
-                ).getCount()
-            );
-        }
+            if (rPurgeAssetLineages) {
+                outputBuilder.purgedAssetLineagesCount(
+                    connection.write("assets.deleteAssetLineageEventsByQuery", client -> client.assets().deleteAssetLineageEventsByQuery(
+                        rTenantForPurge,
+                        this.toQueryFilters(
+                            rAssetId,
+                            rNamespace,
+                            rAssetType,
+                            rMetadataQuery,
+                            rEndDate,
+                            QueryFilterField.ASSET_ID,
+                            QueryFilterField.CREATED
+                        )
+                    )).getCount()
+                );
+            }
 
-        return outputBuilder.build();
+            return outputBuilder.build();
+        }
     }
 
     private java.util.List<QueryFilter> toQueryFilters(
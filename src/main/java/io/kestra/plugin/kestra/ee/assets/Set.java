@@ -93,21 +93,21 @@ public class Set extends AbstractKestraTask implements RunnableTask<VoidOutput>
 
     @Override
     public VoidOutput run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
+        try (var connection = kestraConnection(runContext)) {
+            Asset asset = new Asset()
+                .namespace(runContext.render(namespace).as(String.class).orElse(null))
+                .id(runContext.render(assetId).as(String.class).orElseThrow())
+                .type(runContext.render(assetType).as(String.class).orElseThrow())
+                .displayName(runContext.render(displayName).as(String.class).orElse(null))
+                .description(runContext.render(assetDescription).as(String.class).orElse(null))
+                .metadata(runContext.render(metadata).asMap(String.class, Object.class));
 
-        Asset asset = new Asset()
-            .namespace(runContext.render(namespace).as(String.class).orElse(null))
-            .id(runContext.render(assetId).as(String.class).orElseThrow())
-            .type(runContext.render(assetType).as(String.class).orElseThrow())
-            .displayName(runContext.render(displayName).as(String.class).orElse(null))
-            .description(runContext.render(assetDescription).as(String.class).orElse(null))
-            .metadata(runContext.render(metadata).asMap(String.class, Object.class));
+            connection.execute("assets.createAsset", client -> client.assets().createAsset(
+                runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId()),
+                JacksonMapper.ofYaml().writeValueAsString(asset)
+            ));
 
-        kestraClient.assets().createAsset(
-            runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId()),
-            JacksonMapper.ofYaml().writeValueAsString(asset)
-        );
-
-        return null;
+            return null;
+        }
     }
 }
@@ -94,47 +94,47 @@ public class Set extends AbstractKestraTask implements RunnableTask<Set.Output>
 
     @Override
     public Output run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rType = runContext.render(subjectType).as(BindingType.class).orElseThrow();
-        var rExternalId = runContext.render(externalId).as(String.class).orElseThrow();
-        var rRoleId = runContext.render(roleId).as(String.class).orElseThrow();
-        var rNamespace = runContext.render(namespace).as(String.class).orElse(null);
-        var rFailIfExists = runContext.render(failIfExists).as(Boolean.class).orElse(false);
+        try (var connection = kestraConnection(runContext)) {
+            var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rType = runContext.render(subjectType).as(BindingType.class).orElseThrow();
+            var rExternalId = runContext.render(externalId).as(String.class).orElseThrow();
+            var rRoleId = runContext.render(roleId).as(String.class).orElseThrow();
+            var rNamespace = runContext.render(namespace).as(String.class).orElse(null);
+            var rFailIfExists = runContext.render(failIfExists).as(Boolean.class).orElse(false);
 
-        var request = new IAMBindingControllerApiCreateBindingRequest()
-            .type(rType)
-            .externalId(rExternalId)
-            .roleId(rRoleId);
-        if (rNamespace != null) {
-            request.namespaceId(rNamespace);
-        }
+            var request = new IAMBindingControllerApiCreateBindingRequest()
+                .type(rType)
+                .externalId(rExternalId)
+                .roleId(rRoleId);
+            if (rNamespace != null) {
+                request.namespaceId(rNamespace);
+            }
 
-        try {
-            var created = kestraClient.bindings().createBinding(rTenant, request);
-            return Output.builder().id(created.getId()).build();
-        } catch (ApiException e) {
-            if (e.getCode() == 409) {
-                if (rFailIfExists) {
-                    throw new IllegalStateException(
-                        "Binding already exists for type=" + rType + " externalId=" + rExternalId + " roleId=" + rRoleId
-                            + ". Set failIfExists=false to return the existing binding ID instead.",
-                        e
-                    );
+            try {
+                var created = connection.write("bindings.createBinding", client -> client.bindings().createBinding(rTenant, request));
+                return Output.builder().id(created.getId()).build();
+            } catch (ApiException e) {
+                if (e.getCode() == 409) {
+                    if (rFailIfExists) {
+                        throw new IllegalStateException(
+                            "Binding already exists for type=" + rType + " externalId=" + rExternalId + " roleId=" + rRoleId
+                                + ". Set failIfExists=false to return the existing binding ID instead.",
+                            e
+                        );
+                    }
+                    // Filter server-side by type to reduce candidates, then match on roleId and externalId in memory
+                    var typeFilter = new QueryFilter()
+                        .field(QueryFilterField.TYPE)
+                        .operation(QueryFilterOp.EQUALS)
+                        .value(rType.getValue());
+                    var existing = connection.read("bindings.searchBindings", client -> client.bindings().searchBindings(rTenant, 1, 100, null, List.of(typeFilter)))
+                        .getResults().stream()
+                        .filter(b -> matchesBinding(b, rType, rExternalId, rRoleId))
+                        .findFirst();
+                    return Output.builder().id(existing.map(IAMBindingControllerApiBindingDetail::getId).orElse(null)).build();
                 }
-                // Filter server-side by type to reduce candidates, then match on roleId and externalId in memory
-                var typeFilter = new QueryFilter()
-                    .field(QueryFilterField.TYPE)
-                    .operation(QueryFilterOp.EQUALS)
-                    .value(rType.getValue());
-                var existing = kestraClient.bindings()
-                    .searchBindings(rTenant, 1, 100, null, List.of(typeFilter))
-                    .getResults().stream()
-                    .filter(b -> matchesBinding(b, rType, rExternalId, rRoleId))
-                    .findFirst();
-                return Output.builder().id(existing.map(IAMBindingControllerApiBindingDetail::getId).orElse(null)).build();
+                throw e;
             }
-            throw e;
         }
     }
 
@@ -58,12 +58,13 @@ public class AddMember extends AbstractKestraTask implements RunnableTask<VoidOu
 
     @Override
     public VoidOutput run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        kestraClient.groups().addUserToGroup(
-            runContext.render(groupId).as(String.class).orElseThrow(),
-            runContext.render(userId).as(String.class).orElseThrow(),
-            runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
-        );
-        return null;
+        try (var connection = kestraConnection(runContext)) {
+            connection.execute("groups.addUserToGroup", client -> client.groups().addUserToGroup(
+                runContext.render(groupId).as(String.class).orElseThrow(),
+                runContext.render(userId).as(String.class).orElseThrow(),
+                runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
+            ));
+            return null;
+        }
     }
 }
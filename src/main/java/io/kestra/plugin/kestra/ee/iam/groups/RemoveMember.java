@@ -58,12 +58,13 @@ public class RemoveMember extends AbstractKestraTask implements RunnableTask<Voi
 
     @Override
     public VoidOutput run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        kestraClient.groups().deleteUserFromGroup(
-            runContext.render(groupId).as(String.class).orElseThrow(),
-            runContext.render(userId).as(String.class).orElseThrow(),
-            runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
-        );
-        return null;
+        try (var connection = kestraConnection(runContext)) {
+            connection.execute("groups.deleteUserFromGroup", client -> client.groups().deleteUserFromGroup(
+                runContext.render(groupId).as(String.class).orElseThrow(),
+                runContext.render(userId).as(String.class).orElseThrow(),
+                runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
+            ));
+            return null;
+        }
     }
 }
@@ -66,33 +66,34 @@ public class Set extends AbstractKestraTask implements RunnableTask<Set.Output>
 
     @Override
     public Output run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rName = runContext.render(name).as(String.class).orElseThrow();
-        var rDescription = runContext.render(groupDescription).as(String.class).orElse(null);
+        try (var connection = kestraConnection(runContext)) {
+            var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rName = runContext.render(name).as(String.class).orElseThrow();
+            var rDescription = runContext.render(groupDescription).as(String.class).orElse(null);
 
-        var existing = kestraClient.groups().searchGroups(
-            rTenant, 1, 100, null, null,
-            List.of(new QueryFilter().field(QueryFilterField.NAME).operation(QueryFilterOp.EQUALS).value(rName))
-        ).getResults();
+            var existing = connection.read("groups.searchGroups", client -> client.groups().searchGroups(
+                rTenant, 1, 100, null, null,
+                List.of(new QueryFilter().field(QueryFilterField.NAME).operation(QueryFilterOp.EQUALS).value(rName))
+            )).getResults();
 
-        String groupId;
-        if (!existing.isEmpty()) {
-            var existingGroup = existing.getFirst();
-            groupId = existingGroup.getId();
-            kestraClient.groups().updateGroup(
-                groupId, rTenant,
-                new IAMGroupControllerApiUpdateGroupRequest().name(rName).description(rDescription)
-            );
-        } else {
-            var created = kestraClient.groups().createGroup(
-                rTenant,
-                new IAMGroupControllerApiCreateGroupRequest().name(rName).description(rDescription)
-            );
-            groupId = created.getId();
-        }
+            String groupId;
+            if (!existing.isEmpty()) {
+                var existingGroup = existing.getFirst();
+                groupId = existingGroup.getId();
+                connection.execute("groups.updateGroup", client -> client.groups().updateGroup(
+                    groupId, rTenant,
+                    new IAMGroupControllerApiUpdateGroupRequest().name(rName).description(rDescription)
+                ));
+            } else {
+                var created = connection.write("groups.createGroup", client -> client.groups().createGroup(
+                    rTenant,
+                    new IAMGroupControllerApiCreateGroupRequest().name(rName).description(rDescription)
+                ));
+                groupId = created.getId();
+            }
 
-        return Output.builder().id(groupId).build();
+            return Output.builder().id(groupId).build();
+        }
     }
 
     @Builder
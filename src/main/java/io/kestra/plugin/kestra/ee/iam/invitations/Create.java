@@ -72,23 +72,24 @@ public class Create extends AbstractKestraTask implements RunnableTask<Create.Ou
 
     @Override
     public Output run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rEmail = runContext.render(email).as(String.class).orElseThrow();
-        var rGroupIds = runContext.render(groupIds).asList(String.class);
-        var rRoles = runContext.render(roles).asList(IAMInvitationControllerApiInvitationRole.class);
+        try (var connection = kestraConnection(runContext)) {
+            var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rEmail = runContext.render(email).as(String.class).orElseThrow();
+            var rGroupIds = runContext.render(groupIds).asList(String.class);
+            var rRoles = runContext.render(roles).asList(IAMInvitationControllerApiInvitationRole.class);
 
-        var request = new IAMInvitationControllerApiInvitationCreateRequest()
-            .email(rEmail)
-            .groups(rGroupIds.isEmpty() ? null : rGroupIds)
-            .roles(rRoles.isEmpty() ? null : rRoles);
+            var request = new IAMInvitationControllerApiInvitationCreateRequest()
+                .email(rEmail)
+                .groups(rGroupIds.isEmpty() ? null : rGroupIds)
+                .roles(rRoles.isEmpty() ? null : rRoles);
 
-        kestraClient.invitations().createInvitation(rTenant, request);
+            connection.execute("invitations.createInvitation", client -> client.invitations().createInvitation(rTenant, request));
 
-        // createInvitation returns void since SDK 1.3.0; look the invitation up by email to recover its id
-        var created = kestraClient.invitations().listInvitationsByEmail(rTenant, rEmail);
-        var invitationId = created.isEmpty() ? null : created.getFirst().getId();
-        return Output.builder().invitationId(invitationId).build();
+            // createInvitation returns void since SDK 1.3.0; look the invitation up by email to recover its id
+            var created = connection.read("invitations.listInvitationsByEmail", client -> client.invitations().listInvitationsByEmail(rTenant, rEmail));
+            var invitationId = created.isEmpty() ? null : created.getFirst().getId();
+            return Output.builder().invitationId(invitationId).build();
+        }
     }
 
     @Builder
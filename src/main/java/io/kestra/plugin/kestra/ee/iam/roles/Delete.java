@@ -52,11 +52,12 @@ public class Delete extends AbstractKestraTask implements RunnableTask<VoidOutpu
 
     @Override
     public VoidOutput run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        kestraClient.roles().deleteRole(
-            runContext.render(roleId).as(String.class).orElseThrow(),
-            runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
-        );
-        return null;
+        try (var connection = kestraConnection(runContext)) {
+            connection.execute("roles.deleteRole", client -> client.roles().deleteRole(
+                runContext.render(roleId).as(String.class).orElseThrow(),
+                runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId())
+            ));
+            return null;
+        }
     }
 }
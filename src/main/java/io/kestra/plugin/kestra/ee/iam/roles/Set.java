@@ -89,36 +89,37 @@ public class Set extends AbstractKestraTask implements RunnableTask<Set.Output>
 
     @Override
     public Output run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rName = runContext.render(name).as(String.class).orElseThrow();
-        var rDescription = runContext.render(roleDescription).as(String.class).orElse(null);
-        var rIsDefault = runContext.render(isDefault).as(Boolean.class).orElse(null);
-        var rPermissionsMap = runContext.render(permissions).asMap(String.class, Object.class);
-        var rPermissions = JacksonMapper.ofJson().convertValue(rPermissionsMap, IAMRoleControllerApiRoleCreateOrUpdateRequestPermissions.class);
+        try (var connection = kestraConnection(runContext)) {
+            var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rName = runContext.render(name).as(String.class).orElseThrow();
+            var rDescription = runContext.render(roleDescription).as(String.class).orElse(null);
+            var rIsDefault = runContext.render(isDefault).as(Boolean.class).orElse(null);
+            var rPermissionsMap = runContext.render(permissions).asMap(String.class, Object.class);
+            var rPermissions = JacksonMapper.ofJson().convertValue(rPermissionsMap, IAMRoleControllerApiRoleCreateOrUpdateRequestPermissions.class);
 
-        var existing = kestraClient.roles().searchRoles(
-            rTenant, 1, 100, null, null,
-            List.of(new QueryFilter().field(QueryFilterField.NAME).operation(QueryFilterOp.EQUALS).value(rName))
-        ).getResults();
+            var existing = connection.read("roles.searchRoles", client -> client.roles().searchRoles(
+                rTenant, 1, 100, null, null,
+                List.of(new QueryFilter().field(QueryFilterField.NAME).operation(QueryFilterOp.EQUALS).value(rName))
+            )).getResults();
 
-        var request = new IAMRoleControllerApiRoleCreateOrUpdateRequest()
-            .name(rName)
-            .description(rDescription)
-            .isDefault(rIsDefault)
-            .permissions(rPermissions);
+            var request = new IAMRoleControllerApiRoleCreateOrUpdateRequest()
+                .name(rName)
+                .description(rDescription)
+                .isDefault(rIsDefault)
+                .permissions(rPermissions);
 
-        String roleId;
-        if (!existing.isEmpty()) {
-            var existingRole = existing.getFirst();
-            roleId = existingRole.getId();
-            kestraClient.roles().updateRole(roleId, rTenant, request);
-        } else {
-            var created = kestraClient.roles().createRole(rTenant, request);
-            roleId = created.getId();
-        }
+            String roleId;
+            if (!existing.isEmpty()) {
+                var existingRole = existing.getFirst();
+                roleId = existingRole.getId();
+                connection.execute("roles.updateRole", client -> client.roles().updateRole(roleId, rTenant, request));
+            } else {
+                var created = connection.write("roles.createRole", client -> client.roles().createRole(rTenant, request));
+                roleId = created.getId();
+            }
 
-        return Output.builder().id(roleId).build();
+            return Output.builder().id(roleId).build();
+        }
     }
 
     @Builder
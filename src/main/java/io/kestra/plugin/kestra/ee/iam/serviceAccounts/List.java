@@ -1,10 +1,6 @@
 package io.kestra.plugin.kestra.ee.iam.serviceAccounts;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.net.URI;
-import java.util.ArrayList;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
@@ -13,9 +9,12 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.FileSerde;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.kestra.AbstractKestraTask;
+import io.kestra.plugin.kestra.pagination.PagedListing;
+import io.kestra.plugin.kestra.pagination.Paginator;
+import io.kestra.plugin.kestra.serde.FetchGuard;
+import io.kestra.plugin.kestra.serde.OutputCompression;
+import io.kestra.plugin.kestra.serde.OutputFormat;
 import io.kestra.sdk.model.IAMServiceAccountControllerApiServiceAccountDetail;
 import io.kestra.sdk.model.PagedResultsIAMServiceAccountControllerApiServiceAccountDetail;
 
@@ -28,8 +27,6 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
-import static io.kestra.core.utils.Rethrow.throwConsumer;
-
 @SuperBuilder(toBuilder = true)
 @ToString
 @EqualsAndHashCode
@@ -77,56 +74,94 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     @PluginProperty(group = "advanced")
     private Property<Integer> size = Property.ofValue(100);
 
+    @Builder.Default
+    @Schema(
+        title = "Pages fetched concurrently",
+        description = "When `page` is omitted, the remaining pages are fetched in parallel once the first page has returned the total; results keep the page order. Defaults to 4."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageConcurrency = Property.ofValue(Paginator.DEFAULT_CONCURRENCY);
+
+    @Nullable
+    @Schema(
+        title = "Maximum number of service accounts to return",
+        description = "When `page` is omitted, stops fetching pages as soon as this many service accounts are collected; `truncated` tells whether more matched. Defaults to all."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxResults;
+
     @Schema(
         title = "Output fetch type",
-        description = "Defines how results are returned: `FETCH` for direct output, `STORE` to persist as an ION file."
+        description = "Defines how results are returned: `FETCH` for direct output, `STORE` to persist as a file in `format`."
     )
     @Builder.Default
     @PluginProperty(group = "execution")
     private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
 
+    @Builder.Default
+    @Schema(
+        title = "Format of the stored file",
+        description = "With `fetchType: STORE`, ION writes one service account per line, NDJSON one JSON object per line, and CSV a header then one line per service account with nested fields flattened into dotted columns. Defaults to ION."
+    )
+    @PluginProperty(group = "execution")
+    private Property<OutputFormat> format = Property.ofValue(OutputFormat.ION);
+
+    @Builder.Default
+    @Schema(title = "Compression of the stored file", description = "With `fetchType: STORE`, GZIP compresses the file as it is written. Defaults to NONE.")
+    @PluginProperty(group = "execution")
+    private Property<OutputCompression> compression = Property.ofValue(OutputCompression.NONE);
+
+    @Nullable
+    @Schema(
+        title = "Maximum number of service accounts to fetch",
+        description = "With `fetchType: FETCH`, when more service accounts are found, they are stored as with STORE instead: `uri` is set and `serviceAccounts` only holds the first 10. Defaults to no limit."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxFetchRows;
+
+    @Nullable
+    @Schema(
+        title = "Maximum size in bytes of the service accounts to fetch",
+        description = "Like `maxFetchRows`, on the size of the service accounts serialized to JSON. Defaults to no limit."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Long> maxFetchBytes;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         var rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElseThrow();
         var rPage = runContext.render(this.page).as(Integer.class).orElse(null);
         var rSize = runContext.render(this.size).as(Integer.class).orElse(100);
+        var rPageConcurrency = runContext.render(this.pageConcurrency).as(Integer.class).orElse(Paginator.DEFAULT_CONCURRENCY);
+        var rMaxResults = runContext.render(this.maxResults).as(Integer.class).orElse(null);
+        var rFormat = runContext.render(this.format).as(OutputFormat.class).orElse(OutputFormat.ION);
+        var rCompression = runContext.render(this.compression).as(OutputCompression.class).orElse(OutputCompression.NONE);
+        var guard = FetchGuard.of(
+            runContext.render(this.maxFetchRows).as(Integer.class).orElse(null),
+            runContext.render(this.maxFetchBytes).as(Long.class).orElse(null)
+        );
         var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
 
-        var kestraClient = kestraClient(runContext);
-
-        java.util.List<IAMServiceAccountControllerApiServiceAccountDetail> fetched;
-        if (rPage != null) {
-            fetched = kestraClient.serviceAccount().listServiceAccounts(rPage, rSize, null, null).getResults();
-        } else {
-            fetched = new ArrayList<>();
-            int currentPage = 1;
-            long total;
-            do {
-                PagedResultsIAMServiceAccountControllerApiServiceAccountDetail results = kestraClient.serviceAccount().listServiceAccounts(currentPage, rSize, null, null);
-                fetched.addAll(results.getResults());
-                total = results.getTotal();
-            } while ((long) currentPage++ * rSize < total);
+        try (var connection = kestraConnection(runContext)) {
+            var result = new PagedListing<>(
+                runContext,
+                connection,
+                "serviceAccount.listServiceAccounts",
+                IAMServiceAccountControllerApiServiceAccountDetail.class,
+                (client, page, size) -> client.serviceAccount().listServiceAccounts(page, size, null, null),
+                PagedResultsIAMServiceAccountControllerApiServiceAccountDetail::getResults,
+                PagedResultsIAMServiceAccountControllerApiServiceAccountDetail::getTotal,
+                null
+            ).list(rPage, rSize, rPageConcurrency, rMaxResults, rFetchType, rFormat, rCompression, guard);
+
+            return Output.builder()
+                .serviceAccounts(result.rows())
+                .uri(result.uri())
+                .size(result.size())
+                .partial(result.partial())
+                .truncated(result.truncated())
+                .build();
         }
-
-        var outputBuilder = Output.builder();
-        switch (rFetchType) {
-            case FETCH_ONE -> outputBuilder.serviceAccounts(java.util.List.of(fetched.getFirst())).size(1L);
-            case STORE -> {
-                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
-                try (var fileWriter = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
-                    fetched.forEach(throwConsumer(sa ->
-                    {
-                        fileWriter.write(JacksonMapper.ofIon().writeValueAsString(sa));
-                        fileWriter.write("\n");
-                    }));
-                }
-                outputBuilder.uri(runContext.storage().putFile(tempFile)).size((long) fetched.size());
-            }
-            case FETCH -> outputBuilder.serviceAccounts(fetched).size((long) fetched.size());
-            case NONE -> runContext.logger().info("fetchType is NONE, no output returned");
-        }
-
-        return outputBuilder.build();
     }
 
     @Builder
@@ -134,13 +169,13 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
             title = "List of fetched service accounts",
-            description = "Only populated when using `fetchType=FETCH` or `fetchType=FETCH_ONE`."
+            description = "Only populated when using `fetchType=FETCH` or `fetchType=FETCH_ONE`; only the first 10 when `maxFetchRows` or `maxFetchBytes` was exceeded."
         )
         private java.util.List<IAMServiceAccountControllerApiServiceAccountDetail> serviceAccounts;
 
         @Schema(
             title = "Kestra internal storage URI of the stored service accounts",
-            description = "Only populated when using `fetchType=STORE`."
+            description = "Only populated when using `fetchType=STORE`, or `fetchType=FETCH` when `maxFetchRows` or `maxFetchBytes` was exceeded."
         )
         private URI uri;
 
@@ -149,5 +184,16 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
             description = "Only populated if fetchType is not NONE."
         )
         private Long size;
+
+        @Schema(
+            title = "Whether the results are partial",
+            description = "True when `apiTimeout` was reached before all pages were fetched."
+        )
+        private Boolean partial;
+
+        @Schema(
+            title = "Whether more service accounts matched than `maxResults`"
+        )
+        private Boolean truncated;
     }
 }
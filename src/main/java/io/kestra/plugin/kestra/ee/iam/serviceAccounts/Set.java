@@ -7,8 +7,7 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
-import io.kestra.sdk.internal.ApiException;
+import io.kestra.plugin.kestra.connection.KestraConnection;
 import io.kestra.sdk.model.IAMServiceAccountControllerApiServiceAccountRequest;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -69,37 +68,39 @@ public class Set extends AbstractKestraTask implements RunnableTask<Set.Output>
 
     @Override
     public Output run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rName = runContext.render(name).as(String.class).orElseThrow();
-        var rDescription = runContext.render(serviceAccountDescription).as(String.class).orElse(null);
-
-        var request = new IAMServiceAccountControllerApiServiceAccountRequest()
-            .name(rName)
-            .description(rDescription);
-
-        // No name-based filter available for service accounts; paginate and match in Java
-        String existingId = findByName(kestraClient, rTenant, rName);
-
-        String serviceAccountId;
-        if (existingId != null) {
-            serviceAccountId = existingId;
-            kestraClient.serviceAccount().updateServiceAccount(serviceAccountId, rTenant, request);
-        } else {
-            var created = kestraClient.serviceAccount().createServiceAccountForTenant(rTenant, request);
-            serviceAccountId = created.getId();
-        }
+        try (var connection = kestraConnection(runContext)) {
+            var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rName = runContext.render(name).as(String.class).orElseThrow();
+            var rDescription = runContext.render(serviceAccountDescription).as(String.class).orElse(null);
+
+            var request = new IAMServiceAccountControllerApiServiceAccountRequest()
+                .name(rName)
+                .description(rDescription);
+
+            // No name-based filter available for service accounts; paginate and match in Java
+            String existingId = findByName(connection, rName);
+
+            String serviceAccountId;
+            if (existingId != null) {
+                serviceAccountId = existingId;
+                connection.execute("serviceAccount.updateServiceAccount", client -> client.serviceAccount().updateServiceAccount(serviceAccountId, rTenant, request));
+            } else {
+                var created = connection.write("serviceAccount.createServiceAccountForTenant", client -> client.serviceAccount().createServiceAccountForTenant(rTenant, request));
+                serviceAccountId = created.getId();
+            }
 
-        return Output.builder().id(serviceAccountId).build();
+            return Output.builder().id(serviceAccountId).build();
+        }
     }
 
-    private String findByName(KestraClient kestraClient, String tenant, String name) throws ApiException {
+    private String findByName(KestraConnection connection, String name) throws Exception {
         int page = 1;
         int size = 100;
         long total = Long.MAX_VALUE;
 
         while ((long) (page - 1) * size < total) {
-            var response = kestraClient.serviceAccount().listServiceAccounts(page, size, null, null);
+            int currentPage = page;
+            var response = connection.read("serviceAccount.listServiceAccounts", client -> client.serviceAccount().listServiceAccounts(currentPage, size, null, null));
             total = response.getTotal();
 
             var match = response.getResults().stream()
@@ -53,14 +53,15 @@ public class Set extends AbstractKestraTask implements RunnableTask<VoidOutput>
 
     @Override
     public VoidOutput run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rEmail = runContext.render(email).as(String.class).orElseThrow();
+        try (var connection = kestraConnection(runContext)) {
+            var rTenant = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rEmail = runContext.render(email).as(String.class).orElseThrow();
 
-        kestraClient.tenantAccess().createTenantAccess(
-            rTenant,
-            new IAMTenantAccessControllerApiCreateTenantAccessRequest().email(rEmail)
-        );
-        return null;
+            connection.execute("tenantAccess.createTenantAccess", client -> client.tenantAccess().createTenantAccess(
+                rTenant,
+                new IAMTenantAccessControllerApiCreateTenantAccessRequest().email(rEmail)
+            ));
+            return null;
+        }
     }
 }
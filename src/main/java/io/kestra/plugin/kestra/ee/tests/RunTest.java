@@ -94,50 +94,49 @@ public class RunTest extends AbstractKestraTask implements RunnableTask<RunTest.
     @Override
     public Output run(RunContext runContext) throws Exception {
         var logger = runContext.logger();
-        var kestraClient = kestraClient(runContext);
-        var testSuitesApi = kestraClient.testSuites();
+        try (var connection = kestraConnection(runContext)) {
+            var rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rNamespace = runContext.render(namespace).as(String.class).orElseThrow();
+            var rId = runContext.render(testId).as(String.class).orElseThrow();
+            var rTestCases = runContext.render(testCases).asList(String.class);
+            var rFailOnTestFailure = runContext.render(failOnTestFailure).as(Boolean.class).orElse(false);
 
-        var rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rNamespace = runContext.render(namespace).as(String.class).orElseThrow();
-        var rId = runContext.render(testId).as(String.class).orElseThrow();
-        var rTestCases = runContext.render(testCases).asList(String.class);
-        var rFailOnTestFailure = runContext.render(failOnTestFailure).as(Boolean.class).orElse(false);
+            var testFullId = rNamespace + "." + rId;
+            var runRequest = new TestSuiteControllerRunRequest().testCases(rTestCases);
+            logger.info("Running test '{}", testFullId);
 
-        var testFullId = rNamespace + "." + rId;
-        var runRequest = new TestSuiteControllerRunRequest().testCases(rTestCases);
-        logger.info("Running test '{}", testFullId);
+            var result = connection.write("testSuites.runTestSuite", client -> client.testSuites().runTestSuite(rNamespace, rId, rTenantId, runRequest));
+            Objects.requireNonNull(result.getResults());
 
-        var result = testSuitesApi.runTestSuite(rNamespace, rId, rTenantId, runRequest);
-        Objects.requireNonNull(result.getResults());
+            result.getResults().forEach(testCaseResult ->
+            {
+                logTestCase(logger, testFullId, testCaseResult);
+            });
 
-        result.getResults().forEach(testCaseResult ->
-        {
-            logTestCase(logger, testFullId, testCaseResult);
-        });
-
-        var outputBuilder = Output.builder().result(result);
-        switch (result.getState()) {
-            case ERROR -> {
-                logger.error("Test '{}' ended with ERROR", testFullId);
-                outputBuilder.taskStateOverride(Optional.of(State.Type.FAILED));
-            }
-            case FAILED -> {
-                logger.warn("Test '{}' ended with {}", testFullId, result.getState());
-                if (rFailOnTestFailure) {
+            var outputBuilder = Output.builder().result(result);
+            switch (result.getState()) {
+                case ERROR -> {
+                    logger.error("Test '{}' ended with ERROR", testFullId);
                     outputBuilder.taskStateOverride(Optional.of(State.Type.FAILED));
-                } else {
+                }
+                case FAILED -> {
+                    logger.warn("Test '{}' ended with {}", testFullId, result.getState());
+                    if (rFailOnTestFailure) {
+                        outputBuilder.taskStateOverride(Optional.of(State.Type.FAILED));
+                    } else {
+                        outputBuilder.taskStateOverride(Optional.of(State.Type.WARNING));
+                    }
+                }
+                case SKIPPED -> {
+                    logger.warn("Test '{}' SKIPPED", testFullId);
                     outputBuilder.taskStateOverride(Optional.of(State.Type.WARNING));
                 }
+                case SUCCESS -> {
+                    logger.info("Test '{}' ended with SUCCESS", testFullId);
+                }
             }
-            case SKIPPED -> {
-                logger.warn("Test '{}' SKIPPED", testFullId);
-                outputBuilder.taskStateOverride(Optional.of(State.Type.WARNING));
-            }
-            case SUCCESS -> {
-                logger.info("Test '{}' ended with SUCCESS", testFullId);
-            }
+            return outputBuilder.build();
         }
-        return outputBuilder.build();
     }
 
     protected static void logTestCase(Logger logger, String testSuiteId, UnitTestResult testCaseResult) {
@@ -74,73 +74,72 @@ public class RunTests extends AbstractKestraTask implements RunnableTask<RunTest
     @Override
     public Output run(RunContext runContext) throws Exception {
         var logger = runContext.logger();
-        var kestraClient = kestraClient(runContext);
-        var testSuitesApi = kestraClient.testSuites();
-
-        var rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rNamespace = runContext.render(namespace).as(String.class).orElse(null);
-        var rIncludeChildNamespaces = runContext.render(includeChildNamespaces).as(Boolean.class).orElse(true);
-        var rFlowId = runContext.render(flowId).as(String.class).orElse(null);
-        var rFailOnTestFailure = runContext.render(failOnTestFailure).as(Boolean.class).orElse(false);
-
-        var runByQueryRequest = new TestSuiteServiceRunByQueryRequest()
-            .namespace(rNamespace)
-            .includeChildNamespaces(rIncludeChildNamespaces)
-            .flowId(rFlowId);
-        logger.info(
-            "Running tests for query: namespace: '{}', includeChildNamespaces: '{}', flowId: '{}'", runByQueryRequest.getNamespace(), runByQueryRequest.getIncludeChildNamespaces(),
-            runByQueryRequest.getFlowId()
-        );
-
-        var result = testSuitesApi.runTestSuitesByQuery(rTenantId, runByQueryRequest);
-        Objects.requireNonNull(result.getResults());
-        logger.info("Requested to run {} test suites, {} test cases", result.getNumberOfTestSuitesToBeRun(), result.getNumberOfTestCasesToBeRun());
-
-        var outputBuilder = Output.builder().result(result);
-        AtomicReference<Optional<State.Type>> errorState = new AtomicReference<>(Optional.empty());
-        result.getResults().forEach(testSuiteRunResult ->
-        {
-            var testSuiteFullId = testSuiteRunResult.getNamespace() + "." + testSuiteRunResult.getTestSuiteId();
-            testSuiteRunResult.getResults()
-                .forEach(testCaseResult -> logTestCase(logger, testSuiteFullId, testCaseResult));
-
-            switch (testSuiteRunResult.getState()) {
-                case ERROR -> {
-                    logger.error("Test '{}' ended with ERROR", testSuiteFullId);
-                    errorState.set(markTaskAsError(errorState.get()));
-                }
-                case FAILED -> {
-                    logger.warn("Test '{}' ended with {}", testSuiteFullId, testSuiteRunResult.getState());
-                    if (rFailOnTestFailure) {
+        try (var connection = kestraConnection(runContext)) {
+            var rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rNamespace = runContext.render(namespace).as(String.class).orElse(null);
+            var rIncludeChildNamespaces = runContext.render(includeChildNamespaces).as(Boolean.class).orElse(true);
+            var rFlowId = runContext.render(flowId).as(String.class).orElse(null);
+            var rFailOnTestFailure = runContext.render(failOnTestFailure).as(Boolean.class).orElse(false);
+
+            var runByQueryRequest = new TestSuiteServiceRunByQueryRequest()
+                .namespace(rNamespace)
+                .includeChildNamespaces(rIncludeChildNamespaces)
+                .flowId(rFlowId);
+            logger.info(
+                "Running tests for query: namespace: '{}', includeChildNamespaces: '{}', flowId: '{}'", runByQueryRequest.getNamespace(), runByQueryRequest.getIncludeChildNamespaces(),
+                runByQueryRequest.getFlowId()
+            );
+
+            var result = connection.write("testSuites.runTestSuitesByQuery", client -> client.testSuites().runTestSuitesByQuery(rTenantId, runByQueryRequest));
+            Objects.requireNonNull(result.getResults());
+            logger.info("Requested to run {} test suites, {} test cases", result.getNumberOfTestSuitesToBeRun(), result.getNumberOfTestCasesToBeRun());
+
+            var outputBuilder = Output.builder().result(result);
+            AtomicReference<Optional<State.Type>> errorState = new AtomicReference<>(Optional.empty());
+            result.getResults().forEach(testSuiteRunResult ->
+            {
+                var testSuiteFullId = testSuiteRunResult.getNamespace() + "." + testSuiteRunResult.getTestSuiteId();
+                testSuiteRunResult.getResults()
+                    .forEach(testCaseResult -> logTestCase(logger, testSuiteFullId, testCaseResult));
+
+                switch (testSuiteRunResult.getState()) {
+                    case ERROR -> {
+                        logger.error("Test '{}' ended with ERROR", testSuiteFullId);
                         errorState.set(markTaskAsError(errorState.get()));
-                    } else {
+                    }
+                    case FAILED -> {
+                        logger.warn("Test '{}' ended with {}", testSuiteFullId, testSuiteRunResult.getState());
+                        if (rFailOnTestFailure) {
+                            errorState.set(markTaskAsError(errorState.get()));
+                        } else {
+                            errorState.set(markTaskAsWarning(errorState.get()));
+                        }
+                    }
+                    case SKIPPED -> {
+                        logger.warn("Test '{}' SKIPPED", testSuiteFullId);
                         errorState.set(markTaskAsWarning(errorState.get()));
                     }
+                    case SUCCESS -> {
+                        logger.info("Test '{}' ended with SUCCESS", testSuiteFullId);
+                    }
                 }
-                case SKIPPED -> {
-                    logger.warn("Test '{}' SKIPPED", testSuiteFullId);
-                    errorState.set(markTaskAsWarning(errorState.get()));
-                }
-                case SUCCESS -> {
-                    logger.info("Test '{}' ended with SUCCESS", testSuiteFullId);
-                }
+            });
+            if (errorState.get().isPresent()) {
+                outputBuilder.taskStateOverride(Optional.of(errorState.get().get()));
             }
-        });
-        if (errorState.get().isPresent()) {
-            outputBuilder.taskStateOverride(Optional.of(errorState.get().get()));
-        }
 
-        var testSuitesRunCount = result.getResults().size();
-        var testSuitesRunSuccessCount = result.getResults().stream().filter(t -> TestState.SUCCESS.equals(t.getState())).count();
-        outputBuilder.testSuitesRunSuccessCount(testSuitesRunSuccessCount);
-        var testSuitesRunSkippedCount = result.getResults().stream().filter(t -> TestState.SKIPPED.equals(t.getState())).count();
-        outputBuilder.testSuitesRunSkippedCount(testSuitesRunSkippedCount);
-        var testSuitesRunFailedCount = result.getResults().stream().filter(t -> TestState.ERROR.equals(t.getState()) || TestState.FAILED.equals(t.getState())).count();
-        outputBuilder.testSuitesRunFailedCount(testSuitesRunFailedCount);
-        logger
-            .info("{} Test suites finished running, {} in success, {} skipped, {} failed", testSuitesRunCount, testSuitesRunSuccessCount, testSuitesRunSkippedCount, testSuitesRunFailedCount);
-
-        return outputBuilder.build();
+            var testSuitesRunCount = result.getResults().size();
+            var testSuitesRunSuccessCount = result.getResults().stream().filter(t -> TestState.SUCCESS.equals(t.getState())).count();
+            outputBuilder.testSuitesRunSuccessCount(testSuitesRunSuccessCount);
+            var testSuitesRunSkippedCount = result.getResults().stream().filter(t -> TestState.SKIPPED.equals(t.getState())).count();
+            outputBuilder.testSuitesRunSkippedCount(testSuitesRunSkippedCount);
+            var testSuitesRunFailedCount = result.getResults().stream().filter(t -> TestState.ERROR.equals(t.getState()) || TestState.FAILED.equals(t.getState())).count();
+            outputBuilder.testSuitesRunFailedCount(testSuitesRunFailedCount);
+            logger
+                .info("{} Test suites finished running, {} in success, {} skipped, {} failed", testSuitesRunCount, testSuitesRunSuccessCount, testSuitesRunSkippedCount, testSuitesRunFailedCount);
+
+            return outputBuilder.build();
+        }
     }
 
     private static Optional<State.Type> markTaskAsError(Optional<State.Type> errorState) {
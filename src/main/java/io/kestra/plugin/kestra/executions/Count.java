@@ -2,6 +2,7 @@ package io.kestra.plugin.kestra.executions;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -12,7 +13,8 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
+import io.kestra.plugin.kestra.connection.KestraConnection;
+import io.kestra.plugin.kestra.pagination.Paginator;
 import io.kestra.sdk.model.PagedResultsApiLightExecution;
 import io.kestra.sdk.model.QueryFilter;
 import io.kestra.sdk.model.QueryFilterField;
@@ -22,6 +24,8 @@ import io.kestra.sdk.model.StateType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @SuperBuilder(toBuilder = true)
 @Getter
@@ -92,6 +96,21 @@ public class Count extends AbstractKestraTask implements RunnableTask<Count.Outp
     @PluginProperty(group = "advanced")
     private Property<String> endDate;
 
+    @Schema(
+        title = "Tenants to count in instead of `tenantId`",
+        description = """
+            Counts the executions of each tenant, up to `tenantConcurrency` at once; `count` is their sum and \
+            `tenantCounts` holds the count per tenant. Entries with a `*`, e.g. `*` or `prod-*`, are matched against \
+            the tenants listed by the tenants API."""
+    )
+    @PluginProperty(group = "connection")
+    private Property<List<String>> tenantIds;
+
+    @Builder.Default
+    @Schema(title = "Tenants counted concurrently", description = "Defaults to 4.")
+    @PluginProperty(group = "connection")
+    private Property<Integer> tenantConcurrency = Property.ofValue(Tenants.DEFAULT_CONCURRENCY);
+
     @PluginProperty(group = "advanced", dynamic = true) // we cannot use `Property` as we render it multiple time with different variables, which is an issue for the property cache
     @Schema(
         title = "Expression evaluated on count",
@@ -101,88 +120,108 @@ public class Count extends AbstractKestraTask implements RunnableTask<Count.Outp
 
     @Override
     public Output run(RunContext runContext) throws Exception {
-        KestraClient client = kestraClient(runContext);
-        List<QueryFilter> filters = new ArrayList<>();
-
-        String rTenantId = runContext.render(this.tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+        try (var connection = kestraConnection(runContext)) {
+            List<QueryFilter> filters = new ArrayList<>();
+
+            String rTenantId = runContext.render(this.tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+
+            List<String> rNamespaces = runContext.render(this.namespaces).asList(String.class);
+            if (rNamespaces != null) {
+                for (String namespace : rNamespaces) {
+                    filters.add(
+                        new QueryFilter()
+                            .field(QueryFilterField.NAMESPACE)
+                            .operation(QueryFilterOp.EQUALS)
+                            .value(namespace)
+                    );
+                }
+            }
 
-        List<String> rNamespaces = runContext.render(this.namespaces).asList(String.class);
-        if (rNamespaces != null) {
-            for (String namespace : rNamespaces) {
+            String rFlowId = runContext.render(this.flowId).as(String.class).orElse(null);
+            if (rFlowId != null) {
                 filters.add(
                     new QueryFilter()
-                        .field(QueryFilterField.NAMESPACE)
+                        .field(QueryFilterField.FLOW_ID)
                         .operation(QueryFilterOp.EQUALS)
-                        .value(namespace)
+                        .value(rFlowId)
                 );
-            }
-        }
 
-        String rFlowId = runContext.render(this.flowId).as(String.class).orElse(null);
-        if (rFlowId != null) {
-            filters.add(
-                new QueryFilter()
-                    .field(QueryFilterField.FLOW_ID)
-                    .operation(QueryFilterOp.EQUALS)
-                    .value(rFlowId)
-            );
+            }
 
-        }
+            List<StateType> rStates = runContext.render(this.states).asList(StateType.class);
+            if (rStates != null) {
+                for (StateType state : rStates) {
+                    filters.add(
+                        new QueryFilter()
+                            .field(QueryFilterField.STATE)
+                            .operation(QueryFilterOp.EQUALS)
+                            .value(state)
+                    );
+                }
+            }
 
-        List<StateType> rStates = runContext.render(this.states).asList(StateType.class);
-        if (rStates != null) {
-            for (StateType state : rStates) {
+            var rStartDate = runContext.render(this.startDate).as(String.class).map(ZonedDateTime::parse).map(ZonedDateTime::toInstant).orElse(null);
+            if (rStartDate != null) {
                 filters.add(
                     new QueryFilter()
-                        .field(QueryFilterField.STATE)
-                        .operation(QueryFilterOp.EQUALS)
-                        .value(state)
+                        .field(QueryFilterField.START_DATE)
+                        .operation(QueryFilterOp.GREATER_THAN_OR_EQUAL_TO)
+                        .value(rStartDate)
                 );
             }
-        }
-
-        var rStartDate = runContext.render(this.startDate).as(String.class).map(ZonedDateTime::parse).map(ZonedDateTime::toInstant).orElse(null);
-        if (rStartDate != null) {
-            filters.add(
-                new QueryFilter()
-                    .field(QueryFilterField.START_DATE)
-                    .operation(QueryFilterOp.GREATER_THAN_OR_EQUAL_TO)
-                    .value(rStartDate)
-            );
-        }
 
-        var rEndDate = runContext.render(this.endDate).as(String.class).map(ZonedDateTime::parse).map(ZonedDateTime::toInstant).orElse(null);
-        if (rEndDate != null) {
-            filters.add(
-                new QueryFilter()
-                    .field(QueryFilterField.END_DATE)
-                    .operation(QueryFilterOp.LESS_THAN_OR_EQUAL_TO)
-                    .value(rEndDate)
-            );
-        }
-
-        PagedResultsApiLightExecution results = client.executions().searchExecutions(
-            rTenantId,
-            1,
-            1,
-            null,
-            filters
-        );
+            var rEndDate = runContext.render(this.endDate).as(String.class).map(ZonedDateTime::parse).map(ZonedDateTime::toInstant).orElse(null);
+            if (rEndDate != null) {
+                filters.add(
+                    new QueryFilter()
+                        .field(QueryFilterField.END_DATE)
+                        .operation(QueryFilterOp.LESS_THAN_OR_EQUAL_TO)
+                        .value(rEndDate)
+                );
+            }
 
-        long count = results.getTotal();
-        runContext.logger().info("Found {} matching executions", count);
+            List<String> rTenantIds = runContext.render(this.tenantIds).asList(String.class);
+            Map<String, Long> tenantCounts = null;
+            long count;
+            if (rTenantIds.isEmpty()) {
+                count = count(connection, rTenantId, filters);
+            } else {
+                int rTenantConcurrency = runContext.render(this.tenantConcurrency).as(Integer.class).orElse(Tenants.DEFAULT_CONCURRENCY);
+                List<String> tenants = Tenants.resolve(connection, rTenantIds);
+                Map<String, Long> counted = Flux.fromIterable(tenants)
+                    .flatMap(tenant -> Mono.fromCallable(() -> count(connection.forTenant(tenant), tenant, filters)).subscribeOn(Paginator.SCHEDULER).map(tenantCount -> Map.entry(tenant, tenantCount)), rTenantConcurrency)
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .block();
+
+                tenantCounts = new LinkedHashMap<>();
+                for (String tenant : tenants) {
+                    tenantCounts.put(tenant, counted.get(tenant));
+                }
+                count = tenantCounts.values().stream().mapToLong(Long::longValue).sum();
+            }
+            runContext.logger().info("Found {} matching executions", count);
 
-        if (expression != null) {
-            String evaluated = runContext.render(expression, Map.of("count", count));
+            if (expression != null) {
+                String evaluated = runContext.render(expression, Map.of("count", count));
 
-            if (!"true".equalsIgnoreCase(evaluated)) {
-                count = 0L;
+                if (!"true".equalsIgnoreCase(evaluated)) {
+                    count = 0L;
+                }
             }
+
+            return Output.builder()
+                .count(count)
+                .tenantCounts(tenantCounts)
+                .build();
         }
+    }
 
-        return Output.builder()
-            .count(count)
-            .build();
+    private static long count(KestraConnection connection, String tId, List<QueryFilter> filters) throws Exception {
+        PagedResultsApiLightExecution results = connection.read(
+            "executions.searchExecutions",
+            client -> client.executions().searchExecutions(tId, 1, 1, null, filters)
+        );
+        return results.getTotal();
     }
 
     @Builder
@@ -193,5 +232,11 @@ public class Count extends AbstractKestraTask implements RunnableTask<Count.Outp
             description = "The total number of executions."
         )
         private final Long count;
+
+        @Schema(
+            title = "Execution count per tenant",
+            description = "Only populated when using `tenantIds`, before `expression` is evaluated on their sum."
+        )
+        private final Map<String, Long> tenantCounts;
     }
 }
@@ -10,7 +10,6 @@ import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
 import io.kestra.sdk.model.ApiExecution;
 import io.kestra.sdk.model.StateType;
 
@@ -108,29 +107,31 @@ public class Delete extends AbstractKestraTask implements RunnableTask<VoidOutpu
                 rDeleteStorage
             );
 
-        KestraClient kestraClient = kestraClient(runContext);
-        ApiExecution execution = kestraClient.executions().execution(rExecutionId, rTenantId);
+        try (var connection = kestraConnection(runContext)) {
+            ApiExecution execution = connection.read("executions.execution", client -> client.executions().execution(rExecutionId, rTenantId));
 
-        if (execution == null) {
-            throw new IllegalArgumentException("Execution " + rExecutionId + " not found");
-        } else {
+            if (execution == null) {
+                throw new IllegalArgumentException("Execution " + rExecutionId + " not found");
+            } else {
 
-            StateType state = execution.getState().getCurrent();
-            boolean isTerminated = isTerminated(state);
+                StateType state = execution.getState().getCurrent();
+                boolean isTerminated = isTerminated(state);
 
-            if (!isTerminated) {
-                throw new IllegalArgumentException(
-                    "Execution " + rExecutionId + " is not in a terminate state (" + state + ")"
+                if (!isTerminated) {
+                    throw new IllegalArgumentException(
+                        "Execution " + rExecutionId + " is not in a terminate state (" + state + ")"
+                    );
+                }
+
+                connection.execute(
+                    "executions.deleteExecution",
+                    client -> client.executions().deleteExecution(rExecutionId, rTenantId, rDeleteLogs, rDeleteMetrics, rDeleteStorage)
                 );
+                runContext.logger().debug("Successfully deleted execution {}", rExecutionId);
             }
 
-            kestraClient
-                .executions()
-                .deleteExecution(rExecutionId, rTenantId, rDeleteLogs, rDeleteMetrics, rDeleteStorage);
-            runContext.logger().debug("Successfully deleted execution {}", rExecutionId);
+            return null;
         }
-
-        return null;
     }
 
     private boolean isTerminated(StateType stateType) {
@@ -0,0 +1,42 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.util.List;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the {@code aggregate} mode of {@link Query}, see {@link ExecutionRollup}.
+ */
+@Builder
+@Getter
+public class ExecutionAggregation {
+    public static final List<GroupBy> DEFAULT_GROUP_BY = List.of(GroupBy.NAMESPACE, GroupBy.FLOW, GroupBy.STATE);
+    public static final List<Double> DEFAULT_QUANTILES = List.of(0.5, 0.95, 0.99);
+
+    @Schema(
+        title = "Dimensions to group executions by",
+        description = "FLOW groups by namespace and flow id. An empty list computes a single row for all executions. Defaults to NAMESPACE, FLOW and STATE."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<List<GroupBy>> groupBy = Property.ofValue(DEFAULT_GROUP_BY);
+
+    @Schema(
+        title = "Duration quantiles to compute",
+        description = "Between 0 and 1, each output as a `p` column, e.g. 0.95 as `p95`. Quantiles are estimated within 1% of their value. Defaults to 0.5, 0.95 and 0.99."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<List<Double>> quantiles = Property.ofValue(DEFAULT_QUANTILES);
+
+    public enum GroupBy {
+        NAMESPACE,
+        FLOW,
+        STATE
+    }
+}
@@ -0,0 +1,205 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.kestra.sdk.model.ApiLightExecution;
+import io.kestra.sdk.model.StateType;
+
+/**
+ * Folds executions into counts and duration quantiles per group, e.g. per namespace, flow and state, as they stream
+ * in: memory grows with the number of groups, not with the number of executions.
+ * <p>
+ * Namespaces and flows are numbered the first time they are seen, and a group is found by a {@code long} key packing
+ * these numbers and the state, in an open-addressing table, so that counting an execution allocates nothing once its
+ * group exists. Durations, from the start to the end of the execution, go to a {@link QuantileSketch} per group;
+ * executions still running are only counted.
+ */
+final class ExecutionRollup {
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final boolean byNamespace;
+    private final boolean byFlow;
+    private final boolean byState;
+    private final List<Double> quantiles;
+
+    private final Map<String, Integer> namespaceIds = new HashMap<>();
+    private final List<Map<String, Integer>> flowIdsByNamespace = new ArrayList<>();
+    private int flowCount;
+
+    private final GroupIndex index = new GroupIndex();
+    private final List<Group> groups = new ArrayList<>();
+
+    ExecutionRollup(Collection<ExecutionAggregation.GroupBy> groupBy, List<Double> quantiles) {
+        this.byFlow = groupBy.contains(ExecutionAggregation.GroupBy.FLOW);
+        this.byNamespace = byFlow || groupBy.contains(ExecutionAggregation.GroupBy.NAMESPACE);
+        this.byState = groupBy.contains(ExecutionAggregation.GroupBy.STATE);
+        for (Double quantile : quantiles) {
+            if (quantile == null || quantile < 0 || quantile > 1) {
+                throw new IllegalArgumentException("Quantiles must be between 0 and 1, got " + quantile);
+            }
+        }
+        this.quantiles = quantiles;
+    }
+
+    void add(ApiLightExecution execution) {
+        var state = execution.getState();
+        StateType current = state != null ? state.getCurrent() : null;
+
+        Group group = group(execution.getNamespace(), execution.getFlowId(), byState ? current : null);
+        group.count++;
+        if (state != null && state.getStartDate() != null && state.getEndDate() != null) {
+            group.durations.add(Duration.between(state.getStartDate(), state.getEndDate()).toMillis());
+        }
+    }
+
+    /**
+     * @return one row per group, ordered by namespace, flow and state, with its count and duration quantiles
+     */
+    List<Map<String, Object>> rows() {
+        return groups.stream()
+            .sorted(Comparator.<Group, String>comparing(group -> group.namespace, NULLS_FIRST)
+                .thenComparing(group -> group.flowId, NULLS_FIRST)
+                .thenComparing(group -> group.state != null ? group.state.name() : null, NULLS_FIRST))
+            .map(this::row)
+            .toList();
+    }
+
+    private Map<String, Object> row(Group group) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        if (byNamespace) {
+            row.put("namespace", group.namespace);
+        }
+        if (byFlow) {
+            row.put("flowId", group.flowId);
+        }
+        if (byState) {
+            row.put("state", group.state);
+        }
+        row.put("count", group.count);
+        for (Double quantile : quantiles) {
+            row.put(column(quantile), group.durations.count() > 0 ? Duration.ofMillis(Math.round(group.durations.quantile(quantile))) : null);
+        }
+        return row;
+    }
+
+    static String column(double quantile) {
+        return "p" + BigDecimal.valueOf(quantile).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private Group group(String namespace, String flowId, StateType state) {
+        int namespaceId = byNamespace ? namespaceId(namespace) : 0;
+        int flow = byFlow ? flowId(namespaceId, flowId) : 0;
+        long key = ((long) namespaceId << 40) | ((long) flow << 8) | (state != null ? state.ordinal() + 1 : 0);
+
+        int slot = index.get(key);
+        if (slot < 0) {
+            slot = groups.size();
+            groups.add(new Group(byNamespace ? namespace : null, byFlow ? flowId : null, state));
+            index.put(key, slot);
+        }
+        return groups.get(slot);
+    }
+
+    private int namespaceId(String namespace) {
+        Integer id = namespaceIds.get(namespace);
+        if (id == null) {
+            id = flowIdsByNamespace.size();
+            namespaceIds.put(namespace, id);
+            flowIdsByNamespace.add(new HashMap<>());
+        }
+        return id;
+    }
+
+    private int flowId(int namespace, String flowId) {
+        Map<String, Integer> flowIds = flowIdsByNamespace.get(namespace);
+        Integer id = flowIds.get(flowId);
+        if (id == null) {
+            id = flowCount++;
+            flowIds.put(flowId, id);
+        }
+        return id;
+    }
+
+    private static final class Group {
+        private final String namespace;
+        private final String flowId;
+        private final StateType state;
+        private final QuantileSketch durations = new QuantileSketch();
+        private long count;
+
+        private Group(String namespace, String flowId, StateType state) {
+            this.namespace = namespace;
+            this.flowId = flowId;
+            this.state = state;
+        }
+    }
+
+    /**
+     * Maps {@code long} keys to slots, with linear probing, without boxing the keys.
+     */
+    private static final class GroupIndex {
+        private long[] keys = new long[16];
+        private int[] slots = filled(16);
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; slots[i] >= 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return slots[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int slot) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            insert(key, slot);
+            size++;
+        }
+
+        private void insert(long key, int slot) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (slots[i] >= 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            slots[i] = slot;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldSlots = slots;
+            keys = new long[oldKeys.length * 2];
+            slots = filled(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldSlots[i] >= 0) {
+                    insert(oldKeys[i], oldSlots[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+
+        private static int[] filled(int length) {
+            int[] slots = new int[length];
+            Arrays.fill(slots, -1);
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.FlowScope;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.repositories.ExecutionRepositoryInterface;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.kestra.AbstractKestraTrigger;
+import io.kestra.plugin.kestra.connection.CircuitBreakerOpenException;
+import io.kestra.plugin.kestra.connection.DeadlineExceededException;
+import io.kestra.plugin.kestra.pagination.PageSizer;
+import io.kestra.plugin.kestra.pagination.Paginator;
+import io.kestra.sdk.model.*;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    examples = {
+        @Example(
+            title = "Alert once per batch of failed executions in a namespace.",
+            full = true,
+            code = """
+                id: failed_executions_alert
+                namespace: company.monitoring
+
+                triggers:
+                  - id: failed_executions
+                    type: io.kestra.plugin.kestra.executions.ExecutionTrigger
+                    namespace: company.team
+                    states:
+                      - FAILED
+                    interval: PT1M
+
+                tasks:
+                  - id: send_alert
+                    type: io.kestra.plugin.slack.notifications.SlackIncomingWebhook
+                    url: "{{ secret('SLACK_WEBHOOK') }}"
+                    payload: |
+                      {
+                        "text": "{{ trigger.size }} executions failed, e.g. {{ trigger.executions[0].flowId }}"
+                      }
+                """
+        )
+    }
+)
+@Schema(
+    title = "Trigger on executions matching filters",
+    description = """
+        Polls the executions matching the same filters as `executions.Query`, and fires a single execution with all \
+        the matches found since the previous evaluation. The date of the last evaluation that fired and the IDs of the \
+        executions already fired are kept in the namespace KV store, so an execution never fires twice. An evaluation \
+        that finds nothing new only costs one search request."""
+)
+public class ExecutionTrigger extends AbstractKestraTrigger implements PollingTriggerInterface, TriggerOutput<ExecutionTrigger.Output> {
+    static final String KEY_PREFIX = "kestra_execution_trigger_";
+    private static final int PAGE_SIZE = 100;
+
+    @Schema(title = "Interval between evaluations", description = "Defaults to 1 minute.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private final Duration interval = Duration.ofMinutes(1);
+
+    @Schema(title = "Flow scope filter", description = "USER for user-created executions, SYSTEM for system executions; defaults to both.")
+    @PluginProperty(group = "advanced")
+    private Property<List<FlowScope>> flowScopes;
+
+    @Schema(title = "Namespace filter")
+    @PluginProperty(group = "source")
+    private Property<String> namespace;
+
+    @Schema(title = "Flow id filter")
+    @PluginProperty(group = "advanced")
+    private Property<String> flowId;
+
+    @Schema(title = "Execution states")
+    @PluginProperty(group = "advanced")
+    private Property<List<StateType>> states;
+
+    @Schema(title = "Labels filter", description = "Matches executions containing the provided key/value pairs.")
+    @PluginProperty(group = "advanced")
+    private Property<Map<String, String>> labels;
+
+    @Schema(title = "Downstream of execution ID")
+    @PluginProperty(group = "advanced")
+    private Property<String> triggerExecutionId;
+
+    @Schema(title = "Child filter", description = "Limits results to child execution context when set.")
+    private Property<ExecutionRepositoryInterface.ChildFilter> childFilter;
+
+    @Schema(
+        title = "Date compared to the previous evaluation",
+        description = "END_DATE matches the executions that ended since, e.g. to react to failures; START_DATE the ones that started since, e.g. to react to executions still running. Defaults to END_DATE."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<DateField> dateField = Property.ofValue(DateField.END_DATE);
+
+    @Schema(
+        title = "Overlap with the previous evaluation",
+        description = "Executions dated up to this long before the previous evaluation are searched again, in case they were indexed late; the ones already fired are skipped. Defaults to 1 minute."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> overlap = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(
+        title = "Number of fired execution IDs to remember",
+        description = "The least recently matched IDs are forgotten first; it must exceed the number of executions matching within `overlap`. Defaults to 10000."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxFiredIds = Property.ofValue(10_000);
+
+    @Hidden
+    @Getter(AccessLevel.NONE)
+    @Builder.Default
+    @VisibleForTesting
+    Clock clock = Clock.systemDefaultZone();
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+        try (var connection = kestraConnection(runContext)) {
+            Instant now = clock.instant();
+            String tenantId = runContext.render(this.tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            DateField rDateField = runContext.render(this.dateField).as(DateField.class).orElse(DateField.END_DATE);
+            Duration rOverlap = runContext.render(this.overlap).as(Duration.class).orElse(Duration.ofMinutes(1));
+            int rMaxFiredIds = runContext.render(this.maxFiredIds).as(Integer.class).orElse(10_000);
+
+            String key = KEY_PREFIX + runContext.flowInfo().id() + "_" + this.getId();
+            Fired fired = Fired.restore(runContext, key, rMaxFiredIds);
+            // until an evaluation fires, each one looks back over its own interval
+            Instant since = (fired.evaluatedAt != null ? fired.evaluatedAt : now.minus(interval)).minus(rOverlap);
+
+            List<QueryFilter> filters = new ArrayList<>(Query.queryFilters(
+                runContext.render(this.flowScopes).asList(FlowScope.class),
+                runContext.render(this.namespace).as(String.class).orElse(null),
+                runContext.render(this.flowId).as(String.class).orElse(null),
+                runContext.render(this.states).asList(StateType.class),
+                runContext.render(this.labels).asMap(String.class, String.class),
+                runContext.render(this.triggerExecutionId).as(String.class).orElse(null),
+                runContext.render(this.childFilter).as(ExecutionRepositoryInterface.ChildFilter.class).orElse(null)
+            ));
+            filters.add(new QueryFilter()
+                .field(rDateField == DateField.START_DATE ? QueryFilterField.START_DATE : QueryFilterField.END_DATE)
+                .operation(QueryFilterOp.GREATER_THAN_OR_EQUAL_TO)
+                .value(ZonedDateTime.ofInstant(since, ZoneOffset.UTC))
+            );
+
+            List<ApiLightExecution> matches = new ArrayList<>();
+            try {
+                Paginator.fetchAll(
+                    PageSizer.fixed(PAGE_SIZE),
+                    Paginator.DEFAULT_CONCURRENCY,
+                    Paginator.UNLIMITED,
+                    (requestedPage, pageSize) -> connection.readPage("executions.searchExecutions", client -> client.executions().searchExecutions(tenantId, requestedPage, pageSize, null, filters), PagedResultsApiLightExecution::getResults),
+                    PagedResultsApiLightExecution::getResults,
+                    PagedResultsApiLightExecution::getTotal,
+                    ApiLightExecution::getId,
+                    executions -> executions.stream().filter(execution -> !fired.contains(execution.getId())).forEach(matches::add)
+                );
+            } catch (CircuitBreakerOpenException e) {
+                runContext.logger().debug("Skipping evaluation: {}", e.getMessage());
+                return Optional.empty();
+            } catch (DeadlineExceededException e) {
+                runContext.logger().warn("Skipping evaluation, results would be partial: {}", e.getMessage());
+                return Optional.empty();
+            }
+
+            if (matches.isEmpty()) {
+                return Optional.empty();
+            }
+
+            matches.forEach(execution -> fired.add(execution.getId()));
+            fired.save(runContext, key, now);
+
+            return Optional.of(
+                TriggerService.generateExecution(
+                    this, conditionContext, context, Output.builder()
+                        .executions(matches)
+                        .size((long) matches.size())
+                        .build()
+                )
+            );
+        }
+    }
+
+    public enum DateField {
+        START_DATE,
+        END_DATE
+    }
+
+    /**
+     * The IDs of the executions already fired, least recently matched first, and the date of the evaluation that
+     * fired last.
+     */
+    private static final class Fired {
+        private final LinkedHashMap<String, Boolean> ids;
+        private Instant evaluatedAt;
+
+        private Fired(int maxIds) {
+            this.ids = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > maxIds;
+                }
+            };
+        }
+
+        static Fired restore(RunContext runContext, String key, int maxIds) {
+            Fired fired = new Fired(maxIds);
+            try {
+                Optional<KVValue> value = runContext.namespaceKv(runContext.flowInfo().namespace()).getValue(key);
+                if (value.isPresent() && value.get().value() instanceof Map<?, ?> saved) {
+                    if (saved.get("evaluatedAt") instanceof String evaluatedAt) {
+                        fired.evaluatedAt = Instant.parse(evaluatedAt);
+                    }
+                    if (saved.get("ids") instanceof List<?> ids) {
+                        ids.forEach(id -> fired.ids.put(id.toString(), Boolean.TRUE));
+                    }
+                }
+            } catch (Exception e) {
+                runContext.logger().warn("Unable to read the fired executions, only looking back over the interval: {}", e.getMessage());
+            }
+            return fired;
+        }
+
+        boolean contains(String id) {
+            // a match refreshes the ID, so that it is not forgotten while it still matches
+            return ids.get(id) != null;
+        }
+
+        void add(String id) {
+            ids.put(id, Boolean.TRUE);
+        }
+
+        void save(RunContext runContext, String key, Instant evaluatedAt) throws Exception {
+            this.evaluatedAt = evaluatedAt;
+            Map<String, Object> value = new HashMap<>();
+            value.put("evaluatedAt", evaluatedAt.toString());
+            value.put("ids", new ArrayList<>(ids.keySet()));
+            runContext.namespaceKv(runContext.flowInfo().namespace()).put(key, new KVValueAndMetadata(new KVMetadata("Executions fired by the trigger", null), value));
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Executions matched since the previous evaluation")
+        private List<ApiLightExecution> executions;
+
+        @Schema(title = "Number of executions matched")
+        private Long size;
+    }
+}
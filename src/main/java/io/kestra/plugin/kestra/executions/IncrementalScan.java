@@ -0,0 +1,36 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the {@code incremental} mode of {@link Query}, see {@link Watermark}.
+ */
+@Builder
+@Getter
+public class IncrementalScan {
+    public static final Duration DEFAULT_OVERLAP = Duration.ofMinutes(5);
+
+    @Schema(
+        title = "KV store key of the watermark",
+        description = "Stored in the flow namespace; deleting it makes the next run start over from `startDate` or `timeRange`. Defaults to a key derived from the flow and task ids."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> key;
+
+    @Schema(
+        title = "Overlap with the previous run",
+        description = """
+            Executions that started up to this long before the watermark are fetched again, and the ones whose state \
+            changed since the previous run are returned again, e.g. those that were still running. Defaults to 5 minutes."""
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> overlap = Property.ofValue(DEFAULT_OVERLAP);
+}
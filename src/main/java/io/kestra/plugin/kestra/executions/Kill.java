@@ -8,7 +8,6 @@ import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -100,11 +99,11 @@ public class Kill extends AbstractKestraTask implements RunnableTask<VoidOutput>
         runContext
             .logger()
             .info("Killing execution {} with propagateKill={}", rExecutionId, rPropagateKill);
-        KestraClient kestraClient = kestraClient(runContext);
+        try (var connection = kestraConnection(runContext)) {
+            connection.execute("executions.killExecution", client -> client.executions().killExecution(rExecutionId, rTenantId, rPropagateKill));
+            runContext.logger().debug("Successfully killed execution {}", rExecutionId);
 
-        kestraClient.executions().killExecution(rExecutionId, rTenantId, rPropagateKill);
-        runContext.logger().debug("Successfully killed execution {}", rExecutionId);
-
-        return null;
+            return null;
+        }
     }
 }
@@ -0,0 +1,108 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.util.Arrays;
+
+/**
+ * Estimates the quantiles of a stream of positive values with a bounded relative error, in the manner of DDSketch:
+ * values are counted in buckets whose bounds grow geometrically, so a quantile is known within
+ * {@code relativeAccuracy} of its value, whatever the number of values.
+ * <p>
+ * Memory grows with the logarithm of the range of the values, not with their number: about 1 200 buckets cover
+ * durations from a millisecond to a year at 1%.
+ */
+final class QuantileSketch {
+    static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    // smaller values are counted as zeros, instead of extending the buckets towards 0 forever
+    private static final double MIN_INDEXED_VALUE = 1e-6;
+
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeros;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("The relative accuracy must be between 0 and 1, got " + relativeAccuracy);
+        }
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    void add(double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("Only positive values can be added, got " + value);
+        }
+
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value < MIN_INDEXED_VALUE) {
+            zeros++;
+            return;
+        }
+
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureIndexed(index);
+        counts[index - offset]++;
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.95 for the 95th percentile
+     * @return the estimated value, or {@code NaN} when the sketch is empty
+     */
+    double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1, got " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        if (quantile == 1) {
+            return max;
+        }
+
+        double rank = quantile * (count - 1);
+        long seen = zeros;
+        if (rank < seen) {
+            return min;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                // the middle of the bucket, in relative terms, which bounds the error on both sides
+                double value = 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+        return max;
+    }
+
+    private void ensureIndexed(int index) {
+        if (counts.length == 0) {
+            offset = index;
+            counts = new long[1];
+        } else if (index < offset) {
+            long[] grown = new long[counts.length + offset - index];
+            System.arraycopy(counts, 0, grown, offset - index, counts.length);
+            counts = grown;
+            offset = index;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, index - offset + 1);
+        }
+    }
+}
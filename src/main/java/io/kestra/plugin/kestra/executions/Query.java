@@ -1,14 +1,21 @@
 package io.kestra.plugin.kestra.executions;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URI;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
@@ -18,14 +25,22 @@ import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.flows.FlowScope;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.repositories.ExecutionRepositoryInterface;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
-import io.kestra.sdk.internal.ApiException;
+import io.kestra.plugin.kestra.connection.DeadlineExceededException;
+import io.kestra.plugin.kestra.connection.KestraConnection;
+import io.kestra.plugin.kestra.pagination.Checkpointer;
+import io.kestra.plugin.kestra.pagination.PageSizer;
+import io.kestra.plugin.kestra.pagination.Paginator;
+import io.kestra.plugin.kestra.pagination.ScanCheckpoint;
+import io.kestra.plugin.kestra.pagination.TimeSlicer;
+import io.kestra.plugin.kestra.serde.FetchGuard;
+import io.kestra.plugin.kestra.serde.FieldProjection;
+import io.kestra.plugin.kestra.serde.OutputCompression;
+import io.kestra.plugin.kestra.serde.OutputFormat;
+import io.kestra.plugin.kestra.serde.RowWriter;
 import io.kestra.sdk.model.*;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -34,6 +49,8 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 import reactor.core.publisher.Flux;
 
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+
 @SuperBuilder(toBuilder = true)
 @ToString
 @EqualsAndHashCode
@@ -86,7 +103,7 @@ import reactor.core.publisher.Flux;
         )
     }
 )
-public class Query extends AbstractKestraTask implements RunnableTask<FetchOutput> {
+public class Query extends AbstractKestraTask implements RunnableTask<Query.Output> {
     @Nullable
     @Schema(title = "Page number", description = "When null, iterates through all pages. Combine with size to limit requests.")
     @PluginProperty(group = "advanced")
@@ -98,9 +115,22 @@ public class Query extends AbstractKestraTask implements RunnableTask<FetchOutpu
     @PluginProperty(group = "advanced")
     private Property<Integer> size = Property.ofValue(10);
 
+    @Builder.Default
+    @Schema(
+        title = "Adapt the page size to the server",
+        description = "When `page` is null and `scanMode` is OFFSET, ignores `size` and starts with pages of 100 executions, doubling the size while pages return quickly and halving it when they get slow, between 25 and 1600. The sizes used are reported in the `api.page.size` metric. Defaults to false."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> autoPageSize = Property.ofValue(false);
+
+    @Builder.Default
+    @Schema(title = "Pages fetched concurrently", description = "When `page` is null, the remaining pages are fetched in parallel once the first page has returned the total; results keep the page order. Defaults to 4.")
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageConcurrency = Property.ofValue(Paginator.DEFAULT_CONCURRENCY);
+
     @Nullable
     @Builder.Default
-    @Schema(title = "Fetch strategy", description = "Defaults to STORE (writes to internal storage and returns URI). FETCH returns rows in output; FETCH_ONE returns the first execution.")
+    @Schema(title = "Fetch strategy", description = "Defaults to STORE (writes to internal storage and returns URI); when `page` is null, pages are written as they arrive so memory stays around `pageConcurrency` pages. FETCH returns rows in output; FETCH_ONE returns the first execution.")
     @PluginProperty(group = "processing")
     private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
 
@@ -153,63 +183,659 @@ public class Query extends AbstractKestraTask implements RunnableTask<FetchOutpu
     @Schema(title = "Child filter", description = "Limits results to child execution context when set.")
     private Property<ExecutionRepositoryInterface.ChildFilter> childFilter;
 
-    @Override
-    public FetchOutput run(RunContext runContext) throws Exception {
+    @Builder.Default
+    @Schema(
+        title = "Pages queued ahead of the output",
+        description = "When `page` is null and `scanMode` is OFFSET, fetched pages wait in a queue of this depth while the previous ones are written, so that network and serialization overlap. Defaults to 2."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> prefetchPages = Property.ofValue(Paginator.DEFAULT_PREFETCH);
+
+    @Nullable
+    @Schema(
+        title = "Maximum number of executions to return",
+        description = "When `page` is null, stops fetching pages as soon as this many executions are collected, e.g. the latest 500 failed executions; `truncated` tells whether more matched. Defaults to all."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxResults;
 
-        KestraClient kestraClient = kestraClient(runContext);
-        FetchOutput.FetchOutputBuilder output = FetchOutput.builder();
-        Integer rPage = runContext.render(this.page).as(Integer.class).orElse(null);
-        Integer rSize = runContext.render(this.size).as(Integer.class).orElse(10);
+    @Nullable
+    @Builder.Default
+    @Schema(
+        title = "Scan mode",
+        description = """
+            When `page` is null, OFFSET pages through the whole date range. TIME_SLICES splits the range into time slices \
+            that each fit in a few pages of at least 100 executions whatever `size`, sized from the density observed so far, \
+            and drops executions returned twice at slice boundaries; it requires `startDate` or `timeRange`, `endDate` defaults to now. Slices are not affected by \
+            executions created during the scan and avoid deep offsets; with `pageConcurrency` above 1, the range is split \
+            into as many parts scanned in parallel. Defaults to OFFSET."""
+    )
+    @PluginProperty(group = "advanced")
+    private Property<ScanMode> scanMode = Property.ofValue(ScanMode.OFFSET);
 
-        List<ApiLightExecution> executions = new java.util.ArrayList<>(List.of());
-        long total;
+    @Schema(
+        title = "Checkpoint the scan for retries",
+        description = """
+            When `page` is null and `fetchType` is STORE, periodically saves the scan cursor and uploads the executions \
+            written since the previous checkpoint, keeping track of them in the namespace KV store. A retry of the same \
+            task run then resumes from the last checkpoint and appends to the executions already written instead of \
+            fetching every page again. Disabled by default."""
+    )
+    @PluginProperty(group = "advanced")
+    private ScanCheckpoint checkpoint;
 
-        if (rPage != null) {
-            PagedResultsApiLightExecution results = executeSearch(runContext, kestraClient, rPage, rSize);
-            executions.addAll(results.getResults());
-            total = results.getTotal();
-        } else {
-            int currentPage = 1;
-            do {
-                PagedResultsApiLightExecution results = executeSearch(runContext, kestraClient, currentPage, rSize);
-                executions.addAll(results.getResults());
-                total = results.getTotal();
-                currentPage++;
-            } while ((long) currentPage * rSize < total);
-        }
-
-        output.size(total);
-
-        return switch (runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.STORE)) {
-            case STORE -> {
-                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
-                try (var fileOutput = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
-                    Flux<ApiLightExecution> flux = Flux.fromIterable(executions);
-                    FileSerde.writeAll(fileOutput, flux).block();
+    @Schema(
+        title = "Fields to output",
+        description = """
+            Writes only these fields of each execution to the STORE, FETCH and FETCH_ONE outputs, e.g. `id`, \
+            `namespace`, `flowId`, `state.current`, `state.startDate` and `state.duration`. Nested fields are selected \
+            by their dotted path, and selecting an object keeps all its fields. Defaults to all fields."""
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> fields;
+
+    @Schema(
+        title = "Maximum number of executions to fetch",
+        description = """
+            With `fetchType: FETCH`, when more executions are found, they are stored as with STORE instead: `uri` is \
+            set and `rows` only holds the first 10, so that a large result does not bloat the execution context. \
+            Defaults to no limit."""
+    )
+    @PluginProperty(group = "processing")
+    private Property<Integer> maxFetchRows;
+
+    @Schema(
+        title = "Maximum size in bytes of the executions to fetch",
+        description = "Like `maxFetchRows`, on the size of the executions serialized to JSON. Defaults to no limit."
+    )
+    @PluginProperty(group = "processing")
+    private Property<Long> maxFetchBytes;
+
+    @Builder.Default
+    @Schema(
+        title = "Format of the stored file",
+        description = """
+            With `fetchType: STORE`, ION writes one execution per line like other Kestra tasks, NDJSON one JSON object \
+            per line, and CSV a header then one line per execution, nested fields flattened into dotted columns such \
+            as `state.current`; lists and maps are written as JSON. Defaults to ION."""
+    )
+    @PluginProperty(group = "processing")
+    private Property<OutputFormat> format = Property.ofValue(OutputFormat.ION);
+
+    @Builder.Default
+    @Schema(title = "Compression of the stored file", description = "With `fetchType: STORE`, GZIP compresses the file as it is written. Defaults to NONE.")
+    @PluginProperty(group = "processing")
+    private Property<OutputCompression> compression = Property.ofValue(OutputCompression.NONE);
+
+    @Schema(
+        title = "Aggregate the executions instead of returning them",
+        description = """
+            Folds the executions into counts and duration quantiles per group as pages stream in, and only outputs \
+            the summary in `aggregates`, one row per group; memory stays bounded by the number of groups. `fetchType`, \
+            `fields`, `format` and `checkpoint` are ignored. Durations go from the start to the end of an execution, \
+            executions still running are only counted."""
+    )
+    @PluginProperty(group = "processing")
+    private ExecutionAggregation aggregate;
+
+    @Schema(
+        title = "Only fetch executions since the previous run",
+        description = """
+            Keeps a watermark in the namespace KV store: the latest start date seen and the state of the executions \
+            that started shortly before it. Each run then only fetches the executions that started after the watermark \
+            minus `overlap`, and returns those that are new or whose state changed, e.g. that were still running. \
+            `startDate` or `timeRange` only bound the first run. The watermark is only moved when all executions were \
+            scanned, not when the results are partial. Cannot be used with `page` or `maxResults`, and `checkpoint` \
+            is ignored."""
+    )
+    @PluginProperty(group = "advanced")
+    private IncrementalScan incremental;
+
+    @Schema(
+        title = "Tenants to query instead of `tenantId`",
+        description = """
+            Queries each tenant with the same filters, up to `tenantConcurrency` at once, and merges their executions \
+            into a single output as they arrive, each with a `tenantId` field. Entries with a `*`, e.g. `*` or \
+            `prod-*`, are matched against the tenants listed by the tenants API. `maxResults` applies to the merged \
+            executions, and `aggregate` groups them per tenant. Cannot be used with `page` or `incremental`, and \
+            `checkpoint` is ignored."""
+    )
+    @PluginProperty(group = "connection")
+    private Property<List<String>> tenantIds;
+
+    @Builder.Default
+    @Schema(title = "Tenants queried concurrently", description = "With `tenantIds`, each tenant scan also fetches up to `pageConcurrency` pages at once. Defaults to 4.")
+    @PluginProperty(group = "connection")
+    private Property<Integer> tenantConcurrency = Property.ofValue(Tenants.DEFAULT_CONCURRENCY);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        try (var connection = kestraConnection(runContext)) {
+            Settings settings = settings(runContext);
+            Window window = window(runContext);
+            List<String> rTenantIds = runContext.render(this.tenantIds).asList(String.class);
+
+            if (!rTenantIds.isEmpty()) {
+                if (settings.page() != null || this.incremental != null) {
+                    throw new IllegalArgumentException("`tenantIds` cannot be used together with `page` or `incremental`.");
+                }
+                return queryTenants(runContext, connection, settings, window, rTenantIds);
+            }
+            if (settings.page() != null) {
+                if (this.incremental != null) {
+                    throw new IllegalArgumentException("`incremental` cannot be used together with `page`.");
+                }
+                return queryPage(runContext, connection, settings, window);
+            }
+            if (this.incremental != null) {
+                if (settings.maxResults() != null) {
+                    // a truncated run does not move the watermark, so every next run would return the same executions
+                    throw new IllegalArgumentException("`incremental` cannot be used together with `maxResults`.");
                 }
-                yield output.uri(runContext.storage().putFile(tempFile)).build();
+                return queryIncremental(runContext, connection, settings, window);
             }
-            case FETCH -> output.rows(Collections.singletonList(executions)).build();
+            return queryAll(runContext, connection, settings, window);
+        }
+    }
+
+    /**
+     * The single page requested.
+     */
+    private Output queryPage(RunContext runContext, KestraConnection connection, Settings settings, Window window) throws Exception {
+        ExecutionRollup rollup = rollup(runContext);
+        AtomicBoolean partial = new AtomicBoolean();
+        PagedResultsApiLightExecution results = executeSearch(connection, settings.tenantId(), withDates(settings.filters(), window.start(), window.end()), settings.page(), settings.size());
+        Flux<ApiLightExecution> executions = untilDeadline(runContext, Flux.fromIterable(results.getResults()), partial);
+
+        Output.OutputBuilder output = Output.builder();
+        output(runContext, connection, settings, output, executions, rollup);
+        return output
+            .size(results.getTotal())
+            .partial(partial.get())
+            .truncated(false)
+            .build();
+    }
+
+    /**
+     * Every page, or every time slice, of the search; with STORE, resumed from the last checkpoint when enabled.
+     */
+    private Output queryAll(RunContext runContext, KestraConnection connection, Settings settings, Window window) throws Exception {
+        ExecutionRollup rollup = rollup(runContext);
+        Checkpointer checkpointer = settings.fetchType() == FetchType.STORE && rollup == null ?
+            Checkpointer.of(runContext, this.checkpoint, settings.checkpointScope()) :
+            Checkpointer.DISABLED;
+        if (checkpointer.isEnabled()) {
+            return queryCheckpointed(runContext, connection, settings, window, checkpointer);
+        }
+
+        AtomicLong total = new AtomicLong();
+        AtomicBoolean partial = new AtomicBoolean();
+        Flux<ApiLightExecution> executions = untilDeadline(runContext, progress(connection, settings.tenantId(), settings, window, null, settings.limit(), total), partial)
+            .concatMapIterable(Progress::rows, 1);
+
+        Output.OutputBuilder output = Output.builder();
+        output(runContext, connection, settings, output, executions, rollup);
+        return output
+            .size(total.get())
+            .partial(partial.get())
+            .truncated(settings.truncated(total.get()))
+            .build();
+    }
+
+    /**
+     * Like {@link #queryAll} with STORE, appending the pages or slices to the executions of the last checkpoint, if
+     * any, and saving a checkpoint as they are written.
+     */
+    private Output queryCheckpointed(RunContext runContext, KestraConnection connection, Settings settings, Window window, Checkpointer checkpointer) throws Exception {
+        File checkpointed = runContext.workingDir().createTempFile(RowWriter.extension(settings.format(), settings.compression())).toFile();
+        Checkpointer.Cursor cursor = checkpointer.restore(checkpointed).orElse(null);
+
+        Window scanned = window;
+        String resumeFrom = null;
+        long restored = 0;
+        if (cursor != null) {
+            // a relative `timeRange` moved since the checkpoint: resume the very window it was taken in
+            String[] position = cursor.position().split("\\|", 3);
+            scanned = new Window(parseDate(position[0]), parseDate(position[1]));
+            resumeFrom = position[2];
+            restored = cursor.rows();
+        }
+
+        // slices count the executions written, restored ones included; pages report the total of the search
+        AtomicLong total = new AtomicLong(restored);
+        AtomicBoolean partial = new AtomicBoolean();
+        long limit = settings.limit();
+        long remaining = limit == Paginator.UNLIMITED ? Paginator.UNLIMITED : limit - restored;
+        Flux<Progress> progress = untilDeadline(runContext, progress(connection, settings.tenantId(), settings, scanned, resumeFrom, remaining, total), partial);
+
+        URI uri = store(runContext, connection, progress, settings.format(), settings.compression(), settings.projection(), checkpointer, checkpointed, restored);
+        return Output.builder()
+            .uri(uri)
+            .size(total.get())
+            .partial(partial.get())
+            .truncated(settings.truncated(total.get()))
+            .build();
+    }
+
+    /**
+     * Like {@link #queryAll}, from the watermark of the previous run, only keeping the executions that are new or
+     * changed, and moving the watermark once every execution was scanned.
+     */
+    private Output queryIncremental(RunContext runContext, KestraConnection connection, Settings settings, Window window) throws Exception {
+        ExecutionRollup rollup = rollup(runContext);
+        Watermark watermark = Watermark.restore(runContext, this.incremental);
+        Window since = watermark.from() != null ? new Window(watermark.from(), window.end()) : window;
+
+        AtomicLong total = new AtomicLong();
+        AtomicBoolean partial = new AtomicBoolean();
+        AtomicBoolean scanned = new AtomicBoolean();
+        Flux<ApiLightExecution> executions = untilDeadline(runContext, progress(connection, settings.tenantId(), settings, since, null, settings.limit(), total), partial)
+            .concatMapIterable(Progress::rows, 1)
+            .filter(execution -> accept(watermark, execution))
+            .doOnComplete(() -> scanned.set(true));
+
+        Output.OutputBuilder output = Output.builder();
+        output(runContext, connection, settings, output, executions, rollup);
+
+        if (scanned.get() && !partial.get()) {
+            watermark.save();
+        } else {
+            runContext.logger().warn("Not all executions were scanned, the watermark is kept for the next run");
+        }
+
+        return output
+            .size(total.get())
+            .partial(partial.get())
+            .truncated(false)
+            .build();
+    }
+
+    /**
+     * The search run on each tenant, their executions merged as they arrive and tagged by tenant, or aggregated per
+     * tenant. The API metrics of each scan are tagged by its tenant.
+     */
+    private Output queryTenants(RunContext runContext, KestraConnection connection, Settings settings, Window window, List<String> rTenantIds) throws Exception {
+        if (settings.scanMode() == ScanMode.TIME_SLICES && window.start() == null) {
+            throw new IllegalArgumentException("`scanMode: TIME_SLICES` requires `startDate` or `timeRange`.");
+        }
+        int rTenantConcurrency = runContext.render(this.tenantConcurrency).as(Integer.class).orElse(Tenants.DEFAULT_CONCURRENCY);
+        List<String> tenants = Tenants.resolve(connection, rTenantIds);
+
+        Map<String, AtomicLong> totals = new LinkedHashMap<>();
+        AtomicBoolean partial = new AtomicBoolean();
+        List<Flux<TenantExecution>> scans = new ArrayList<>();
+        for (String tenant : tenants) {
+            AtomicLong tenantTotal = new AtomicLong();
+            totals.put(tenant, tenantTotal);
+            scans.add(untilDeadline(runContext, progress(connection.forTenant(tenant), tenant, settings, window, null, settings.limit(), tenantTotal), partial)
+                .concatMapIterable(Progress::rows, 1)
+                .map(execution -> new TenantExecution(tenant, execution)));
+        }
+
+        // tenants are scanned concurrently and their executions interleaved, each is already tagged
+        Flux<TenantExecution> executions = Flux.fromIterable(scans).flatMap(scan -> scan, rTenantConcurrency);
+        if (settings.limit() != Paginator.UNLIMITED) {
+            executions = executions.take(settings.limit());
+        }
+
+        Output.OutputBuilder output = Output.builder();
+        if (this.aggregate != null) {
+            output.aggregates(aggregatePerTenant(runContext, tenants, executions));
+        } else {
+            output(runContext, connection, settings, output, executions, TenantExecution.class);
+        }
+
+        Map<String, Long> tenantSizes = new LinkedHashMap<>();
+        totals.forEach((tenant, tenantTotal) -> tenantSizes.put(tenant, tenantTotal.get()));
+        long size = tenantSizes.values().stream().mapToLong(Long::longValue).sum();
+        return output
+            .size(size)
+            .tenantSizes(tenantSizes)
+            .partial(partial.get())
+            .truncated(settings.truncated(size))
+            .build();
+    }
+
+    private List<Map<String, Object>> aggregatePerTenant(RunContext runContext, List<String> tenants, Flux<TenantExecution> executions) throws IllegalVariableEvaluationException {
+        Map<String, ExecutionRollup> rollups = new HashMap<>();
+        for (String tenant : tenants) {
+            rollups.put(tenant, rollup(runContext));
+        }
+        executions.doOnNext(execution -> rollups.get(execution.tenantId()).add(execution.execution())).blockLast();
+
+        List<Map<String, Object>> aggregates = new ArrayList<>();
+        for (String tenant : tenants) {
+            rollups.get(tenant).rows().forEach(row ->
+            {
+                Map<String, Object> tagged = new LinkedHashMap<>();
+                tagged.put("tenantId", tenant);
+                tagged.putAll(row);
+                aggregates.add(tagged);
+            });
+        }
+        return aggregates;
+    }
+
+    /**
+     * Outputs the executions as {@code fetchType} tells, or only their aggregates when {@code rollup} is set.
+     */
+    private void output(
+        RunContext runContext,
+        KestraConnection connection,
+        Settings settings,
+        Output.OutputBuilder output,
+        Flux<ApiLightExecution> executions,
+        ExecutionRollup rollup
+    ) throws IOException {
+        if (rollup != null) {
+            executions.doOnNext(rollup::add).blockLast();
+            output.aggregates(rollup.rows());
+        } else {
+            output(runContext, connection, settings, output, executions, ApiLightExecution.class);
+        }
+    }
+
+    private <T> void output(
+        RunContext runContext,
+        KestraConnection connection,
+        Settings settings,
+        Output.OutputBuilder output,
+        Flux<T> executions,
+        Class<T> rowType
+    ) throws IOException {
+        FieldProjection projection = settings.projection();
+        switch (settings.fetchType()) {
+            case STORE -> output.uri(store(runContext, connection, executions, rowType, settings.format(), settings.compression(), projection));
+            case FETCH -> fetch(runContext, connection, output, executions, rowType, settings.guard(), settings.format(), settings.compression(), projection);
             case FETCH_ONE -> {
-                if (!executions.isEmpty()) {
-                    output.row(Map.of("0", executions.getFirst()));
+                T first = executions.next().block();
+                if (first != null) {
+                    output.row(Map.of("0", projection != null ? projection.toMap(first) : first));
                 }
-                yield output.build();
             }
-            default -> output.build();
-        };
+            default -> {
+            }
+        }
+    }
 
+    /**
+     * The pages, or the time slices, of the search of tenant {@code tId} in {@code window}, each with the checkpoint
+     * position once its executions are written.
+     *
+     * @param cursor where the scan resumes in the window, from a checkpoint position, or {@code null} to start it
+     * @param total set to the number of executions matching, or counting those scanned with time slices
+     */
+    private Flux<Progress> progress(
+        KestraConnection connection,
+        String tId,
+        Settings settings,
+        Window window,
+        String cursor,
+        long remaining,
+        AtomicLong total
+    ) throws Exception {
+        if (remaining <= 0) {
+            return Flux.empty();
+        }
+        if (settings.scanMode() == ScanMode.TIME_SLICES) {
+            return timeSlices(connection, tId, settings, window, cursor != null ? ZonedDateTime.parse(cursor) : null, remaining, total);
+        }
+        return offsetPages(connection, tId, settings, window, cursor != null ? Long.parseLong(cursor) : 0, remaining, total);
+    }
+
+    private Flux<Progress> timeSlices(
+        KestraConnection connection,
+        String tId,
+        Settings settings,
+        Window window,
+        ZonedDateTime resumeFrom,
+        long remaining,
+        AtomicLong total
+    ) throws Exception {
+        if (window.start() == null) {
+            throw new IllegalArgumentException("`scanMode: TIME_SLICES` requires `startDate` or `timeRange`.");
+        }
+
+        ZonedDateTime end = window.end() != null ? window.end() : ZonedDateTime.now();
+        ZonedDateTime from = resumeFrom != null ? resumeFrom : window.start();
+        return limit(slices(connection, tId, settings.filters(), from, end, resumeFrom != null, settings.size(), settings.pageConcurrency())
+                .map(slice -> new Progress(slice.rows(), position(window, slice.to().toString()))), remaining)
+            .doOnNext(slice -> total.addAndGet(slice.rows().size()));
+    }
+
+    private Flux<Progress> offsetPages(
+        KestraConnection connection,
+        String tId,
+        Settings settings,
+        Window window,
+        long from,
+        long remaining,
+        AtomicLong total
+    ) {
+        List<QueryFilter> rangeFilters = withDates(settings.filters(), window.start(), window.end());
+        PageSizer sizer = settings.autoPageSize()
+            ? PageSizer.adaptive(pageSize -> connection.getMetrics().pageSize("executions.searchExecutions", pageSize))
+            : PageSizer.fixed(settings.size());
+        // pages are streamed, so that STORE only holds the pages in flight in memory
+        return Paginator.pages(
+                sizer,
+                settings.pageConcurrency(),
+                settings.prefetchPages(),
+                from,
+                remaining,
+                (requestedPage, pageSize) -> executeSearch(connection, tId, rangeFilters, requestedPage, pageSize),
+                PagedResultsApiLightExecution::getResults,
+                PagedResultsApiLightExecution::getTotal,
+                ApiLightExecution::getId,
+                total::set
+            )
+            .map(chunk -> new Progress(chunk.rows(), position(window, Long.toString(chunk.next()))));
+    }
+
+    private static boolean accept(Watermark watermark, ApiLightExecution execution) {
+        var state = execution.getState();
+        return state == null ?
+            watermark.accept(execution.getId(), null, null) :
+            watermark.accept(execution.getId(), state.getStartDate(), state.getCurrent() != null ? state.getCurrent().name() : null);
+    }
+
+    private <T> Flux<T> untilDeadline(RunContext runContext, Flux<T> flux, AtomicBoolean partial) {
+        return flux.onErrorResume(DeadlineExceededException.class, e ->
+        {
+            partial.set(true);
+            runContext.logger().warn("Stopping before all pages were fetched, results are partial: {}", e.getMessage());
+            return Flux.empty();
+        });
+    }
+
+    /**
+     * Slices of the range from {@code from} to {@code to}. When resuming from a checkpoint, {@code from} is the end of
+     * the last slice written: slice bounds are inclusive, so the executions starting exactly then were already written.
+     */
+    private Flux<TimeSlicer.Slice<ApiLightExecution>> slices(
+        KestraConnection connection,
+        String tId,
+        List<QueryFilter> filters,
+        ZonedDateTime from,
+        ZonedDateTime to,
+        boolean resumed,
+        int size,
+        int concurrency
+    ) throws Exception {
+        // `size` defaults to 10, too small for slices of a few pages: the slices would need a request per few rows
+        int pageSize = Math.max(size, TimeSlicer.MIN_PAGE_SIZE);
+        Set<String> written = new HashSet<>();
+        if (resumed) {
+            Paginator.fetchAll(
+                pageSize,
+                1,
+                requestedPage -> executeSearch(connection, tId, withDates(filters, from, from), requestedPage, pageSize),
+                PagedResultsApiLightExecution::getResults,
+                PagedResultsApiLightExecution::getTotal,
+                executions -> executions.forEach(execution -> written.add(execution.getId()))
+            );
+        }
+
+        Flux<TimeSlicer.Slice<ApiLightExecution>> slices = TimeSlicer.slices(
+            from,
+            to,
+            pageSize,
+            TimeSlicer.DEFAULT_SLICE_PAGES,
+            concurrency,
+            (sliceFrom, sliceTo, requestedPage) -> executeSearch(connection, tId, withDates(filters, sliceFrom, sliceTo), requestedPage, pageSize),
+            PagedResultsApiLightExecution::getResults,
+            PagedResultsApiLightExecution::getTotal,
+            ApiLightExecution::getId
+        );
+        if (written.isEmpty()) {
+            return slices;
+        }
+        return slices.map(slice -> new TimeSlicer.Slice<>(slice.rows().stream().filter(execution -> !written.contains(execution.getId())).toList(), slice.to()));
+    }
+
+    private ExecutionRollup rollup(RunContext runContext) throws IllegalVariableEvaluationException {
+        if (this.aggregate == null) {
+            return null;
+        }
+        return new ExecutionRollup(
+            runContext.render(this.aggregate.getGroupBy()).asList(ExecutionAggregation.GroupBy.class),
+            runContext.render(this.aggregate.getQuantiles()).asList(Double.class)
+        );
+    }
+
+    /**
+     * Trims the slices to {@code limit} executions, and completes once they are reached.
+     */
+    private static Flux<Progress> limit(Flux<Progress> progress, long limit) {
+        if (limit == Paginator.UNLIMITED) {
+            return progress;
+        }
+
+        return Flux.defer(() ->
+        {
+            AtomicLong left = new AtomicLong(limit);
+            return progress
+                .map(chunk -> chunk.rows().size() > left.get() ? new Progress(chunk.rows().subList(0, (int) left.get()), chunk.position()) : chunk)
+                .doOnNext(chunk -> left.addAndGet(-chunk.rows().size()))
+                .takeUntil(chunk -> left.get() <= 0);
+        });
     }
 
-    private PagedResultsApiLightExecution executeSearch(
+    /**
+     * Outputs the executions, or stores them once they exceed the limits of {@code guard} and only outputs a preview.
+     * The limits are checked while the executions arrive, so that no more than them are held in memory.
+     */
+    private <T> void fetch(
         RunContext runContext,
-        KestraClient kestraClient,
-        Integer page,
-        Integer size) throws IllegalVariableEvaluationException, ApiException {
-        List<FlowScope> rFlowScopes = runContext.render(this.flowScopes).asList(FlowScope.class);
-        String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        String rNamespace = runContext.render(this.namespace).as(String.class).orElse(null);
-        String rFlowId = runContext.render(this.flowId).as(String.class).orElse(null);
+        KestraConnection connection,
+        Output.OutputBuilder output,
+        Flux<T> executions,
+        Class<T> rowType,
+        FetchGuard guard,
+        OutputFormat format,
+        OutputCompression compression,
+        FieldProjection projection
+    ) throws IOException {
+        File tempFile = runContext.workingDir().createTempFile(RowWriter.extension(format, compression)).toFile();
+        FetchGuard.Rows<T> fetched = FetchGuard.collect(guard, tempFile, format, compression, rowType, projection);
+        try (fetched) {
+            executions.doOnNext(throwConsumer(fetched::add)).blockLast();
+        }
+
+        List<?> rows = projection != null ? fetched.rows().stream().map(projection::toMap).toList() : fetched.rows();
+        if (fetched.exceeded()) {
+            runContext.logger().warn("{} executions exceed `maxFetchRows` or `maxFetchBytes`, storing them instead and only outputting the first {}", fetched.count(), FetchGuard.PREVIEW_ROWS);
+            connection.getMetrics().stored("executions.searchExecutions", tempFile.length());
+            output.uri(runContext.storage().putFile(tempFile));
+        }
+        output.rows(Collections.singletonList(rows));
+    }
+
+    private URI store(
+        RunContext runContext,
+        KestraConnection connection,
+        Flux<?> executions,
+        Class<?> rowType,
+        OutputFormat format,
+        OutputCompression compression,
+        FieldProjection projection
+    ) throws IOException {
+        File tempFile = runContext.workingDir().createTempFile(RowWriter.extension(format, compression)).toFile();
+        try (RowWriter writer = RowWriter.of(tempFile, format, compression, rowType, projection)) {
+            writer.writeAll(executions).block();
+        }
+        connection.getMetrics().stored("executions.searchExecutions", tempFile.length());
+        return runContext.storage().putFile(tempFile);
+    }
+
+    /**
+     * Appends the executions to {@code tempFile}, which already holds the {@code restored} executions of the last
+     * checkpoint, and saves a checkpoint after the pages or slices written.
+     */
+    private URI store(
+        RunContext runContext,
+        KestraConnection connection,
+        Flux<Progress> progress,
+        OutputFormat format,
+        OutputCompression compression,
+        FieldProjection projection,
+        Checkpointer checkpointer,
+        File tempFile,
+        long restored
+    ) throws IOException {
+        AtomicLong written = new AtomicLong(restored);
+        try (RowWriter writer = RowWriter.append(tempFile, format, compression, ApiLightExecution.class, projection)) {
+            progress
+                .doOnNext(throwConsumer(chunk ->
+                {
+                    for (ApiLightExecution execution : chunk.rows()) {
+                        writer.write(execution);
+                    }
+                    checkpointer.written(tempFile, writer, chunk.position(), written.addAndGet(chunk.rows().size()));
+                }))
+                .blockLast();
+        }
+        checkpointer.complete();
+        connection.getMetrics().stored("executions.searchExecutions", tempFile.length());
+        return runContext.storage().putFile(tempFile);
+    }
+
+    /**
+     * The checkpoint position: the window scanned, then where the scan resumes in it.
+     */
+    private static String position(Window window, String cursor) {
+        return (window.start() != null ? window.start().toString() : "") + "|" + (window.end() != null ? window.end().toString() : "") + "|" + cursor;
+    }
+
+    private static ZonedDateTime parseDate(String date) {
+        return date.isEmpty() ? null : ZonedDateTime.parse(date);
+    }
+
+    private Settings settings(RunContext runContext) throws IllegalVariableEvaluationException {
+        List<String> rFields = runContext.render(this.fields).asList(String.class);
+        return new Settings(
+            runContext.render(this.page).as(Integer.class).orElse(null),
+            runContext.render(this.size).as(Integer.class).orElse(10),
+            runContext.render(this.pageConcurrency).as(Integer.class).orElse(Paginator.DEFAULT_CONCURRENCY),
+            runContext.render(this.prefetchPages).as(Integer.class).orElse(Paginator.DEFAULT_PREFETCH),
+            runContext.render(this.autoPageSize).as(Boolean.class).orElse(false),
+            runContext.render(this.scanMode).as(ScanMode.class).orElse(ScanMode.OFFSET),
+            runContext.render(this.maxResults).as(Integer.class).orElse(null),
+            runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.STORE),
+            rFields,
+            FieldProjection.of(rFields),
+            runContext.render(this.format).as(OutputFormat.class).orElse(OutputFormat.ION),
+            runContext.render(this.compression).as(OutputCompression.class).orElse(OutputCompression.NONE),
+            FetchGuard.of(
+                runContext.render(this.maxFetchRows).as(Integer.class).orElse(null),
+                runContext.render(this.maxFetchBytes).as(Long.class).orElse(null)
+            ),
+            runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId()),
+            queryFilters(runContext)
+        );
+    }
+
+    private Window window(RunContext runContext) throws IllegalVariableEvaluationException {
         ZonedDateTime rStartDate = runContext.render(this.startDate).as(ZonedDateTime.class).orElse(null);
         ZonedDateTime rEndDate = runContext.render(this.endDate).as(ZonedDateTime.class).orElse(null);
         Duration rTimerange = runContext.render(this.timeRange).as(Duration.class).orElse(null);
@@ -224,17 +850,37 @@ public class Query extends AbstractKestraTask implements RunnableTask<FetchOutpu
             }
         }
 
+        return new Window(rStartDate, rEndDate);
+    }
+
+    private List<QueryFilter> queryFilters(RunContext runContext) throws IllegalVariableEvaluationException {
+        List<FlowScope> rFlowScopes = runContext.render(this.flowScopes).asList(FlowScope.class);
+        String rNamespace = runContext.render(this.namespace).as(String.class).orElse(null);
+        String rFlowId = runContext.render(this.flowId).as(String.class).orElse(null);
         List<StateType> rState = runContext.render(this.states).asList(StateType.class);
         Map<String, String> rLabels = runContext.render(this.labels).asMap(String.class, String.class);
         String rTriggerExecutionId = runContext.render(this.triggerExecutionId).as(String.class).orElse(null);
         ExecutionRepositoryInterface.ChildFilter rChildFilter = runContext.render(this.childFilter).as(ExecutionRepositoryInterface.ChildFilter.class).orElse(null);
 
-        List<QueryFilter> filters = new java.util.ArrayList<>(
+        return queryFilters(rFlowScopes, rNamespace, rFlowId, rState, rLabels, rTriggerExecutionId, rChildFilter);
+    }
+
+    /**
+     * The search filters of rendered filter properties, shared with {@link ExecutionTrigger}.
+     */
+    static List<QueryFilter> queryFilters(
+        List<FlowScope> rFlowScopes,
+        String rNamespace,
+        String rFlowId,
+        List<StateType> rState,
+        Map<String, String> rLabels,
+        String rTriggerExecutionId,
+        ExecutionRepositoryInterface.ChildFilter rChildFilter
+    ) {
+        List<QueryFilter> filters = new ArrayList<>(
             Stream.of(
                 rNamespace != null ? new QueryFilter().field(QueryFilterField.NAMESPACE).operation(QueryFilterOp.EQUALS).value(rNamespace) : null,
                 rFlowId != null ? new QueryFilter().field(QueryFilterField.FLOW_ID).operation(QueryFilterOp.EQUALS).value(rFlowId) : null,
-                rStartDate != null ? new QueryFilter().field(QueryFilterField.START_DATE).operation(QueryFilterOp.LESS_THAN_OR_EQUAL_TO).value(rStartDate) : null,
-                rEndDate != null ? new QueryFilter().field(QueryFilterField.START_DATE).operation(QueryFilterOp.GREATER_THAN_OR_EQUAL_TO).value(rEndDate) : null,
                 rTriggerExecutionId != null ? new QueryFilter().field(QueryFilterField.TRIGGER_EXECUTION_ID).operation(QueryFilterOp.EQUALS).value(rTriggerExecutionId) : null,
                 rChildFilter != null ? new QueryFilter().field(QueryFilterField.CHILD_FILTER).operation(QueryFilterOp.EQUALS).value(rChildFilter) : null
             ).filter(Objects::nonNull).toList()
@@ -276,13 +922,136 @@ public class Query extends AbstractKestraTask implements RunnableTask<FetchOutpu
             });
         }
 
-        return kestraClient.executions().searchExecutions(
-            tId,
-            page,
-            size,
-            null,
-            filters
+        return filters;
+    }
+
+    private static List<QueryFilter> withDates(List<QueryFilter> filters, ZonedDateTime from, ZonedDateTime to) {
+        if (from == null && to == null) {
+            return filters;
+        }
+
+        List<QueryFilter> rangeFilters = new ArrayList<>(filters);
+        if (from != null) {
+            rangeFilters.add(new QueryFilter().field(QueryFilterField.START_DATE).operation(QueryFilterOp.GREATER_THAN_OR_EQUAL_TO).value(from));
+        }
+        if (to != null) {
+            rangeFilters.add(new QueryFilter().field(QueryFilterField.START_DATE).operation(QueryFilterOp.LESS_THAN_OR_EQUAL_TO).value(to));
+        }
+        return rangeFilters;
+    }
+
+    private PagedResultsApiLightExecution executeSearch(KestraConnection connection, String tId, List<QueryFilter> filters, int page, int size) throws Exception {
+        return connection.readPage(
+            "executions.searchExecutions",
+            client -> client.executions().searchExecutions(tId, page, size, null, filters),
+            PagedResultsApiLightExecution::getResults
         );
     }
 
+    private record Window(ZonedDateTime start, ZonedDateTime end) {
+    }
+
+    /**
+     * The rendered properties every mode of the query depends on.
+     */
+    private record Settings(
+        Integer page,
+        int size,
+        int pageConcurrency,
+        int prefetchPages,
+        boolean autoPageSize,
+        ScanMode scanMode,
+        Integer maxResults,
+        FetchType fetchType,
+        List<String> fields,
+        FieldProjection projection,
+        OutputFormat format,
+        OutputCompression compression,
+        FetchGuard guard,
+        String tenantId,
+        List<QueryFilter> filters
+    ) {
+        long limit() {
+            return maxResults != null ? maxResults : Paginator.UNLIMITED;
+        }
+
+        /**
+         * @param found the executions matching, or those scanned with time slices
+         */
+        boolean truncated(long found) {
+            // slices do not know the total, so reaching the limit is all they can tell
+            return maxResults != null && (scanMode == ScanMode.TIME_SLICES ? found >= maxResults : found > maxResults);
+        }
+
+        /**
+         * What a checkpoint is only resumed with: the same search, written the same way.
+         */
+        String checkpointScope() {
+            return String.join("|", tenantId, filters.toString(), scanMode.name(), Integer.toString(size), Boolean.toString(autoPageSize), String.valueOf(maxResults), format.name(), compression.name(), fields.toString());
+        }
+    }
+
+    /**
+     * The executions of a page or a slice, and the checkpoint position once they are written.
+     */
+    private record Progress(List<ApiLightExecution> rows, String position) {
+    }
+
+    public enum ScanMode {
+        OFFSET,
+        TIME_SLICES
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "List containing the fetched executions",
+            description = "Only populated if using `fetchType=FETCH`; only the first 10 when `maxFetchRows` or `maxFetchBytes` was exceeded."
+        )
+        private List<Object> rows;
+
+        @Schema(
+            title = "Map containing the first fetched execution",
+            description = "Only populated if using `fetchType=FETCH_ONE`."
+        )
+        private Map<String, Object> row;
+
+        @Schema(
+            title = "Counts and duration quantiles per group",
+            description = "Only populated when `aggregate` is set; each row holds the group dimensions, `count` and a duration per quantile, e.g. `p95`."
+        )
+        private List<Map<String, Object>> aggregates;
+
+        @Schema(
+            title = "URI of a file containing the fetched executions",
+            description = "Only populated if using `fetchType=STORE`, or `fetchType=FETCH` when `maxFetchRows` or `maxFetchBytes` was exceeded."
+        )
+        private URI uri;
+
+        @Schema(
+            title = "Total number of executions matching the filters",
+            description = "With `scanMode: TIME_SLICES`, the number of distinct executions scanned."
+        )
+        private Long size;
+
+        @Schema(
+            title = "Number of executions matching the filters per tenant",
+            description = "Only populated when using `tenantIds`; `size` is their sum."
+        )
+        private Map<String, Long> tenantSizes;
+
+        @Schema(
+            title = "Whether the results are partial",
+            description = "True when `apiTimeout` was reached before all pages were fetched."
+        )
+        private Boolean partial;
+
+        @Schema(
+            title = "Whether more executions matched than `maxResults`",
+            description = "With `scanMode: TIME_SLICES`, true as soon as `maxResults` executions were returned."
+        )
+        private Boolean truncated;
+    }
+
 }
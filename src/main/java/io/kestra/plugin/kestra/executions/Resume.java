@@ -92,8 +92,13 @@ public class Resume extends AbstractKestraTask implements RunnableTask<VoidOutpu
         Map<String, Object> rInputs = runContext.render(this.inputs).asMap(String.class, Object.class);
 
         runContext.logger().info("Resuming execution {}", rExecutionId);
-        this.kestraClient(runContext).executions()
-            .resumeExecution(rExecutionId, rTenant, new HashMap<>(rInputs));
+        String rResumedExecutionId = rExecutionId;
+        try (var connection = kestraConnection(runContext)) {
+            connection.execute(
+                "executions.resumeExecution",
+                client -> client.executions().resumeExecution(rResumedExecutionId, rTenant, new HashMap<>(rInputs))
+            );
+        }
 
         runContext.logger().debug("Successfully resumed execution {}", rExecutionId);
         return null;
@@ -0,0 +1,12 @@
+package io.kestra.plugin.kestra.executions;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import io.kestra.sdk.model.ApiLightExecution;
+
+/**
+ * An execution found by a task fanning out to several tenants: it is written as the execution, with its
+ * {@code tenantId} as an additional field.
+ */
+public record TenantExecution(String tenantId, @JsonUnwrapped ApiLightExecution execution) {
+}
@@ -0,0 +1,71 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import io.kestra.plugin.kestra.connection.KestraConnection;
+import io.kestra.plugin.kestra.pagination.Paginator;
+
+/**
+ * Resolves the tenants a task fans out to, e.g. {@code [prod, staging]} or {@code prod-*}.
+ * <p>
+ * Entries with a {@code *} are matched against the tenants listed by the tenants API, which is only called when there
+ * is such an entry; the others are kept as they are. Tenants are returned once each, in the order of the entries.
+ */
+final class Tenants {
+    static final int DEFAULT_CONCURRENCY = 4;
+
+    private static final int PAGE_SIZE = 100;
+
+    private Tenants() {
+    }
+
+    static List<String> resolve(KestraConnection connection, List<String> tenantIds) throws Exception {
+        List<String> all = null;
+        Set<String> resolved = new LinkedHashSet<>();
+        for (String tenantId : tenantIds) {
+            if (!tenantId.contains("*")) {
+                resolved.add(tenantId);
+                continue;
+            }
+
+            if (all == null) {
+                all = list(connection);
+            }
+            Pattern pattern = glob(tenantId);
+            all.stream().filter(id -> pattern.matcher(id).matches()).forEach(resolved::add);
+        }
+
+        if (resolved.isEmpty()) {
+            throw new IllegalArgumentException("No tenant matches " + tenantIds);
+        }
+        return List.copyOf(resolved);
+    }
+
+    private static List<String> list(KestraConnection connection) throws Exception {
+        List<String> ids = new ArrayList<>();
+        Paginator.fetchAll(
+            PAGE_SIZE,
+            1,
+            page -> connection.readPage("tenants.searchTenants", client -> client.tenants().searchTenants(page, PAGE_SIZE, null, null), results -> results.getResults()),
+            results -> results.getResults(),
+            results -> results.getTotal(),
+            tenants -> tenants.forEach(tenant -> ids.add(tenant.getId()))
+        );
+        return ids;
+    }
+
+    private static Pattern glob(String tenantId) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : tenantId.split("\\*", -1)) {
+            if (!regex.isEmpty()) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,140 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * The high-water mark of an incremental {@link Query}, kept in the KV store of the flow namespace between runs.
+ * <p>
+ * The mark is the latest start date seen, along with the state of the executions that started within {@code overlap}
+ * before it. The next run fetches the executions that started from the mark minus {@code overlap} on, and drops the
+ * ones it finds in the same state as before: only new executions and the ones updated since, e.g. that were still
+ * running, are returned. The mark is only moved once a scan has gone through all matching executions.
+ */
+final class Watermark {
+    static final String KEY_PREFIX = "kestra_query_watermark_";
+
+    private final RunContext runContext;
+    private final String namespace;
+    private final String key;
+    private final Duration overlap;
+    private final Instant previous;
+    private final Map<String, String> previousStates;
+
+    private Instant mark;
+    // the executions seen within `overlap` before the mark, the oldest first
+    private final PriorityQueue<Seen> recent = new PriorityQueue<>(Comparator.comparing(Seen::start));
+
+    Watermark(RunContext runContext, String namespace, String key, Duration overlap, Instant previous, Map<String, String> previousStates) {
+        this.runContext = runContext;
+        this.namespace = namespace;
+        this.key = key;
+        this.overlap = overlap;
+        this.previous = previous;
+        this.previousStates = previousStates;
+        this.mark = previous;
+    }
+
+    /**
+     * Reads the mark saved by the previous run, if any.
+     */
+    static Watermark restore(RunContext runContext, IncrementalScan incremental) throws IllegalVariableEvaluationException {
+        String namespace = runContext.flowInfo().namespace();
+        String key = runContext.render(incremental.getKey()).as(String.class)
+            .orElse(KEY_PREFIX + runContext.flowInfo().id() + "_" + taskId(runContext));
+        Duration overlap = runContext.render(incremental.getOverlap()).as(Duration.class).orElse(IncrementalScan.DEFAULT_OVERLAP);
+
+        Instant previous = null;
+        Map<String, String> previousStates = new HashMap<>();
+        try {
+            Optional<KVValue> value = runContext.namespaceKv(namespace).getValue(key);
+            if (value.isPresent() && value.get().value() instanceof Map<?, ?> saved && saved.get("startDate") instanceof String startDate) {
+                previous = Instant.parse(startDate);
+                if (saved.get("states") instanceof Map<?, ?> states) {
+                    states.forEach((id, state) -> previousStates.put(id.toString(), String.valueOf(state)));
+                }
+            }
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to read the watermark '{}', starting over: {}", key, e.getMessage());
+            previous = null;
+            previousStates.clear();
+        }
+
+        return new Watermark(runContext, namespace, key, overlap, previous, previousStates);
+    }
+
+    /**
+     * @return the start date to fetch executions from, or {@code null} on the first run
+     */
+    ZonedDateTime from() {
+        return previous != null ? ZonedDateTime.ofInstant(previous.minus(overlap), ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Moves the mark past the execution.
+     *
+     * @return whether the execution is new or was updated since the previous run
+     */
+    boolean accept(String id, TemporalAccessor startDate, String state) {
+        if (startDate != null) {
+            Instant start = Instant.from(startDate);
+            if (mark == null || start.isAfter(mark)) {
+                mark = start;
+                Instant oldest = mark.minus(overlap);
+                while (!recent.isEmpty() && recent.peek().start().isBefore(oldest)) {
+                    recent.poll();
+                }
+            }
+            if (!start.isBefore(mark.minus(overlap))) {
+                recent.add(new Seen(id, start, state));
+            }
+        }
+
+        return state == null || !state.equals(previousStates.get(id));
+    }
+
+    /**
+     * Saves the mark for the next run, once all matching executions were scanned.
+     */
+    void save() {
+        if (mark == null) {
+            return;
+        }
+
+        Map<String, String> states = new HashMap<>();
+        recent.forEach(seen -> states.put(seen.id(), seen.state()));
+        Map<String, Object> value = new HashMap<>();
+        value.put("startDate", mark.toString());
+        value.put("states", states);
+        try {
+            runContext.namespaceKv(namespace).put(key, new KVValueAndMetadata(new KVMetadata("Query watermark", null), value));
+        } catch (Exception e) {
+            // the next run fetches the same executions again, which is better than failing this one
+            runContext.logger().warn("Unable to save the watermark '{}': {}", key, e.getMessage());
+        }
+    }
+
+    private static String taskId(RunContext runContext) {
+        if (runContext.getVariables().get("task") instanceof Map<?, ?> task && task.get("id") != null) {
+            return task.get("id").toString();
+        }
+        return "";
+    }
+
+    private record Seen(String id, Instant start, String state) {
+    }
+}
@@ -14,7 +14,6 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
 import io.kestra.sdk.model.QueryFilter;
 import io.kestra.sdk.model.QueryFilterField;
 import io.kestra.sdk.model.QueryFilterOp;
@@ -87,19 +86,21 @@ public class Export extends AbstractKestraTask implements RunnableTask<Export.Ou
             });
         }
 
-        KestraClient kestraClient = kestraClient(runContext);
-        byte[] zipBytes = kestraClient.flows().exportFlowsByQuery(
-            tId,
-            filters
-        );
+        try (var connection = kestraConnection(runContext)) {
+            byte[] zipBytes = connection.read("flows.exportFlowsByQuery", client -> client.flows().exportFlowsByQuery(
+                tId,
+                filters
+            ));
 
-        InputStream inputStream = new ByteArrayInputStream(zipBytes);
-        String fileName = "exported_flows.zip";
-        URI storedFileUri = runContext.storage().putFile(inputStream, fileName);
+            connection.getMetrics().stored("flows.exportFlowsByQuery", zipBytes.length);
+            InputStream inputStream = new ByteArrayInputStream(zipBytes);
+            String fileName = "exported_flows.zip";
+            URI storedFileUri = runContext.storage().putFile(inputStream, fileName);
 
-        return Export.Output.builder()
-            .flowsZip(storedFileUri)
-            .build();
+            return Export.Output.builder()
+                .flowsZip(storedFileUri)
+                .build();
+        }
     }
 
     @Builder
@@ -12,7 +12,6 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
 import io.kestra.sdk.model.IdWithNamespace;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -86,16 +85,18 @@ public class ExportById extends AbstractKestraTask implements RunnableTask<Expor
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
         List<IdWithNamespace> ids = runContext.render(flows).asList(IdWithNamespace.class);
 
-        KestraClient kestraClient = kestraClient(runContext);
-        byte[] zipBytes = kestraClient.flows().exportFlowsByIds(tId, ids);
+        try (var connection = kestraConnection(runContext)) {
+            byte[] zipBytes = connection.read("flows.exportFlowsByIds", client -> client.flows().exportFlowsByIds(tId, ids));
 
-        InputStream inputStream = new ByteArrayInputStream(zipBytes);
-        String fileName = "exported_flows.zip";
-        URI storedFileUri = runContext.storage().putFile(inputStream, fileName);
+            connection.getMetrics().stored("flows.exportFlowsByIds", zipBytes.length);
+            InputStream inputStream = new ByteArrayInputStream(zipBytes);
+            String fileName = "exported_flows.zip";
+            URI storedFileUri = runContext.storage().putFile(inputStream, fileName);
 
-        return ExportById.Output.builder()
-            .flowsZip(storedFileUri)
-            .build();
+            return ExportById.Output.builder()
+                .flowsZip(storedFileUri)
+                .build();
+        }
     }
 
     @Builder
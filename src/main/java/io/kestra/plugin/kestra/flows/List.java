@@ -1,5 +1,7 @@
 package io.kestra.plugin.kestra.flows;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
@@ -7,7 +9,8 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
+import io.kestra.plugin.kestra.connection.ApiCache;
+import io.kestra.plugin.kestra.connection.KestraConnection;
 import io.kestra.sdk.model.Flow;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -67,17 +70,30 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     @PluginProperty(group = "source")
     private Property<String> namespace;
 
+    @Schema(
+        title = "Cache responses across runs",
+        description = "Keeps the last response and its `ETag` or `Last-Modified` validator in the memory of the worker, sends conditional requests and reuses the cached response when the server answers `304 Not Modified`. Hits and misses are reported in the `api.cache.hits` and `api.cache.misses` metrics."
+    )
+    @PluginProperty(group = "advanced")
+    private ApiCache apiCache;
+
     @Override
     public List.Output run(RunContext runContext) throws Exception {
         String ns = runContext.render(namespace).as(String.class).orElseGet(() -> runContext.flowInfo().namespace());
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
 
-        KestraClient kestraClient = kestraClient(runContext);
-        java.util.List<Flow> flows = kestraClient.flows().listFlowsByNamespace(ns, tId);
+        try (var connection = kestraConnection(runContext)) {
+            java.util.List<Flow> flows;
+            if (apiCache != null) {
+                flows = connection.getJson("flows.listFlowsByNamespace", "/api/v1/" + KestraConnection.encode(tId) + "/flows/" + KestraConnection.encode(ns), new TypeReference<>() {});
+            } else {
+                flows = connection.readShared("flows.listFlowsByNamespace", new TypeReference<>() {}, client -> client.flows().listFlowsByNamespace(ns, tId), ns, tId);
+            }
 
-        return Output.builder()
-            .flows(flows)
-            .build();
+            return Output.builder()
+                .flows(flows)
+                .build();
+        }
     }
 
     @Builder
@@ -5,6 +5,7 @@ import java.io.FileOutputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.event.Level;
@@ -18,7 +19,8 @@ import io.kestra.core.models.tasks.runners.PluginUtilsService;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
+import io.kestra.plugin.kestra.pagination.Checkpointer;
+import io.kestra.plugin.kestra.pagination.ScanCheckpoint;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -104,40 +106,79 @@ public class Fetch extends AbstractKestraTask implements RunnableTask<Fetch.Outp
     @PluginProperty(group = "advanced")
     private Property<Level> level = Property.ofValue(Level.INFO);
 
+    @Schema(
+        title = "Checkpoint the fetch for retries",
+        description = """
+            When `tasksId` is set, periodically saves which tasks are done and uploads the logs written since the \
+            previous checkpoint, keeping track of them in the namespace KV store. A retry of the same task run then \
+            resumes with the next task and appends to the logs already written. Disabled by default."""
+    )
+    @PluginProperty(group = "advanced")
+    private ScanCheckpoint checkpoint;
+
     @SuppressWarnings("unchecked")
     @Override
     public Output run(RunContext runContext) throws Exception {
-        KestraClient kestraClient = kestraClient(runContext);
-        var executionInfo = PluginUtilsService.executionFromTaskParameters(
-            runContext,
-            runContext.render(this.namespace).as(String.class).orElse(null),
-            runContext.render(this.flowId).as(String.class).orElse(null),
-            runContext.render(this.executionId).as(String.class).orElse(null)
-        );
+        try (var connection = kestraConnection(runContext)) {
+            var executionInfo = PluginUtilsService.executionFromTaskParameters(
+                runContext,
+                runContext.render(this.namespace).as(String.class).orElse(null),
+                runContext.render(this.flowId).as(String.class).orElse(null),
+                runContext.render(this.executionId).as(String.class).orElse(null)
+            );
 
-        String targetTenantId = runContext.render(this.tenantId).as(String.class)
-            .orElse(runContext.flowInfo().tenantId());
+            String targetTenantId = runContext.render(this.tenantId).as(String.class)
+                .orElse(runContext.flowInfo().tenantId());
 
-        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
-        AtomicLong count = new AtomicLong();
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            AtomicLong count = new AtomicLong();
 
-        try (OutputStream output = new FileOutputStream(tempFile)) {
             io.kestra.sdk.model.Level sdkLogLevel = io.kestra.sdk.model.Level.fromValue(
                 runContext.render(this.level).as(Level.class).orElse(Level.INFO).name()
             );
-
             List<String> taskIds = runContext.render(this.tasksId).asList(String.class);
 
-            if (!taskIds.isEmpty()) {
-                for (String taskId : taskIds) {
-                    var logs = kestraClient.logs().listLogsFromExecution(
+            Checkpointer checkpointer = taskIds.isEmpty() ?
+                Checkpointer.DISABLED :
+                Checkpointer.of(runContext, this.checkpoint, String.join("|", targetTenantId, executionInfo.id(), String.valueOf(sdkLogLevel), String.join(",", taskIds)));
+            int firstTask = 0;
+            Optional<Checkpointer.Cursor> cursor = checkpointer.restore(tempFile);
+            if (cursor.isPresent()) {
+                firstTask = Integer.parseInt(cursor.get().position());
+                count.set(cursor.get().rows());
+            }
+
+            try (OutputStream output = new FileOutputStream(tempFile, true)) {
+                if (!taskIds.isEmpty()) {
+                    for (int i = firstTask; i < taskIds.size(); i++) {
+                        String taskId = taskIds.get(i);
+                        var logs = connection.readPage("logs.listLogsFromExecution", client -> client.logs().listLogsFromExecution(
+                            executionInfo.id(),
+                            targetTenantId,
+                            sdkLogLevel,
+                            null,
+                            taskId,
+                            null
+                        ), entries -> entries);
+
+                        if (logs != null) {
+                            logs.forEach(throwConsumer(log ->
+                            {
+                                count.incrementAndGet();
+                                FileSerde.write(output, log);
+                            }));
+                        }
+                        checkpointer.written(tempFile, output, Integer.toString(i + 1), count.get());
+                    }
+                } else {
+                    var logs = connection.readPage("logs.listLogsFromExecution", client -> client.logs().listLogsFromExecution(
                         executionInfo.id(),
                         targetTenantId,
                         sdkLogLevel,
                         null,
-                        taskId,
+                        null,
                         null
-                    );
+                    ), entries -> entries);
 
                     if (logs != null) {
                         logs.forEach(throwConsumer(log ->
@@ -147,30 +188,16 @@ public class Fetch extends AbstractKestraTask implements RunnableTask<Fetch.Outp
                         }));
                     }
                 }
-            } else {
-                var logs = kestraClient.logs().listLogsFromExecution(
-                    executionInfo.id(),
-                    targetTenantId,
-                    sdkLogLevel,
-                    null,
-                    null,
-                    null
-                );
-
-                if (logs != null) {
-                    logs.forEach(throwConsumer(log ->
-                    {
-                        count.incrementAndGet();
-                        FileSerde.write(output, log);
-                    }));
-                }
             }
-        }
+            checkpointer.complete();
+
+            connection.getMetrics().stored("logs.listLogsFromExecution", tempFile.length());
 
-        return Output.builder()
-            .uri(runContext.storage().putFile(tempFile))
-            .size(count.get())
-            .build();
+            return Output.builder()
+                .uri(runContext.storage().putFile(tempFile))
+                .size(count.get())
+                .build();
+        }
     }
 
     @Getter
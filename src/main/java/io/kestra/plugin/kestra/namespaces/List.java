@@ -2,6 +2,8 @@ package io.kestra.plugin.kestra.namespaces;
 
 import java.util.ArrayList;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
@@ -9,7 +11,11 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
+import io.kestra.plugin.kestra.connection.ApiCache;
+import io.kestra.plugin.kestra.connection.DeadlineExceededException;
+import io.kestra.plugin.kestra.connection.KestraConnection;
+import io.kestra.plugin.kestra.pagination.PageSizer;
+import io.kestra.plugin.kestra.pagination.Paginator;
 import io.kestra.sdk.model.PagedResultsNamespace;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -100,55 +106,98 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
     @PluginProperty(group = "advanced")
     private Property<Integer> size = Property.ofValue(10);
 
+    @Builder.Default
+    @Schema(
+        title = "Adapt the page size to the server",
+        description = "When `page` is omitted, ignores `size` and starts with pages of 100 namespaces, doubling the size while pages return quickly and halving it when they get slow, between 25 and 1600. The sizes used are reported in the `api.page.size` metric. Defaults to false."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> autoPageSize = Property.ofValue(false);
+
+    @Builder.Default
+    @Schema(title = "Pages fetched concurrently", description = "When `page` is omitted, the remaining pages are fetched in parallel once the first page has returned the total; results keep the page order. Defaults to 4.")
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageConcurrency = Property.ofValue(Paginator.DEFAULT_CONCURRENCY);
+
+    @Nullable
+    @Schema(title = "Maximum number of namespaces to return", description = "When `page` is omitted, stops fetching pages as soon as this many namespaces are collected; `truncated` tells whether more matched. Defaults to all.")
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxResults;
+
     @Builder.Default
     @Schema(title = "Existing namespaces only", description = "Defaults to false. When true, returns namespaces backed by stored definition, excluding transient ones.")
     @PluginProperty(group = "advanced")
     private Property<Boolean> existingOnly = Property.ofValue(false);
 
+    @Schema(
+        title = "Cache responses across runs",
+        description = "Keeps the last response of each page and its `ETag` or `Last-Modified` validator in the memory of the worker, sends conditional requests and reuses the cached response when the server answers `304 Not Modified`. Hits and misses are reported in the `api.cache.hits` and `api.cache.misses` metrics."
+    )
+    @PluginProperty(group = "advanced")
+    private ApiCache apiCache;
+
     @Override
     public List.Output run(RunContext runContext) throws Exception {
         Integer rPage = runContext.render(this.page).as(Integer.class).orElse(null);
         Integer rSize = runContext.render(this.size).as(Integer.class).orElse(10);
+        Integer rPageConcurrency = runContext.render(this.pageConcurrency).as(Integer.class).orElse(Paginator.DEFAULT_CONCURRENCY);
+        Boolean rAutoPageSize = runContext.render(this.autoPageSize).as(Boolean.class).orElse(false);
+        Integer rMaxResults = runContext.render(this.maxResults).as(Integer.class).orElse(null);
         String ns = runContext.render(prefix).as(String.class).orElse("");
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
         Boolean rExistingOnly = runContext.render(existingOnly).as(Boolean.class).orElse(false);
 
-        KestraClient kestraClient = kestraClient(runContext);
-        java.util.List<String> allNamespaces = new ArrayList<String>();
-
-        // If page is provided, fetch only that specific page
-        if (rPage != null) {
-            PagedResultsNamespace results = kestraClient.namespaces()
-                .searchNamespaces(
-                    tId,
-                    ns,
-                    rPage,
-                    rSize,
-                    null,
-                    rExistingOnly
-                );
-            results.getResults().forEach(namespace -> allNamespaces.add(namespace.getId()));
-        } else {
-            int currentPage = 1;
-            long total;
-            do {
-                PagedResultsNamespace results = kestraClient.namespaces()
-                    .searchNamespaces(
-                        tId,
-                        ns,
-                        currentPage,
-                        rSize,
-                        null,
-                        rExistingOnly
-                    );
+        try (var connection = kestraConnection(runContext)) {
+            java.util.List<String> allNamespaces = new ArrayList<String>();
+            boolean partial = false;
+            boolean truncated = false;
+
+            // If page is provided, fetch only that specific page
+            if (rPage != null) {
+                PagedResultsNamespace results = searchNamespaces(connection, tId, ns, rPage, rSize, rExistingOnly);
                 results.getResults().forEach(namespace -> allNamespaces.add(namespace.getId()));
-                total = results.getTotal();
-            } while ((long) currentPage++ * rSize < total);
+            } else {
+                try {
+                    long total = Paginator.fetchAll(
+                        rAutoPageSize ? PageSizer.adaptive(pageSize -> connection.getMetrics().pageSize("namespaces.searchNamespaces", pageSize)) : PageSizer.fixed(rSize),
+                        rPageConcurrency,
+                        rMaxResults != null ? rMaxResults : Paginator.UNLIMITED,
+                        (requestedPage, pageSize) -> searchNamespaces(connection, tId, ns, requestedPage, pageSize, rExistingOnly),
+                        PagedResultsNamespace::getResults,
+                        PagedResultsNamespace::getTotal,
+                        namespace -> namespace.getId(),
+                        namespaces -> namespaces.forEach(namespace -> allNamespaces.add(namespace.getId()))
+                    );
+                    truncated = rMaxResults != null && total > rMaxResults;
+                } catch (DeadlineExceededException e) {
+                    partial = true;
+                    runContext.logger().warn("Stopping after {} namespaces, results are partial: {}", allNamespaces.size(), e.getMessage());
+                }
+            }
+
+            return List.Output.builder()
+                .namespaces(allNamespaces)
+                .partial(partial)
+                .truncated(truncated)
+                .build();
         }
+    }
 
-        return List.Output.builder()
-            .namespaces(allNamespaces)
-            .build();
+    private PagedResultsNamespace searchNamespaces(KestraConnection connection, String tId, String ns, int page, int size, boolean existingOnly) throws Exception {
+        PagedResultsNamespace results;
+        if (apiCache != null) {
+            String path = "/api/v1/" + KestraConnection.encode(tId) + "/namespaces/search?q=" + KestraConnection.encode(ns) + "&page=" + page + "&size=" + size + "&existing=" + existingOnly;
+            results = connection.getJson("namespaces.searchNamespaces", path, new TypeReference<>() {});
+        } else {
+            results = connection.readShared(
+                "namespaces.searchNamespaces",
+                new TypeReference<>() {},
+                client -> client.namespaces().searchNamespaces(tId, ns, page, size, null, existingOnly),
+                tId, ns, page, size, existingOnly
+            );
+        }
+        connection.getMetrics().page("namespaces.searchNamespaces", results.getResults().size());
+        return results;
     }
 
     @Builder
@@ -158,5 +207,16 @@ public class List extends AbstractKestraTask implements RunnableTask<List.Output
             title = "A list of Kestra namespaces"
         )
         private java.util.List<String> namespaces;
+
+        @Schema(
+            title = "Whether the results are partial",
+            description = "True when `apiTimeout` was reached before all pages were fetched."
+        )
+        private Boolean partial;
+
+        @Schema(
+            title = "Whether more namespaces matched than `maxResults`"
+        )
+        private Boolean truncated;
     }
 }
@@ -1,5 +1,7 @@
 package io.kestra.plugin.kestra.namespaces;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
@@ -7,7 +9,8 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.kestra.AbstractKestraTask;
-import io.kestra.sdk.KestraClient;
+import io.kestra.plugin.kestra.connection.ApiCache;
+import io.kestra.plugin.kestra.connection.KestraConnection;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.annotation.Nullable;
@@ -68,17 +71,31 @@ public class NamespacesWithFlows extends AbstractKestraTask implements RunnableT
     @PluginProperty(group = "source")
     private Property<String> prefix;
 
+    @Schema(
+        title = "Cache responses across runs",
+        description = "Keeps the last response and its `ETag` or `Last-Modified` validator in the memory of the worker, sends conditional requests and reuses the cached response when the server answers `304 Not Modified`. Hits and misses are reported in the `api.cache.hits` and `api.cache.misses` metrics."
+    )
+    @PluginProperty(group = "advanced")
+    private ApiCache apiCache;
+
     @Override
     public NamespacesWithFlows.Output run(RunContext runContext) throws Exception {
         String ns = runContext.render(prefix).as(String.class).orElse("");
         String tId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
 
-        KestraClient kestraClient = kestraClient(runContext);
-        java.util.List<String> results = kestraClient.flows().listDistinctNamespaces(tId, ns);
+        try (var connection = kestraConnection(runContext)) {
+            java.util.List<String> results;
+            if (apiCache != null) {
+                String path = "/api/v1/" + KestraConnection.encode(tId) + "/flows/distinct-namespaces?q=" + KestraConnection.encode(ns);
+                results = connection.getJson("flows.listDistinctNamespaces", path, new TypeReference<>() {});
+            } else {
+                results = connection.readShared("flows.listDistinctNamespaces", new TypeReference<>() {}, client -> client.flows().listDistinctNamespaces(tId, ns), tId, ns);
+            }
 
-        return NamespacesWithFlows.Output.builder()
-            .namespaces(results)
-            .build();
+            return NamespacesWithFlows.Output.builder()
+                .namespaces(results)
+                .build();
+        }
     }
 
     @Builder
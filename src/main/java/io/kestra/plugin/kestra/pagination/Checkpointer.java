@@ -0,0 +1,211 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * Saves the progress of a long scan written to a file, so that a retry of the same task run resumes from the last
+ * checkpoint instead of starting over.
+ * <p>
+ * Once a page or a slice has been written entirely, and at most every {@code interval}, the bytes written since the
+ * previous checkpoint are uploaded to internal storage as a new part, then the cursor of the scan, the number of rows
+ * written and the URIs of all parts are saved in the KV store of the flow namespace. A retry downloads the parts back
+ * into its output file, in order, and appends to it from the cursor on. Keys are derived from the execution, the task
+ * run and the scope of the scan, so a retry only resumes the very same scan.
+ * <p>
+ * The entry is deleted once the scan completes, and otherwise expires with the KV entry TTL. Failing to save a
+ * checkpoint never fails the scan, it only makes a retry start from an older one.
+ */
+public class Checkpointer {
+    public static final Checkpointer DISABLED = new Checkpointer(null, null, null, null, null);
+
+    static final String KEY_PREFIX = "kestra_scan_checkpoint_";
+
+    private final RunContext runContext;
+    private final String namespace;
+    private final String key;
+    private final Duration interval;
+    private final Duration ttl;
+
+    private final List<String> parts = new ArrayList<>();
+    private long savedBytes;
+    private long lastSave = System.nanoTime();
+
+    Checkpointer(RunContext runContext, String namespace, String key, Duration interval, Duration ttl) {
+        this.runContext = runContext;
+        this.namespace = namespace;
+        this.key = key;
+        this.interval = interval;
+        this.ttl = ttl;
+    }
+
+    /**
+     * @param scope identifies the scan within the task run, e.g. its rendered filters
+     */
+    public static Checkpointer of(RunContext runContext, ScanCheckpoint checkpoint, String scope) throws IllegalVariableEvaluationException {
+        if (checkpoint == null) {
+            return DISABLED;
+        }
+
+        return new Checkpointer(
+            runContext,
+            runContext.flowInfo().namespace(),
+            key(variable(runContext, "execution", "id") + "|" + variable(runContext, "taskrun", "id") + "|" + scope),
+            runContext.render(checkpoint.getInterval()).as(Duration.class).orElse(ScanCheckpoint.DEFAULT_INTERVAL),
+            runContext.render(checkpoint.getTtl()).as(Duration.class).orElse(ScanCheckpoint.DEFAULT_TTL)
+        );
+    }
+
+    public boolean isEnabled() {
+        return runContext != null;
+    }
+
+    /**
+     * Copies the parts of the last checkpoint into {@code output}.
+     *
+     * @return the cursor to resume the scan from, or empty when it starts over
+     */
+    public Optional<Cursor> restore(File output) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        Map<?, ?> saved;
+        try {
+            Optional<KVValue> value = runContext.namespaceKv(namespace).getValue(key);
+            if (value.isEmpty() || !(value.get().value() instanceof Map<?, ?> map)) {
+                return Optional.empty();
+            }
+            saved = map;
+        } catch (Exception e) {
+            // an expired, missing or unreadable entry means there is nothing to resume
+            runContext.logger().debug("Unable to read the scan checkpoint: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (!(saved.get("cursor") instanceof String cursor) || !(saved.get("rows") instanceof Number rows) || !(saved.get("parts") instanceof List<?> savedParts)) {
+            return Optional.empty();
+        }
+
+        try (OutputStream out = new FileOutputStream(output)) {
+            for (Object part : savedParts) {
+                try (InputStream in = runContext.storage().getFile(URI.create(part.toString()))) {
+                    in.transferTo(out);
+                }
+            }
+        } catch (IOException e) {
+            runContext.logger().warn("Unable to restore the scan checkpoint, starting over: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        savedParts.forEach(part -> parts.add(part.toString()));
+        savedBytes = output.length();
+        runContext.logger().info("Resuming the scan after {} rows from the last checkpoint", rows.longValue());
+        return Optional.of(new Cursor(cursor, rows.longValue()));
+    }
+
+    /**
+     * Saves a checkpoint if {@code interval} elapsed since the previous one. Every row up to {@code cursor} must have
+     * been written to {@code writer}, which writes to {@code output}.
+     *
+     * @param rows the number of rows written to {@code output}, restored ones included
+     */
+    public void written(File output, Flushable writer, String cursor, long rows) throws IOException {
+        if (!isEnabled() || System.nanoTime() - lastSave < interval.toNanos()) {
+            return;
+        }
+
+        writer.flush();
+        long length = output.length();
+        File part = runContext.workingDir().createTempFile(".part").toFile();
+        try {
+            try (FileChannel in = FileChannel.open(output.toPath(), StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(part.toPath(), StandardOpenOption.WRITE)) {
+                long position = savedBytes;
+                while (position < length) {
+                    position += in.transferTo(position, length - position, out);
+                }
+            }
+
+            List<String> savedParts = new ArrayList<>(parts);
+            savedParts.add(runContext.storage().putFile(part).toString());
+
+            Map<String, Object> value = new HashMap<>();
+            value.put("cursor", cursor);
+            value.put("rows", rows);
+            value.put("parts", savedParts);
+            runContext.namespaceKv(namespace).put(key, new KVValueAndMetadata(new KVMetadata("Scan checkpoint", ttl), value));
+
+            parts.clear();
+            parts.addAll(savedParts);
+            savedBytes = length;
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to save the scan checkpoint: {}", e.getMessage());
+        } finally {
+            Files.deleteIfExists(part.toPath());
+            lastSave = System.nanoTime();
+        }
+    }
+
+    /**
+     * Deletes the checkpoint once the scan has completed.
+     */
+    public void complete() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            runContext.namespaceKv(namespace).delete(key);
+        } catch (Exception e) {
+            runContext.logger().debug("Unable to delete the scan checkpoint: {}", e.getMessage());
+        }
+    }
+
+    private static String variable(RunContext runContext, String group, String name) {
+        if (runContext.getVariables().get(group) instanceof Map<?, ?> map && map.get(name) != null) {
+            return map.get(name).toString();
+        }
+        return "";
+    }
+
+    private static String key(String scope) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(scope.getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param position where the scan resumes, as given to {@link #written}
+     * @param rows the number of rows already in the output file
+     */
+    public record Cursor(String position, long rows) {
+    }
+}
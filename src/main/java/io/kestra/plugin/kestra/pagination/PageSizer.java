@@ -0,0 +1,78 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.time.Duration;
+import java.util.function.IntConsumer;
+
+/**
+ * Chooses the size of each page requested by the {@link Paginator}.
+ * <p>
+ * A fixed sizer always returns the same size. An adaptive sizer starts at {@value #INITIAL_SIZE} rows, doubles the size
+ * while full pages come back well within {@link #TARGET_LATENCY}, and halves it as soon as a page takes longer, within
+ * [{@value #MIN_SIZE}, {@value #MAX_SIZE}]. The SDK does not expose response sizes, so latency is the only signal: it
+ * grows with the payload, and {@value #MAX_SIZE} bounds the rows of a single response.
+ * <p>
+ * Pages are addressed by number, so a page of size {@code s} must start at an offset that is a multiple of {@code s}.
+ * Sizes are therefore {@value #MIN_SIZE} times a power of two, and {@link #next} halves the size until it is aligned
+ * with the offset; a larger size is only used once the scan reaches an offset it divides.
+ */
+public final class PageSizer {
+    public static final int MIN_SIZE = 25;
+    public static final int INITIAL_SIZE = 100;
+    public static final int MAX_SIZE = 1_600;
+
+    static final Duration TARGET_LATENCY = Duration.ofSeconds(1);
+
+    private final boolean adaptive;
+    private final IntConsumer onPage;
+    private int size;
+
+    private PageSizer(boolean adaptive, int size, IntConsumer onPage) {
+        this.adaptive = adaptive;
+        this.size = size;
+        this.onPage = onPage;
+    }
+
+    public static PageSizer fixed(int size) {
+        return new PageSizer(false, size, page -> {});
+    }
+
+    /**
+     * @param onPage receives the size of every page requested, e.g. to report it as a metric
+     */
+    public static PageSizer adaptive(IntConsumer onPage) {
+        return new PageSizer(true, INITIAL_SIZE, onPage);
+    }
+
+    /**
+     * @return the size of the page starting at {@code offset}
+     */
+    public int next(long offset) {
+        int next;
+        synchronized (this) {
+            next = size;
+        }
+        if (adaptive) {
+            while (next > MIN_SIZE && offset % next != 0) {
+                next /= 2;
+            }
+        }
+        onPage.accept(next);
+        return next;
+    }
+
+    /**
+     * Record the latency of a page of {@code size} that returned {@code rows} rows.
+     */
+    public synchronized void record(int size, int rows, Duration latency) {
+        // measures of pages requested with an older size say little about the current one
+        if (!adaptive || size != this.size) {
+            return;
+        }
+
+        if (latency.compareTo(TARGET_LATENCY) > 0) {
+            this.size = Math.max(MIN_SIZE, size / 2);
+        } else if (rows >= size && latency.compareTo(TARGET_LATENCY.dividedBy(4)) < 0) {
+            this.size = Math.min(MAX_SIZE, size * 2);
+        }
+    }
+}
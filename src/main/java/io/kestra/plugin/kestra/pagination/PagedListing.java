@@ -0,0 +1,171 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.kestra.connection.DeadlineExceededException;
+import io.kestra.plugin.kestra.connection.KestraConnection;
+import io.kestra.plugin.kestra.serde.FetchGuard;
+import io.kestra.plugin.kestra.serde.OutputCompression;
+import io.kestra.plugin.kestra.serde.OutputFormat;
+import io.kestra.plugin.kestra.serde.RowWriter;
+import io.kestra.sdk.KestraClient;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Lists the rows of a paginated search for the output of a listing task, the same way for every such task:
+ * <ul>
+ *     <li>either the single {@code page} requested, or every page up to {@code maxResults}, fetched
+ *     {@code concurrency} at a time;</li>
+ *     <li>with {@code fetchType: STORE} and no page, rows are written to internal storage while the next pages are
+ *     fetched, instead of being held in memory;</li>
+ *     <li>with {@code fetchType: FETCH}, once rows exceed the {@link FetchGuard}, they and the next ones are stored
+ *     as with STORE while the next pages are fetched, and only a preview of them is output;</li>
+ *     <li>when the {@code apiTimeout} of the task is reached while paging, the rows fetched so far are output and
+ *     flagged as partial.</li>
+ * </ul>
+ */
+public final class PagedListing<P, T> {
+    private final RunContext runContext;
+    private final KestraConnection connection;
+    private final String operation;
+    private final Class<T> rowType;
+    private final PageCall<P> call;
+    private final Function<P, ? extends List<T>> rows;
+    private final Function<P, Long> total;
+    private final Function<T, String> id;
+
+    /**
+     * @param operation the name of the search in logs and metrics, like {@code groups.searchGroups}
+     * @param id extracts the ID of a row to drop the rows returned twice while paging, or {@code null} to keep them all
+     */
+    public PagedListing(
+        RunContext runContext,
+        KestraConnection connection,
+        String operation,
+        Class<T> rowType,
+        PageCall<P> call,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        Function<T, String> id
+    ) {
+        this.runContext = runContext;
+        this.connection = connection;
+        this.operation = operation;
+        this.rowType = rowType;
+        this.call = call;
+        this.rows = rows;
+        this.total = total;
+        this.id = id;
+    }
+
+    @FunctionalInterface
+    public interface PageCall<P> {
+        P call(KestraClient client, int page, int size) throws Exception;
+    }
+
+    /**
+     * What to output: {@code rows} with FETCH and FETCH_ONE, {@code uri} with STORE or when FETCH exceeded its guard,
+     * and {@code size} unless the fetch type is NONE.
+     */
+    public record Result<T>(List<T> rows, URI uri, Long size, boolean partial, boolean truncated) {
+    }
+
+    /**
+     * @param page the single page to fetch, or {@code null} for every page
+     * @param maxResults the maximum number of rows when fetching every page, or {@code null} for all
+     * @param guard the limits of a FETCH output, or {@code null}
+     */
+    public Result<T> list(
+        Integer page,
+        int size,
+        int concurrency,
+        Integer maxResults,
+        FetchType fetchType,
+        OutputFormat format,
+        OutputCompression compression,
+        FetchGuard guard
+    ) throws Exception {
+        long limit = maxResults != null ? maxResults : Paginator.UNLIMITED;
+
+        if (page == null && fetchType == FetchType.STORE) {
+            // pages are written while the next ones are fetched, instead of holding every row in memory
+            AtomicLong found = new AtomicLong();
+            AtomicBoolean partial = new AtomicBoolean();
+            Flux<T> stream = Paginator.stream(PageSizer.fixed(size), concurrency, Paginator.DEFAULT_PREFETCH, limit, this::fetch, rows, total, id, found::set)
+                .onErrorResume(DeadlineExceededException.class, e ->
+                {
+                    partial.set(true);
+                    runContext.logger().warn("Stopping before all pages were fetched, results are partial: {}", e.getMessage());
+                    return Flux.empty();
+                });
+
+            File tempFile = runContext.workingDir().createTempFile(RowWriter.extension(format, compression)).toFile();
+            Long count;
+            try (RowWriter writer = RowWriter.of(tempFile, format, compression, rowType, null)) {
+                count = writer.writeAll(stream).block();
+            }
+            connection.getMetrics().stored(operation, tempFile.length());
+            return new Result<>(null, runContext.storage().putFile(tempFile), count, partial.get(), maxResults != null && found.get() > maxResults);
+        }
+
+        // with FETCH, rows exceeding the guard are written to a file while the next pages are fetched
+        File spill = fetchType == FetchType.FETCH && guard != null ? runContext.workingDir().createTempFile(RowWriter.extension(format, compression)).toFile() : null;
+        FetchGuard.Rows<T> fetched = FetchGuard.collect(spill != null ? guard : null, spill, format, compression, rowType, null);
+        boolean partial = false;
+        boolean truncated = false;
+        try (fetched) {
+            if (page != null) {
+                fetched.addAll(rows.apply(fetch(page, size)));
+            } else {
+                try {
+                    long found = Paginator.fetchAll(PageSizer.fixed(size), concurrency, limit, this::fetch, rows, total, id, fetched::addAll);
+                    truncated = maxResults != null && found > maxResults;
+                } catch (DeadlineExceededException e) {
+                    partial = true;
+                    runContext.logger().warn("Stopping after {} rows, results are partial: {}", fetched.count(), e.getMessage());
+                }
+            }
+        }
+
+        return switch (fetchType) {
+            case FETCH_ONE -> new Result<>(List.of(fetched.rows().getFirst()), null, 1L, partial, truncated);
+            case STORE -> new Result<>(null, store(fetched.rows(), format, compression), fetched.count(), partial, truncated);
+            case FETCH -> {
+                if (fetched.exceeded()) {
+                    runContext.logger().warn("{} rows exceed `maxFetchRows` or `maxFetchBytes`, storing them instead and only outputting the first {}", fetched.count(), FetchGuard.PREVIEW_ROWS);
+                    connection.getMetrics().stored(operation, spill.length());
+                    yield new Result<>(fetched.rows(), runContext.storage().putFile(spill), fetched.count(), partial, truncated);
+                }
+                yield new Result<>(fetched.rows(), null, fetched.count(), partial, truncated);
+            }
+            case NONE -> {
+                runContext.logger().info("fetchType is NONE, no output returned");
+                yield new Result<>(null, null, null, partial, truncated);
+            }
+        };
+    }
+
+    private P fetch(int page, int size) throws Exception {
+        return connection.readPage(operation, client -> call.call(client, page, size), rows);
+    }
+
+    private URI store(List<T> fetched, OutputFormat format, OutputCompression compression) throws IOException {
+        File tempFile = runContext.workingDir().createTempFile(RowWriter.extension(format, compression)).toFile();
+        try (RowWriter writer = RowWriter.of(tempFile, format, compression, rowType, null)) {
+            for (T row : fetched) {
+                writer.write(row);
+            }
+        }
+        connection.getMetrics().stored(operation, tempFile.length());
+        return runContext.storage().putFile(tempFile);
+    }
+}
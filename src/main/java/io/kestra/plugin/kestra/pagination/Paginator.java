@@ -0,0 +1,477 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Fetches every page of a paginated Kestra API search. The first page is fetched alone to learn the total; the
+ * remaining page numbers are then known and fetched concurrently, at most {@code concurrency} at a time, while their
+ * rows are handed to the consumer strictly in page order.
+ * <p>
+ * Pages are requested in a sliding window: page {@code n + concurrency} is only requested once page {@code n} has
+ * been consumed, so at most {@code concurrency} pages are held in memory. When a page fails, the pages still in flight
+ * are cancelled and the failure is rethrown; the consumer has then received every page before the failing one.
+ * <p>
+ * The size of each page is chosen by a {@link PageSizer} when the page is requested, so an adaptive sizer can tune it
+ * from the latency of the pages already fetched.
+ * <p>
+ * The searched data can change during the scan, so the end of the scan is not fixed by the first page: it follows the
+ * total reported by the latest page, and a short or empty page ends it. When rows are inserted before the current
+ * offset, the next rows move forward and some are returned twice; when rows are removed, they move back and some would
+ * be skipped. Given an ID extractor, the paginator keeps the IDs of the last {@value #REMEMBERED_PAGES} pages to drop
+ * the rows returned twice, and when a page reports a total smaller by {@code n} than the previous page, it fetches the
+ * last {@code n} rows before that page again to pick up the rows that moved back. Only the remembered pages are
+ * fetched again, never the whole scan: the rows that moved back further than them are skipped, with a warning, rather
+ * than returning again rows whose IDs are forgotten.
+ */
+@Slf4j
+public final class Paginator {
+    public static final int DEFAULT_CONCURRENCY = 4;
+    public static final int DEFAULT_PREFETCH = 2;
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    // pages whose IDs are kept to drop rows returned again after a drift
+    static final int REMEMBERED_PAGES = 8;
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    // runs blocking API calls, e.g. pages fetched in parallel, on virtual threads
+    public static final Scheduler SCHEDULER = Schedulers.fromExecutorService(EXECUTOR);
+
+    private Paginator() {
+    }
+
+    @FunctionalInterface
+    public interface PageFetcher<P> {
+        P fetch(int page) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface SizedPageFetcher<P> {
+        P fetch(int page, int size) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface PageConsumer<T> {
+        void accept(List<T> rows) throws Exception;
+    }
+
+    /**
+     * @param rows extracts the rows of a page, e.g. {@code PagedResultsApiGroupSummary::getResults}
+     * @param total extracts the total number of rows matching the search, e.g. {@code PagedResultsApiGroupSummary::getTotal}
+     * @return the total reported by the last page
+     */
+    public static <P, T> long fetchAll(
+        int size,
+        int concurrency,
+        PageFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        PageConsumer<T> consumer
+    ) throws Exception {
+        return fetchAll(PageSizer.fixed(size), concurrency, UNLIMITED, (page, pageSize) -> fetcher.fetch(page), rows, total, consumer);
+    }
+
+    /**
+     * Like {@link #fetchAll(int, int, PageFetcher, Function, Function, PageConsumer)}, with the size of each page chosen
+     * by {@code sizer} when it is requested, and stopping once {@code maxResults} rows have been consumed: no page
+     * beyond them is requested and the last page is trimmed.
+     *
+     * @param maxResults the maximum number of rows to consume, or {@link #UNLIMITED}
+     */
+    public static <P, T> long fetchAll(
+        PageSizer sizer,
+        int concurrency,
+        long maxResults,
+        SizedPageFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        PageConsumer<T> consumer
+    ) throws Exception {
+        return fetchAll(sizer, concurrency, maxResults, fetcher, rows, total, null, consumer);
+    }
+
+    /**
+     * Like {@link #fetchAll(PageSizer, int, long, SizedPageFetcher, Function, Function, PageConsumer)}, with the rows
+     * de-duplicated by {@code id} and the rows missed because of a drift of the total fetched again, see
+     * {@link Paginator}.
+     *
+     * @param id extracts the ID of a row, or {@code null} to keep every row returned
+     */
+    public static <P, T> long fetchAll(
+        PageSizer sizer,
+        int concurrency,
+        long maxResults,
+        SizedPageFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        Function<T, String> id,
+        PageConsumer<T> consumer
+    ) throws Exception {
+        checkMaxResults(maxResults);
+
+        Scan<P, T> scan = new Scan<>(sizer, 0, maxResults, fetcher, rows, total, id, reportedTotal -> {});
+        Request firstRequest = Request.first(sizer, maxResults);
+        consumer.accept(scan.accept(scan.observe(scan.fetch(firstRequest))));
+        if (firstRequest.size() <= 0) {
+            return scan.total();
+        }
+
+        int window = Math.max(1, concurrency);
+        Deque<Future<Fetched<P>>> inFlight = new ArrayDeque<>(window);
+        long offset = firstRequest.size();
+        try {
+            // the end is read again after every page, as it follows the total reported by the latest one
+            while (offset < scan.end() || !inFlight.isEmpty()) {
+                while (offset < scan.end() && inFlight.size() < window) {
+                    Request request = Request.at(sizer, offset);
+                    offset += request.size();
+                    inFlight.add(EXECUTOR.submit(() -> scan.fetch(request)));
+                }
+                consumer.accept(scan.accept(scan.observe(await(inFlight.poll()))));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        return scan.total();
+    }
+
+    /**
+     * Reactive variant of {@link #fetchAll} emitting rows one by one, for consumers that write them out as they arrive.
+     * <p>
+     * Nothing is requested before subscription. Fetching and consuming form a pipeline: up to {@code concurrency} pages
+     * are in flight while up to {@link #DEFAULT_PREFETCH} fetched pages wait in a bounded queue for the consumer, which
+     * runs on its own thread. Memory therefore stays around {@code concurrency + prefetch} pages whatever the number of
+     * results. On failure, the rows emitted so far are a prefix of the results in page order.
+     *
+     * @param onTotal receives the total reported by the first page, then every new total reported during the scan
+     */
+    public static <P, T> Flux<T> stream(
+        int size,
+        int concurrency,
+        PageFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        LongConsumer onTotal
+    ) {
+        return stream(PageSizer.fixed(size), concurrency, DEFAULT_PREFETCH, UNLIMITED, (page, pageSize) -> fetcher.fetch(page), rows, total, onTotal);
+    }
+
+    /**
+     * Like {@link #stream(int, int, PageFetcher, Function, Function, LongConsumer)}, with the size of each page chosen
+     * by {@code sizer} when it is requested, and completing once {@code maxResults} rows have been emitted: no page
+     * beyond them is requested.
+     *
+     * @param prefetch the number of fetched pages queued while the consumer processes the current one
+     * @param maxResults the maximum number of rows to emit, or {@link #UNLIMITED}
+     */
+    public static <P, T> Flux<T> stream(
+        PageSizer sizer,
+        int concurrency,
+        int prefetch,
+        long maxResults,
+        SizedPageFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        LongConsumer onTotal
+    ) {
+        return stream(sizer, concurrency, prefetch, maxResults, fetcher, rows, total, null, onTotal);
+    }
+
+    /**
+     * Like {@link #stream(PageSizer, int, int, long, SizedPageFetcher, Function, Function, LongConsumer)}, with the
+     * rows de-duplicated by {@code id} and the rows missed because of a drift of the total fetched again, see
+     * {@link Paginator}.
+     *
+     * @param id extracts the ID of a row, or {@code null} to keep every row returned
+     */
+    public static <P, T> Flux<T> stream(
+        PageSizer sizer,
+        int concurrency,
+        int prefetch,
+        long maxResults,
+        SizedPageFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        Function<T, String> id,
+        LongConsumer onTotal
+    ) {
+        return pages(sizer, concurrency, prefetch, 0, maxResults, fetcher, rows, total, id, onTotal)
+            .concatMapIterable(Chunk::rows, 1);
+    }
+
+    /**
+     * Like {@link #stream(PageSizer, int, int, long, SizedPageFetcher, Function, Function, Function, LongConsumer)},
+     * emitting the rows page by page together with the offset the scan resumes from once they are consumed, and
+     * starting at {@code from}, an offset emitted by an earlier scan of the same search, e.g. to resume it after a
+     * failure.
+     *
+     * @param maxResults the maximum number of rows to emit from {@code from}, or {@link #UNLIMITED}
+     */
+    public static <P, T> Flux<Chunk<T>> pages(
+        PageSizer sizer,
+        int concurrency,
+        int prefetch,
+        long from,
+        long maxResults,
+        SizedPageFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        Function<T, String> id,
+        LongConsumer onTotal
+    ) {
+        checkMaxResults(maxResults);
+
+        return Flux.defer(() ->
+        {
+            Scan<P, T> scan = new Scan<>(sizer, from, maxResults, fetcher, rows, total, id, onTotal);
+            Request firstRequest = from == 0 ? Request.first(sizer, maxResults) : Request.at(sizer, from);
+
+            return Mono.fromCallable(() -> scan.observe(scan.fetch(firstRequest)))
+                .subscribeOn(SCHEDULER)
+                .flatMapMany(first -> firstRequest.size() <= 0 ?
+                    Flux.just(first) :
+                    Flux.concat(Flux.just(first), remaining(scan, firstRequest.offset() + firstRequest.size(), Math.max(1, concurrency)))
+                )
+                // hand pages over to another thread through a bounded queue, so that the next pages are fetched while
+                // the consumer processes the current one instead of alternating between network and consumer
+                .publishOn(SCHEDULER, Math.max(1, prefetch))
+                .<Chunk<T>>handle((fetched, sink) ->
+                {
+                    try {
+                        sink.next(new Chunk<>(scan.accept(fetched), fetched.request().offset() + fetched.request().size()));
+                    } catch (Exception e) {
+                        sink.error(e);
+                    }
+                });
+        });
+    }
+
+    /**
+     * Pages from {@code from} to the end of the scan, observed in page order. Once they are all planned, a total that
+     * grew in the meantime moved the end further, and the pages up to the new end are planned in turn.
+     */
+    private static <P, T> Flux<Fetched<P>> remaining(Scan<P, T> scan, long from, int concurrency) {
+        AtomicLong planned = new AtomicLong(from);
+
+        return Flux.<Request>generate(sink ->
+            {
+                long offset = planned.get();
+                if (offset >= scan.end()) {
+                    sink.complete();
+                    return;
+                }
+                // the size is chosen when the page is requested, from the latencies measured so far
+                Request request = Request.at(scan.sizer, offset);
+                planned.set(offset + request.size());
+                sink.next(request);
+            })
+            .flatMapSequential(request -> Mono.fromCallable(() -> scan.fetch(request)).subscribeOn(SCHEDULER), concurrency, 1)
+            .map(scan::observe)
+            .concatWith(Flux.defer(() -> planned.get() < scan.end() ? remaining(scan, planned.get(), concurrency) : Flux.empty()));
+    }
+
+    private static void checkMaxResults(long maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("`maxResults` must be at least 1, got " + maxResults);
+        }
+    }
+
+    private static <P> P await(Future<P> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Request(int page, int size, long offset) {
+        // page 1 starts at offset 0, so it can be shrunk to fit maxResults whatever the size of the next pages
+        static Request first(PageSizer sizer, long maxResults) {
+            return new Request(1, (int) Math.min(sizer.next(0), maxResults), 0);
+        }
+
+        static Request at(PageSizer sizer, long offset) {
+            int size = sizer.next(offset);
+            return new Request((int) (offset / size) + 1, size, offset);
+        }
+    }
+
+    /**
+     * The rows of one page, and the offset to pass to {@link #pages} to resume the scan once they are consumed.
+     */
+    public record Chunk<T>(List<T> rows, long next) {
+    }
+
+    /**
+     * @param removed how many rows fewer than the previous page this page reported in its total
+     */
+    private record Fetched<P>(Request request, P page, long removed) {
+    }
+
+    /**
+     * The state of one scan. Pages are observed in page order as soon as they are fetched, which moves the end of the
+     * scan; they are then accepted in the same order by the consumer, which de-duplicates their rows, fetches again the
+     * rows missed because of a drift, and trims the rows beyond {@code maxResults}.
+     */
+    private static final class Scan<P, T> {
+        private final PageSizer sizer;
+        private final long maxResults;
+        private final long last;
+        private final SizedPageFetcher<P> fetcher;
+        private final Function<P, ? extends List<T>> rows;
+        private final Function<P, Long> total;
+        private final Function<T, String> id;
+        private final LongConsumer onTotal;
+
+        private final AtomicLong end = new AtomicLong(Long.MAX_VALUE);
+        private long reportedTotal = -1;
+        private long available = Long.MAX_VALUE;
+
+        private final Deque<Set<String>> seen = new ArrayDeque<>(REMEMBERED_PAGES + 1);
+        private long emitted;
+
+        private Scan(
+            PageSizer sizer,
+            long from,
+            long maxResults,
+            SizedPageFetcher<P> fetcher,
+            Function<P, ? extends List<T>> rows,
+            Function<P, Long> total,
+            Function<T, String> id,
+            LongConsumer onTotal
+        ) {
+            this.sizer = sizer;
+            this.maxResults = maxResults;
+            this.last = maxResults > Long.MAX_VALUE - from ? Long.MAX_VALUE : from + maxResults;
+            this.fetcher = fetcher;
+            this.rows = rows;
+            this.total = total;
+            this.id = id;
+            this.onTotal = onTotal;
+        }
+
+        private long end() {
+            return end.get();
+        }
+
+        private synchronized long total() {
+            return Math.max(0, reportedTotal);
+        }
+
+        private Fetched<P> fetch(Request request) throws Exception {
+            long start = System.nanoTime();
+            P page = fetcher.fetch(request.page(), request.size());
+            sizer.record(request.size(), rowsOf(page).size(), Duration.ofNanos(System.nanoTime() - start));
+            return new Fetched<>(request, page, 0);
+        }
+
+        private synchronized Fetched<P> observe(Fetched<P> fetched) {
+            Long pageTotal = fetched.page() != null ? total.apply(fetched.page()) : null;
+            long rTotal = pageTotal != null ? pageTotal : 0L;
+            long removed = reportedTotal >= 0 ? Math.max(0, reportedTotal - rTotal) : 0;
+            if (rTotal != reportedTotal) {
+                reportedTotal = rTotal;
+                onTotal.accept(rTotal);
+            }
+
+            int pageRows = rowsOf(fetched.page()).size();
+            if (pageRows < fetched.request().size()) {
+                // a short or empty page is the last one, whatever the total says
+                available = Math.min(available, fetched.request().offset() + pageRows);
+            }
+            end.set(Math.min(Math.min(reportedTotal, available), last));
+
+            return new Fetched<>(fetched.request(), fetched.page(), removed);
+        }
+
+        private List<T> accept(Fetched<P> fetched) throws Exception {
+            Set<String> pageIds = new HashSet<>();
+            List<T> kept = keep(rowsOf(fetched.page()), pageIds);
+
+            Request request = fetched.request();
+            if (id != null && fetched.removed() > 0 && request.offset() > 0) {
+                // rows removed before this page moved the next ones back: up to `removed` rows crossed its start
+                // unseen, they are now at the end of the previous pages; only those whose IDs are remembered are
+                // fetched again, or the rows emitted before them would be emitted twice
+                long window = (long) REMEMBERED_PAGES * request.size();
+                if (fetched.removed() > window) {
+                    log.warn(
+                        "{} rows were removed before offset {} during the scan, more than the {} rows fetched again: rows that moved back further are skipped",
+                        fetched.removed(), request.offset(), window
+                    );
+                }
+                long from = Math.max(0, request.offset() - Math.min(fetched.removed(), window));
+                for (long offset = from - from % request.size(); offset < request.offset(); offset += request.size()) {
+                    // the total reported by the pages fetched again moves the end of the scan like any other page
+                    Fetched<P> again = observe(fetch(new Request((int) (offset / request.size()) + 1, request.size(), offset)));
+                    kept.addAll(keep(rowsOf(again.page()), pageIds));
+                }
+            }
+
+            if (id != null) {
+                seen.addLast(pageIds);
+                if (seen.size() > REMEMBERED_PAGES) {
+                    seen.removeFirst();
+                }
+            }
+
+            long remaining = maxResults - emitted;
+            if (kept.size() > remaining) {
+                kept = kept.subList(0, (int) remaining);
+            }
+            emitted += kept.size();
+            return kept;
+        }
+
+        private List<T> keep(List<T> pageRows, Set<String> pageIds) {
+            if (id == null) {
+                return new ArrayList<>(pageRows);
+            }
+
+            List<T> kept = new ArrayList<>(pageRows.size());
+            for (T row : pageRows) {
+                String rowId = id.apply(row);
+                if (pageIds.add(rowId) && !seenBefore(rowId)) {
+                    kept.add(row);
+                }
+            }
+            return kept;
+        }
+
+        private boolean seenBefore(String rowId) {
+            for (Set<String> ids : seen) {
+                if (ids.contains(rowId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<T> rowsOf(P page) {
+            List<T> pageRows = page != null ? rows.apply(page) : null;
+            return pageRows != null ? pageRows : List.of();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.time.Duration;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the checkpoints of a long scan, see {@link Checkpointer}.
+ */
+@Builder
+@Getter
+public class ScanCheckpoint {
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_TTL = Duration.ofDays(1);
+
+    @Schema(title = "Minimum time between two checkpoints", description = "Each checkpoint uploads the results written since the previous one. Defaults to 1 minute.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> interval = Property.ofValue(DEFAULT_INTERVAL);
+
+    @Schema(title = "Time to keep a checkpoint", description = "A retry started later starts the scan over. Defaults to 1 day.")
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> ttl = Property.ofValue(DEFAULT_TTL);
+}
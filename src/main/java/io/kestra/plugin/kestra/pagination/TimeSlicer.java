@@ -0,0 +1,217 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Scans a time window by splitting it into slices small enough to be fetched in a few pages, instead of paging with
+ * ever deeper offsets through the whole window.
+ * <p>
+ * Slice bounds are inclusive. Each slice is probed with its first page: when the total does not fit in
+ * {@code slicePages} pages the slice is shrunk proportionally and probed again, otherwise its remaining pages are
+ * fetched. The next slice length is then scaled from the density just observed, so slices follow the load of the
+ * window. As both bounds are inclusive, rows sitting exactly on a boundary are returned by two adjacent slices and are
+ * dropped from the second one by ID; only the IDs of the previous slice are kept for that.
+ * <p>
+ * The window can be split into {@code concurrency} parts scanned in parallel; rows are still emitted in time order.
+ * A past slice is not affected by rows inserted at the head of a live table, so the scan neither skips nor repeats rows
+ * the way deep offsets do.
+ */
+public final class TimeSlicer {
+    public static final int DEFAULT_SLICE_PAGES = 4;
+    // below this, slices of a few pages hold so few rows that scanning a window takes a request per handful of rows
+    public static final int MIN_PAGE_SIZE = PageSizer.INITIAL_SIZE;
+
+    static final Duration MIN_SLICE = Duration.ofSeconds(1);
+
+    private TimeSlicer() {
+    }
+
+    @FunctionalInterface
+    public interface SliceFetcher<P> {
+        P fetch(ZonedDateTime from, ZonedDateTime to, int page) throws Exception;
+    }
+
+    /**
+     * The rows of one slice, in time order, and the end of that slice: every row up to {@code to} has been emitted
+     * once they are consumed.
+     */
+    public record Slice<T>(List<T> rows, ZonedDateTime to) {
+    }
+
+    /**
+     * @param id extracts the ID used to drop rows returned by two adjacent slices
+     */
+    public static <P, T> Flux<T> stream(
+        ZonedDateTime from,
+        ZonedDateTime to,
+        int size,
+        int slicePages,
+        int concurrency,
+        SliceFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        Function<T, String> id
+    ) {
+        return slices(from, to, size, slicePages, concurrency, fetcher, rows, total, id)
+            .concatMapIterable(Slice::rows, 1);
+    }
+
+    /**
+     * Like {@link #stream}, emitting the rows slice by slice.
+     */
+    public static <P, T> Flux<Slice<T>> slices(
+        ZonedDateTime from,
+        ZonedDateTime to,
+        int size,
+        int slicePages,
+        int concurrency,
+        SliceFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total,
+        Function<T, String> id
+    ) {
+        Duration window = Duration.between(from, to);
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("The scanned window ends before it starts: " + from + " > " + to);
+        }
+
+        int parts = Math.max(1, concurrency);
+        if (window.compareTo(MIN_SLICE.multipliedBy(parts)) < 0) {
+            parts = 1;
+        }
+        Duration partLength = window.dividedBy(parts);
+        int rParts = parts;
+
+        Flux<Slice<T>> slices = Flux.range(0, parts)
+            .flatMapSequential(
+                part ->
+                {
+                    ZonedDateTime partFrom = from.plus(partLength.multipliedBy(part));
+                    ZonedDateTime partTo = part == rParts - 1 ? to : partFrom.plus(partLength);
+                    return part(partFrom, partTo, size, Math.max(1, slicePages), fetcher, rows, total).subscribeOn(Paginator.SCHEDULER);
+                },
+                parts,
+                1
+            );
+
+        return Flux.defer(() ->
+        {
+            Deduplicator<T> deduplicator = new Deduplicator<>(id);
+            return slices.map(slice -> new Slice<>(deduplicator.apply(slice.rows()), slice.to()));
+        });
+    }
+
+    private static <P, T> Flux<Slice<T>> part(
+        ZonedDateTime from,
+        ZonedDateTime to,
+        int size,
+        int slicePages,
+        SliceFetcher<P> fetcher,
+        Function<P, ? extends List<T>> rows,
+        Function<P, Long> total
+    ) {
+        long target = (long) slicePages * size;
+
+        return Flux.generate(
+            () -> new Cursor(from, Duration.between(from, to)),
+            (cursor, sink) ->
+            {
+                if (cursor.done) {
+                    sink.complete();
+                    return cursor;
+                }
+
+                try {
+                    while (true) {
+                        ZonedDateTime sliceTo = cursor.from.plus(cursor.length);
+                        if (!sliceTo.isBefore(to)) {
+                            sliceTo = to;
+                        }
+                        Duration sliceLength = Duration.between(cursor.from, sliceTo);
+
+                        P first = fetcher.fetch(cursor.from, sliceTo, 1);
+                        Long firstTotal = total.apply(first);
+                        long sliceTotal = firstTotal != null ? firstTotal : 0L;
+
+                        if (sliceTotal > target && sliceLength.compareTo(MIN_SLICE.multipliedBy(2)) >= 0) {
+                            cursor.length = max(MIN_SLICE, min(sliceLength.dividedBy(2), scale(sliceLength, target, sliceTotal)));
+                            continue;
+                        }
+
+                        List<T> sliceRows = new ArrayList<>(rows.apply(first));
+                        long pages = size > 0 ? (sliceTotal + size - 1) / size : 1;
+                        for (int page = 2; page <= pages; page++) {
+                            sliceRows.addAll(rows.apply(fetcher.fetch(cursor.from, sliceTo, page)));
+                        }
+
+                        // aim at 3/4 of the target, so that a slightly denser next slice still fits
+                        cursor.length = max(MIN_SLICE, min(sliceLength.multipliedBy(2), scale(sliceLength, target * 3 / 4, sliceTotal)));
+                        cursor.from = sliceTo;
+                        cursor.done = !sliceTo.isBefore(to);
+                        sink.next(new Slice<>(sliceRows, sliceTo));
+                        return cursor;
+                    }
+                } catch (Exception e) {
+                    sink.error(e);
+                    return cursor;
+                }
+            }
+        );
+    }
+
+    private static Duration scale(Duration length, long target, long actual) {
+        if (actual <= 0) {
+            return length.multipliedBy(2);
+        }
+        return Duration.ofMillis(Math.max(1, (long) (length.toMillis() * ((double) target / actual))));
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static Duration max(Duration first, Duration second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+
+    private static final class Cursor {
+        private ZonedDateTime from;
+        private Duration length;
+        private boolean done;
+
+        private Cursor(ZonedDateTime from, Duration length) {
+            this.from = from;
+            this.length = length;
+        }
+    }
+
+    private static final class Deduplicator<T> {
+        private final Function<T, String> id;
+        private Set<String> previous = Set.of();
+
+        private Deduplicator(Function<T, String> id) {
+            this.id = id;
+        }
+
+        private List<T> apply(List<T> slice) {
+            Set<String> current = new HashSet<>(slice.size() * 2);
+            List<T> kept = new ArrayList<>(slice.size());
+            for (T row : slice) {
+                String rowId = id.apply(row);
+                if (current.add(rowId) && !previous.contains(rowId)) {
+                    kept.add(row);
+                }
+            }
+            previous = current;
+            return kept;
+        }
+    }
+}
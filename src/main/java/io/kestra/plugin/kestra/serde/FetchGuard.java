@@ -0,0 +1,176 @@
+package io.kestra.plugin.kestra.serde;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Tells whether rows are too many, or too large once serialized, to be returned in a task output with
+ * {@code fetchType: FETCH}; the task then stores them like with STORE, and only outputs a preview of the first
+ * {@link #PREVIEW_ROWS}.
+ * <p>
+ * The limits are checked while the rows arrive, through {@link #collect}: once one is crossed, the rows held so far
+ * and all the next ones are written to a file instead of memory. Rows are counted first, which is free; their size is
+ * only measured when {@code maxBytes} is set, by serializing them to JSON into a counter, and only until the limit is
+ * crossed.
+ */
+public final class FetchGuard {
+    public static final int PREVIEW_ROWS = 10;
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private final Integer maxRows;
+    private final Long maxBytes;
+
+    private FetchGuard(Integer maxRows, Long maxBytes) {
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the guard on these limits, or {@code null} when there are none
+     */
+    public static FetchGuard of(Integer maxRows, Long maxBytes) {
+        if (maxRows == null && maxBytes == null) {
+            return null;
+        }
+        return new FetchGuard(maxRows, maxBytes);
+    }
+
+    /**
+     * Collects rows in memory until {@code guard} is exceeded, then writes them to {@code spill} like
+     * {@link RowWriter#of} would.
+     *
+     * @param guard the limits, or {@code null} to keep every row in memory
+     * @param projection the fields output, also those measured, or {@code null} for all of them
+     */
+    public static <T> Rows<T> collect(FetchGuard guard, File spill, OutputFormat format, OutputCompression compression, Class<?> rowType, FieldProjection projection) {
+        return new Rows<>(guard, spill, format, compression, rowType, projection);
+    }
+
+    public static final class Rows<T> implements Closeable {
+        private final FetchGuard guard;
+        private final File spill;
+        private final OutputFormat format;
+        private final OutputCompression compression;
+        private final Class<?> rowType;
+        private final FieldProjection projection;
+        private final List<T> rows = new ArrayList<>();
+
+        private long count;
+        private Counter counter;
+        private JsonGenerator generator;
+        private RowWriter writer;
+
+        private Rows(FetchGuard guard, File spill, OutputFormat format, OutputCompression compression, Class<?> rowType, FieldProjection projection) {
+            this.guard = guard;
+            this.spill = spill;
+            this.format = format;
+            this.compression = compression;
+            this.rowType = rowType;
+            this.projection = projection;
+        }
+
+        public void add(T row) throws IOException {
+            count++;
+            if (writer != null) {
+                writer.write(row);
+                return;
+            }
+
+            rows.add(row);
+            if (exceeded(row)) {
+                writer = RowWriter.of(spill, format, compression, rowType, projection);
+                for (T held : rows) {
+                    writer.write(held);
+                }
+                rows.subList(Math.min(PREVIEW_ROWS, rows.size()), rows.size()).clear();
+            }
+        }
+
+        public void addAll(List<T> page) throws IOException {
+            for (T row : page) {
+                add(row);
+            }
+        }
+
+        /**
+         * @return whether the limits were exceeded, and the rows written to the spill file
+         */
+        public boolean exceeded() {
+            return writer != null;
+        }
+
+        /**
+         * @return every row, or only the first {@link #PREVIEW_ROWS} once the limits were exceeded
+         */
+        public List<T> rows() {
+            return rows;
+        }
+
+        /**
+         * @return the number of rows added
+         */
+        public long count() {
+            return count;
+        }
+
+        private boolean exceeded(T row) throws IOException {
+            if (guard == null) {
+                return false;
+            }
+            if (guard.maxRows != null && count > guard.maxRows) {
+                return true;
+            }
+            if (guard.maxBytes == null) {
+                return false;
+            }
+
+            if (generator == null) {
+                counter = new Counter();
+                generator = MAPPER.getFactory().createGenerator(counter);
+            }
+            MAPPER.writeValue(generator, projection != null ? projection.toMap(row) : row);
+            generator.flush();
+            return counter.count > guard.maxBytes;
+        }
+
+        /**
+         * Completes the spill file, if any.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                if (generator != null) {
+                    generator.close();
+                }
+            } finally {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+    }
+
+    private static final class Counter extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.kestra.plugin.kestra.serde;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.UnwrappingBeanPropertyWriter;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Serializes only selected fields of the rows, e.g. {@code id}, {@code namespace} or {@code state.startDate}; a nested
+ * field is selected by its dotted path, and selecting an object selects all its fields. The fields of the objects in a
+ * list are selected like those of a single object, e.g. {@code labels.key}.
+ * <p>
+ * Fields are filtered by the serializer itself as it walks the row: the ones not selected are skipped, and nothing but
+ * the output is built for a row.
+ */
+public final class FieldProjection {
+    private static final String FILTER_ID = "fieldProjection";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final Node root = new Node();
+    private final ObjectMapper ionMapper;
+    private final ObjectMapper jsonMapper;
+
+    private FieldProjection(List<String> fields) {
+        for (String field : fields) {
+            Node node = root;
+            for (String name : field.split("\\.")) {
+                if (node.all) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(name, key -> new Node());
+            }
+            // a selected object keeps all its fields, even if some of them were selected on their own
+            node.all = true;
+            node.children.clear();
+        }
+
+        this.ionMapper = filtered(JacksonMapper.ofIon());
+        this.jsonMapper = filtered(JacksonMapper.ofJson());
+    }
+
+    /**
+     * @return the projection on {@code fields}, or {@code null} to keep every field when there are none
+     */
+    public static FieldProjection of(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        return new FieldProjection(fields);
+    }
+
+    /**
+     * @return whether the field at the dotted {@code path}, or one of its own fields, is selected
+     */
+    boolean selects(String path) {
+        Node node = root;
+        for (String name : path.split("\\.")) {
+            if (node.all) {
+                return true;
+            }
+            node = node.children.get(name);
+            if (node == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    ObjectMapper ionMapper() {
+        return ionMapper;
+    }
+
+    ObjectMapper jsonMapper() {
+        return jsonMapper;
+    }
+
+    /**
+     * @return the selected fields of {@code row}, e.g. for a task output
+     */
+    public Map<String, Object> toMap(Object row) {
+        return jsonMapper.convertValue(row, MAP_TYPE);
+    }
+
+    private ObjectMapper filtered(ObjectMapper mapper) {
+        return mapper.copy()
+            .addMixIn(Object.class, Filtered.class)
+            .setFilterProvider(new SimpleFilterProvider().addFilter(FILTER_ID, new Filter()));
+    }
+
+    /**
+     * The node of the value being written in {@code context}, {@code null} when the value is not selected.
+     */
+    private Node nodeOf(JsonStreamContext context) {
+        JsonStreamContext parent = context.getParent();
+        if (parent == null || parent.inRoot()) {
+            return root;
+        }
+
+        Node parentNode = nodeOf(parent);
+        if (parentNode == null || parentNode.all || parent.inArray()) {
+            // the items of a list are projected like the list itself
+            return parentNode;
+        }
+        return parentNode.children.get(parent.getCurrentName());
+    }
+
+    @JsonFilter(FILTER_ID)
+    private interface Filtered {
+    }
+
+    private final class Filter extends SimpleBeanPropertyFilter {
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            Node node = nodeOf(generator.getOutputContext());
+            if (node != null && writer instanceof UnwrappingBeanPropertyWriter) {
+                // the fields of an unwrapped object are written in the same object, and filtered one by one
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (node != null && (node.all || node.children.containsKey(writer.getName()))) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean all;
+    }
+}
@@ -0,0 +1,19 @@
+package io.kestra.plugin.kestra.serde;
+
+/**
+ * The compression of the rows stored in internal storage, see {@link RowWriter}.
+ */
+public enum OutputCompression {
+    NONE(""),
+    GZIP(".gz");
+
+    private final String extension;
+
+    OutputCompression(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
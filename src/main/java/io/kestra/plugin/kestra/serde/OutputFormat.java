@@ -0,0 +1,23 @@
+package io.kestra.plugin.kestra.serde;
+
+/**
+ * The format of the rows stored in internal storage, see {@link RowWriter}.
+ */
+public enum OutputFormat {
+    /** One ION value per line, the format of {@link io.kestra.core.serializers.FileSerde}. */
+    ION(".ion"),
+    /** One JSON object per line. */
+    NDJSON(".ndjson"),
+    /** A header line then one line per row, nested fields flattened into dotted columns. */
+    CSV(".csv");
+
+    private final String extension;
+
+    OutputFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
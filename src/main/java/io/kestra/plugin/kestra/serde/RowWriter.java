@@ -0,0 +1,382 @@
+package io.kestra.plugin.kestra.serde;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes rows to a file in one of the {@link OutputFormat}s, optionally gzipped.
+ * <p>
+ * Rows are serialized straight into the buffered output by a Jackson generator: no intermediate string is built for a
+ * row. ION keeps the layout of {@link FileSerde}, one value per line, so the files can be read back with it. CSV
+ * columns are the dotted paths of the scalar fields of {@code rowType}, found once from its serialized properties;
+ * lists, maps and fields of an unknown type are written as JSON in a single column, by a generator reused for every
+ * cell, while dates and enums are written as they are in JSON without going through it.
+ * <p>
+ * {@link #flush()} leaves a file that can be read up to the last row written, e.g. before a checkpoint uploads it: a
+ * gzipped file is then a sequence of complete gzip members, which readers decompress as one stream.
+ */
+public final class RowWriter implements Closeable, Flushable {
+    private static final int MAX_DEPTH = 8;
+
+    private final OutputFormat format;
+    private final OutputCompression compression;
+    private final OutputStream file;
+    private final ObjectMapper mapper;
+    private final ObjectWriter rowWriter;
+    private final List<Column> columns;
+    private final StringWriter cell;
+    private final JsonGenerator cellGenerator;
+    private final Map<Enum<?>, String> enumValues = new HashMap<>();
+
+    private Writer writer;
+    private Writer unclosable;
+    private JsonGenerator generator;
+
+    private RowWriter(OutputStream file, OutputFormat format, OutputCompression compression, Class<?> rowType, FieldProjection projection, boolean header) throws IOException {
+        this.file = file;
+        this.format = format;
+        this.compression = compression;
+        this.mapper = switch (format) {
+            case ION -> projection != null ? projection.ionMapper() : JacksonMapper.ofIon();
+            case NDJSON -> projection != null ? projection.jsonMapper() : JacksonMapper.ofJson();
+            case CSV -> JacksonMapper.ofJson();
+        };
+        this.rowWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        if (format == OutputFormat.CSV) {
+            this.columns = new ArrayList<>();
+            columns(mapper.constructType(rowType), "", new ArrayList<>(), projection, 0);
+            this.cell = new StringWriter();
+            this.cellGenerator = mapper.getFactory().createGenerator(cell);
+            this.cellGenerator.setRootValueSeparator(null);
+        } else {
+            this.columns = List.of();
+            this.cell = null;
+            this.cellGenerator = null;
+        }
+
+        open();
+        if (header && format == OutputFormat.CSV) {
+            writeHeader();
+        }
+    }
+
+    /**
+     * Opens a writer to {@code output}, which it truncates.
+     *
+     * @param rowType the type of the rows, which gives the CSV columns
+     * @param projection the fields to write, or {@code null} for all of them
+     */
+    public static RowWriter of(File output, OutputFormat format, OutputCompression compression, Class<?> rowType, FieldProjection projection) throws IOException {
+        return new RowWriter(new BufferedOutputStream(new FileOutputStream(output), FileSerde.BUFFER_SIZE), format, compression, rowType, projection, true);
+    }
+
+    /**
+     * Like {@link #of}, but appends to the rows already written to {@code output}, e.g. those restored from a
+     * checkpoint.
+     */
+    public static RowWriter append(File output, OutputFormat format, OutputCompression compression, Class<?> rowType, FieldProjection projection) throws IOException {
+        boolean empty = output.length() == 0;
+        return new RowWriter(new BufferedOutputStream(new FileOutputStream(output, true), FileSerde.BUFFER_SIZE), format, compression, rowType, projection, empty);
+    }
+
+    /**
+     * @return the extension of a file written in {@code format} with {@code compression}, e.g. {@code .csv.gz}
+     */
+    public static String extension(OutputFormat format, OutputCompression compression) {
+        return format.extension() + compression.extension();
+    }
+
+    public void write(Object row) throws IOException {
+        switch (format) {
+            case ION -> {
+                // the ION text writer separates top-level values with spaces, so each row gets its own generator
+                // to keep one row per line
+                try (JsonGenerator ion = mapper.getFactory().createGenerator(unclosable)) {
+                    rowWriter.writeValue(ion, row);
+                }
+                writer.write('\n');
+            }
+            case NDJSON -> {
+                rowWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+            }
+            case CSV -> writeCsv(row);
+        }
+    }
+
+    /**
+     * @return the number of rows written
+     */
+    public Mono<Long> writeAll(Flux<?> rows) {
+        return rows
+            .handle((row, sink) ->
+            {
+                try {
+                    write(row);
+                    sink.next(row);
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+            })
+            .count();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+        if (compression == OutputCompression.GZIP) {
+            // a gzip member is only readable once finished, the next rows go to a new one, whose header must not be
+            // flushed before them
+            finish();
+            file.flush();
+            open();
+        } else {
+            file.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (generator != null) {
+                generator.close();
+            }
+            if (cellGenerator != null) {
+                cellGenerator.close();
+            }
+            writer.flush();
+            finish();
+        } finally {
+            file.close();
+        }
+    }
+
+    private void open() throws IOException {
+        OutputStream sink = compression == OutputCompression.GZIP ? new GZIPOutputStream(unclosable(file), FileSerde.BUFFER_SIZE) : unclosable(file);
+        this.writer = new BufferedWriter(new OutputStreamWriter(sink, StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE);
+        this.unclosable = new FilterWriter(writer) {
+            @Override
+            public void flush() {
+                // rows are flushed with the file, not one by one
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        if (format == OutputFormat.NDJSON) {
+            this.generator = mapper.getFactory().createGenerator(unclosable);
+            this.generator.setRootValueSeparator(null);
+        }
+    }
+
+    private void finish() throws IOException {
+        // closing the writer finishes the gzip member, but leaves the file open
+        writer.close();
+    }
+
+    private static OutputStream unclosable(OutputStream out) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private void writeHeader() throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(columns.get(i).name());
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsv(Object row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            Object value = columns.get(i).valueOf(row);
+            if (value instanceof CharSequence text) {
+                writeCsvValue(text);
+            } else if (value instanceof Number || value instanceof Boolean) {
+                writer.write(value.toString());
+            } else if (value instanceof Enum<?> constant) {
+                writeCsvValue(enumValues.computeIfAbsent(constant, key -> mapper.convertValue(key, String.class)));
+            } else if (value instanceof OffsetDateTime dateTime) {
+                DateTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(dateTime, writer);
+            } else if (value instanceof ZonedDateTime dateTime) {
+                DateTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(dateTime, writer);
+            } else if (value instanceof Instant instant) {
+                DateTimeFormatter.ISO_INSTANT.formatTo(instant, writer);
+            } else if (value instanceof LocalDateTime dateTime) {
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(dateTime, writer);
+            } else if (value instanceof LocalDate date) {
+                DateTimeFormatter.ISO_LOCAL_DATE.formatTo(date, writer);
+            } else if (value != null) {
+                writeCsvJson(value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Writes lists, maps and values of an unknown type as they are in JSON, through the cell generator and buffer
+     * reused for every cell.
+     */
+    private void writeCsvJson(Object value) throws IOException {
+        cell.getBuffer().setLength(0);
+        rowWriter.writeValue(cellGenerator, value);
+        cellGenerator.flush();
+
+        StringBuffer json = cell.getBuffer();
+        if (!json.isEmpty() && json.charAt(0) == '"') {
+            // a value serialized as a JSON string, e.g. a UUID, is written as the string itself
+            writeCsvValue(mapper.readValue(json.toString(), String.class));
+        } else if (!"null".contentEquals(json)) {
+            writeCsvValue(json);
+        }
+    }
+
+    private void writeCsvValue(CharSequence value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quoted) {
+            writer.append(value);
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private void columns(JavaType type, String prefix, List<AnnotatedMember> path, FieldProjection projection, int depth) {
+        BeanDescription bean = mapper.getSerializationConfig().introspect(type);
+        for (BeanPropertyDefinition property : bean.findProperties()) {
+            AnnotatedMember accessor = property.getAccessor();
+            if (accessor == null || !property.couldSerialize()) {
+                continue;
+            }
+
+            JavaType propertyType = property.getPrimaryType();
+            JsonUnwrapped unwrapped = accessor.getAnnotation(JsonUnwrapped.class);
+            if (unwrapped != null && unwrapped.enabled() && depth < MAX_DEPTH && isBean(propertyType)) {
+                // the fields of an unwrapped object are columns of the row itself
+                accessor.fixAccess(true);
+                List<AnnotatedMember> propertyPath = new ArrayList<>(path);
+                propertyPath.add(accessor);
+                columns(propertyType, prefix, propertyPath, projection, depth + 1);
+                continue;
+            }
+
+            String name = prefix + property.getName();
+            if (projection != null && !projection.selects(name)) {
+                continue;
+            }
+
+            accessor.fixAccess(true);
+            List<AnnotatedMember> propertyPath = new ArrayList<>(path);
+            propertyPath.add(accessor);
+
+            int before = columns.size();
+            if (depth < MAX_DEPTH && isBean(propertyType)) {
+                columns(propertyType, name + ".", propertyPath, projection, depth + 1);
+            }
+            if (columns.size() == before) {
+                // scalars, and objects without any field to flatten, get a single column
+                columns.add(new Column(name, propertyPath.toArray(AnnotatedMember[]::new)));
+            }
+        }
+    }
+
+    private static boolean isBean(JavaType type) {
+        Class<?> raw = type.getRawClass();
+        return !type.isContainerType()
+            && !type.isPrimitive()
+            && !type.isEnumType()
+            && !raw.isInterface()
+            && !Modifier.isAbstract(raw.getModifiers())
+            && !raw.getName().startsWith("java.");
+    }
+
+    private record Column(String name, AnnotatedMember[] path) {
+        Object valueOf(Object row) {
+            Object value = row;
+            for (AnnotatedMember member : path) {
+                if (value == null) {
+                    return null;
+                }
+                value = member.getValue(value);
+            }
+            return value;
+        }
+    }
+}
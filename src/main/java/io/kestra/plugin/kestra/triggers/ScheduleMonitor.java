@@ -1,11 +1,5 @@
 package io.kestra.plugin.kestra.triggers;
 
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -28,6 +22,9 @@ import io.kestra.core.models.triggers.TriggerContext;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.core.trigger.Schedule;
 import io.kestra.plugin.kestra.AbstractKestraTrigger;
+import io.kestra.plugin.kestra.connection.CircuitBreakerOpenException;
+import io.kestra.plugin.kestra.connection.DeadlineExceededException;
+import io.kestra.plugin.kestra.connection.KestraConnection;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -106,7 +103,16 @@ public class ScheduleMonitor extends AbstractKestraTrigger implements TriggerOut
     @Override
     public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
         var runContext = conditionContext.getRunContext();
-        var result = runChecks(runContext);
+        Output result;
+        try {
+            result = runChecks(runContext);
+        } catch (CircuitBreakerOpenException e) {
+            runContext.logger().debug("Skipping evaluation: {}", e.getMessage());
+            return Optional.empty();
+        } catch (DeadlineExceededException e) {
+            runContext.logger().warn("Skipping evaluation, results would be partial: {}", e.getMessage());
+            return Optional.empty();
+        }
 
         if (result.getData().isEmpty()) {
             return Optional.empty();
@@ -116,121 +122,109 @@ public class ScheduleMonitor extends AbstractKestraTrigger implements TriggerOut
     }
 
     public Output runChecks(RunContext runContext) throws Exception {
-        var baseUrl = resolveKestraUrl(runContext);
-        var authHeader = resolveAuthorizationHeader(runContext);
-        var httpClient = HttpClient.newHttpClient();
-
-        var tenantId = runContext.render(this.tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rNamespace = runContext.render(namespace).as(String.class).orElse(null);
-        var rFlowId = runContext.render(flowId).as(String.class).orElse(null);
-        var rIncludeDisabled = runContext.render(includeDisabled).as(Boolean.class).orElse(false);
-        var rMaxExecutionInterval = runContext.render(maxExecutionInterval).as(Duration.class).orElse(null);
-        var rAllowedDelay = runContext.render(allowedDelay).as(Duration.class).orElse(Duration.ofMinutes(1));
-
-        List<TriggerInfo> detectedTriggers = new ArrayList<>();
-
-        // Build filter query params in the SDK's format: filters[<camelCaseField>][<OP>]=value
-        // The SDK converts NAMESPACE → "namespace", FLOW_ID → "flowId" via toCamelCaseFromFolder.
-        var filterParams = new StringBuilder();
-        if (rNamespace != null) {
-            filterParams.append("&filters%5Bnamespace%5D%5BSTARTS_WITH%5D=").append(encode(rNamespace));
-        }
-        if (rFlowId != null) {
-            filterParams.append("&filters%5BflowId%5D%5BEQUALS%5D=").append(encode(rFlowId));
-        }
-
-        int page = 1;
-        int size = 100;
-        long total = Long.MAX_VALUE;
-
-        while ((long) (page - 1) * size < total) {
-            var url = baseUrl + "/api/v1/" + tenantId + "/triggers/search?page=" + page + "&size=" + size + filterParams;
-            var requestBuilder = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET();
-
-            if (authHeader != null) {
-                requestBuilder.header("Authorization", authHeader);
+        try (var connection = kestraConnection(runContext)) {
+            var tenantId = connection.getTenantId();
+            var rNamespace = runContext.render(namespace).as(String.class).orElse(null);
+            var rFlowId = runContext.render(flowId).as(String.class).orElse(null);
+            var rIncludeDisabled = runContext.render(includeDisabled).as(Boolean.class).orElse(false);
+            var rMaxExecutionInterval = runContext.render(maxExecutionInterval).as(Duration.class).orElse(null);
+            var rAllowedDelay = runContext.render(allowedDelay).as(Duration.class).orElse(Duration.ofMinutes(1));
+
+            List<TriggerInfo> detectedTriggers = new ArrayList<>();
+
+            // Build filter query params in the SDK's format: filters[<camelCaseField>][<OP>]=value
+            // The SDK converts NAMESPACE → "namespace", FLOW_ID → "flowId" via toCamelCaseFromFolder.
+            var filterParams = new StringBuilder();
+            if (rNamespace != null) {
+                filterParams.append("&filters%5Bnamespace%5D%5BSTARTS_WITH%5D=").append(KestraConnection.encode(rNamespace));
             }
-
-            var response = httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                throw new IllegalStateException("Triggers search returned HTTP " + response.statusCode() + ": " + response.body());
+            if (rFlowId != null) {
+                filterParams.append("&filters%5BflowId%5D%5BEQUALS%5D=").append(KestraConnection.encode(rFlowId));
             }
 
-            var searchResponse = MAPPER.readValue(response.body(), TriggerSearchResponse.class);
+            int page = 1;
+            int size = 100;
+            long total = Long.MAX_VALUE;
 
-            total = searchResponse.total;
-            var results = searchResponse.results;
-
-            if (results == null || results.isEmpty()) {
-                break;
-            }
+            while ((long) (page - 1) * size < total) {
+                var path = "/api/v1/" + KestraConnection.encode(tenantId) + "/triggers/search?page=" + page + "&size=" + size + filterParams;
+                TriggerSearchResponse searchResponse;
+                try (var response = connection.get("triggers.search", path)) {
+                    if (!response.isSuccessful()) {
+                        throw new IllegalStateException("Triggers search returned HTTP " + response.statusCode() + ": " + response.bodyAsString());
+                    }
 
-            for (var entry : results) {
-                if (entry.trigger == null || !Schedule.class.getName().equals(entry.trigger.type)) {
-                    continue;
+                    searchResponse = MAPPER.readValue(response.body(), TriggerSearchResponse.class);
                 }
 
-                var state = entry.state;
-                if (state == null) {
-                    continue;
+                total = searchResponse.total;
+                var results = searchResponse.results;
+                connection.getMetrics().page("triggers.search", results != null ? results.size() : 0);
+
+                if (results == null || results.isEmpty()) {
+                    break;
                 }
 
-                // v1.3: disabled flag is only on the trigger definition; v2.0 also surfaces it on state
-                var isDisabled = Boolean.TRUE.equals(entry.trigger.disabled) || Boolean.TRUE.equals(state.disabled);
+                for (var entry : results) {
+                    if (entry.trigger == null || !Schedule.class.getName().equals(entry.trigger.type)) {
+                        continue;
+                    }
 
-                var now = Instant.now();
-                var lastExec = state.evaluatedAt != null ? Instant.parse(state.evaluatedAt) : null;
-                var nextExec = state.nextEvaluationDate != null ? Instant.parse(state.nextEvaluationDate) : null;
+                    var state = entry.state;
+                    if (state == null) {
+                        continue;
+                    }
 
-                var info = TriggerInfo.builder()
-                    .namespace(state.namespace)
-                    .flowId(state.flowId)
-                    .triggerId(state.triggerId)
-                    .lastExecution(lastExec)
-                    .expectedNext(nextExec)
-                    .build();
+                    // v1.3: disabled flag is only on the trigger definition; v2.0 also surfaces it on state
+                    var isDisabled = Boolean.TRUE.equals(entry.trigger.disabled) || Boolean.TRUE.equals(state.disabled);
+
+                    var now = Instant.now();
+                    var lastExec = state.evaluatedAt != null ? Instant.parse(state.evaluatedAt) : null;
+                    var nextExec = state.nextEvaluationDate != null ? Instant.parse(state.nextEvaluationDate) : null;
+
+                    var info = TriggerInfo.builder()
+                        .namespace(state.namespace)
+                        .flowId(state.flowId)
+                        .triggerId(state.triggerId)
+                        .lastExecution(lastExec)
+                        .expectedNext(nextExec)
+                        .build();
+
+                    if (isDisabled) {
+                        if (rIncludeDisabled) {
+                            detectedTriggers.add(info);
+                        }
+                        continue;
+                    }
 
-                if (isDisabled) {
-                    if (rIncludeDisabled) {
-                        detectedTriggers.add(info);
+                    if (state.backfill != null) {
+                        continue;
                     }
-                    continue;
-                }
 
-                if (state.backfill != null) {
-                    continue;
-                }
+                    if (rMaxExecutionInterval != null && lastExec != null) {
+                        if (Duration.between(lastExec, now).compareTo(rMaxExecutionInterval) > 0) {
+                            detectedTriggers.add(info);
+                            continue;
+                        }
+                    }
 
-                if (rMaxExecutionInterval != null && lastExec != null) {
-                    if (Duration.between(lastExec, now).compareTo(rMaxExecutionInterval) > 0) {
+                    if (nextExec == null) {
                         detectedTriggers.add(info);
                         continue;
                     }
-                }
 
-                if (nextExec == null) {
-                    detectedTriggers.add(info);
-                    continue;
+                    if (now.isAfter(nextExec.plus(rAllowedDelay))) {
+                        detectedTriggers.add(info);
+                    }
                 }
 
-                if (now.isAfter(nextExec.plus(rAllowedDelay))) {
-                    detectedTriggers.add(info);
-                }
+                page++;
             }
 
-            page++;
+            return Output.builder()
+                .data(detectedTriggers)
+                .build();
         }
-
-        return Output.builder()
-            .data(detectedTriggers)
-            .build();
-    }
-
-    private static String encode(String value) {
-        return URLEncoder.encode(value, StandardCharsets.UTF_8);
     }
 
     // --- Raw JSON models with @JsonAlias to support both v1.3 and v2.0 field names ---
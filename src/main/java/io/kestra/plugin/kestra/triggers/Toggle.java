@@ -94,26 +94,27 @@ public class Toggle extends AbstractKestraTask implements RunnableTask<VoidOutpu
     @SuppressWarnings("unchecked")
     @Override
     public VoidOutput run(RunContext runContext) throws Exception {
-        var kestraClient = kestraClient(runContext);
-        var rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
-        var rNamespace = runContext.render(namespace).as(String.class).orElseGet(() -> runContext.flowInfo().namespace());
-        var rFlowId = runContext.render(flowId).as(String.class).orElse(null);
-        var rTriggerId = runContext.render(trigger).as(String.class).orElse(null);
-
-        List<QueryFilter> filters = new java.util.ArrayList<>(
-            Stream.of(
-                rNamespace != null ? new QueryFilter().field(QueryFilterField.NAMESPACE).operation(QueryFilterOp.EQUALS).value(rNamespace) : null,
-                rFlowId != null ? new QueryFilter().field(QueryFilterField.FLOW_ID).operation(QueryFilterOp.EQUALS).value(rFlowId) : null,
-                rTriggerId != null ? new QueryFilter().field(QueryFilterField.TRIGGER_ID).operation(QueryFilterOp.EQUALS).value(rTriggerId) : null
-            ).filter(Objects::nonNull).toList()
-        );
-
-        var disabledTriggers = JacksonMapper.ofJson()
-            .convertValue(kestraClient.triggers().disabledTriggersByQuery(rTenantId, !runContext.render(enabled).as(Boolean.class).orElse(false), filters), TriggerResponse.class);
-
-        runContext.logger().info("{} triggers found to toggle", disabledTriggers.getCount());
-
-        return null;
+        try (var connection = kestraConnection(runContext)) {
+            var rTenantId = runContext.render(tenantId).as(String.class).orElse(runContext.flowInfo().tenantId());
+            var rNamespace = runContext.render(namespace).as(String.class).orElseGet(() -> runContext.flowInfo().namespace());
+            var rFlowId = runContext.render(flowId).as(String.class).orElse(null);
+            var rTriggerId = runContext.render(trigger).as(String.class).orElse(null);
+
+            List<QueryFilter> filters = new java.util.ArrayList<>(
+                Stream.of(
+                    rNamespace != null ? new QueryFilter().field(QueryFilterField.NAMESPACE).operation(QueryFilterOp.EQUALS).value(rNamespace) : null,
+                    rFlowId != null ? new QueryFilter().field(QueryFilterField.FLOW_ID).operation(QueryFilterOp.EQUALS).value(rFlowId) : null,
+                    rTriggerId != null ? new QueryFilter().field(QueryFilterField.TRIGGER_ID).operation(QueryFilterOp.EQUALS).value(rTriggerId) : null
+                ).filter(Objects::nonNull).toList()
+            );
+
+            var disabledTriggers = JacksonMapper.ofJson()
+                .convertValue(connection.write("triggers.disabledTriggersByQuery", client -> client.triggers().disabledTriggersByQuery(rTenantId, !runContext.render(enabled).as(Boolean.class).orElse(false), filters)), TriggerResponse.class);
+
+            runContext.logger().info("{} triggers found to toggle", disabledTriggers.getCount());
+
+            return null;
+        }
     }
 
     @Builder
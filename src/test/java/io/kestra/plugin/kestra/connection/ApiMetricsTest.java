@@ -0,0 +1,91 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class ApiMetricsTest {
+    private static final String OPERATION = "executions.searchExecutions";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldEmitOneEntryPerMetricAndTagsOnFlush() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        var metrics = new ApiMetrics(runContext, "main");
+
+        // pages fetched in parallel report from many threads at once
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 100).forEach(i -> executor.submit(() ->
+            {
+                metrics.request(OPERATION, i % 10 == 0 ? "503" : ApiMetrics.STATUS_SUCCESS, Duration.ofMillis(10));
+                metrics.page(OPERATION, 25);
+            }));
+        }
+        assertThat(runContext.metrics(), empty());
+
+        metrics.flush();
+
+        List<AbstractMetricEntry<?>> entries = List.copyOf(runContext.metrics());
+        assertThat(entries.stream().map(AbstractMetricEntry::getName).toList(), containsInAnyOrder(
+            ApiMetrics.REQUESTS, ApiMetrics.REQUESTS, ApiMetrics.REQUEST_DURATION, ApiMetrics.REQUEST_DURATION, ApiMetrics.PAGES, ApiMetrics.ROWS
+        ));
+        assertThat(entry(entries, ApiMetrics.REQUESTS, ApiMetrics.STATUS_SUCCESS).getValue(), is(90.0));
+        assertThat(entry(entries, ApiMetrics.REQUESTS, "503").getValue(), is(10.0));
+        assertThat(entry(entries, ApiMetrics.REQUEST_DURATION, ApiMetrics.STATUS_SUCCESS).getValue(), is(Duration.ofMillis(900)));
+        assertThat(entry(entries, ApiMetrics.REQUEST_DURATION, ApiMetrics.STATUS_SUCCESS).getTags(), is(Map.of(
+            "operation", OPERATION,
+            "status", ApiMetrics.STATUS_SUCCESS,
+            "tenant", "main"
+        )));
+        assertThat(entry(entries, ApiMetrics.ROWS, null).getValue(), is(2500.0));
+        assertThat(entry(entries, ApiMetrics.ROWS, null).getTags(), is(Map.of("operation", OPERATION, "tenant", "main")));
+
+        metrics.flush();
+        assertThat(runContext.metrics(), hasSize(entries.size()));
+    }
+
+    @Test
+    void shouldTagTheCallsOfEachTenant() {
+        RunContext runContext = runContextFactory.of();
+        var metrics = new ApiMetrics(runContext, "main");
+
+        metrics.page(OPERATION, 10);
+        metrics.forTenant("production").page(OPERATION, 20);
+        metrics.forTenant("staging").page(OPERATION, 30);
+        // tenant views are emitted with the metrics they were taken from
+        metrics.flush();
+
+        Map<Object, Object> rowsPerTenant = new HashMap<>();
+        runContext.metrics().stream()
+            .filter(entry -> entry.getName().equals(ApiMetrics.ROWS))
+            .forEach(entry -> rowsPerTenant.put(entry.getTags().get("tenant"), entry.getValue()));
+        assertThat(rowsPerTenant, is(Map.of("main", 10.0, "production", 20.0, "staging", 30.0)));
+    }
+
+    private static AbstractMetricEntry<?> entry(List<AbstractMetricEntry<?>> entries, String name, String status) {
+        return entries.stream()
+            .filter(entry -> entry.getName().equals(name))
+            .filter(entry -> status == null || status.equals(entry.getTags().get("status")))
+            .findFirst()
+            .orElseThrow();
+    }
+}
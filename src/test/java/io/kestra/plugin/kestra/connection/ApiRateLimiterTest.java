@@ -0,0 +1,72 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ApiRateLimiterTest {
+    @BeforeEach
+    void clear() {
+        ApiRateLimiter.invalidateAll();
+    }
+
+    @Test
+    void shouldShareBucketAcrossTasksOfSameEndpoint() {
+        var first = new ApiRateLimiter("http://localhost:8080", "main", 10.0, null);
+        var second = new ApiRateLimiter("http://localhost:8080", "main", 10.0, null);
+
+        Duration waited = Duration.ZERO;
+        for (int i = 0; i < 3; i++) {
+            waited = waited.plus(first.acquire(false)).plus(second.acquire(false));
+        }
+
+        // six permits at 10 per second: the first is free, the next five wait about 100ms each
+        assertThat(waited, greaterThanOrEqualTo(Duration.ofMillis(400)));
+    }
+
+    @Test
+    void shouldKeepSeparateBudgetsPerTenantAndKind() {
+        var limiter = new ApiRateLimiter("http://localhost:8080", "main", 1.0, 1.0);
+        var otherTenant = new ApiRateLimiter("http://localhost:8080", "other", 1.0, 1.0);
+
+        assertThat(limiter.acquire(false), is(Duration.ZERO));
+        assertThat(limiter.acquire(true), is(Duration.ZERO));
+        assertThat(otherTenant.acquire(false), is(Duration.ZERO));
+    }
+
+    @Test
+    void shouldKeepSeparateBudgetsPerRate() {
+        var slow = new ApiRateLimiter("http://localhost:8080", "main", 0.1, null);
+        var fast = new ApiRateLimiter("http://localhost:8080", "main", 1000.0, null);
+
+        assertThat(slow.acquire(false), is(Duration.ZERO));
+        // the slow task does not slow down the fast one, nor the other way around
+        assertThat(fast.tryAcquire(false, Duration.ofMillis(100)).isPresent(), is(true));
+        assertThat(fast.tryAcquire(false, Duration.ofMillis(100)).isPresent(), is(true));
+        assertThat(slow.tryAcquire(false, Duration.ofMillis(100)).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldGiveUpWhenNoPermitArrivesInTime() {
+        var limiter = new ApiRateLimiter("http://localhost:8080", "main", 1.0, null);
+        limiter.acquire(false);
+
+        long start = System.nanoTime();
+        assertThat(limiter.tryAcquire(false, Duration.ofMillis(200)), is(Optional.empty()));
+        // the next permit is a second away: no point waiting for it
+        assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(Duration.ofMillis(200)));
+        assertThat(limiter.tryAcquire(false, Duration.ofSeconds(2)).isPresent(), is(true));
+    }
+
+    @Test
+    void shouldNotThrottleWhenUnlimited() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(ApiRateLimiter.UNLIMITED.acquire(i % 2 == 0), is(Duration.ZERO));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class CircuitBreakerTest {
+    private static final RuntimeException CONNECTION_REFUSED = new UncheckedIOException(new IOException("Connection refused"));
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldOpenAfterConsecutiveFailuresAndFailFast() {
+        var clock = new MutableClock();
+        var breaker = new CircuitBreaker("http://localhost:8080", new CircuitBreaker.Circuit(), 3, Duration.ofMinutes(1), clock);
+
+        for (int i = 0; i < 3; i++) {
+            breaker.acquire(null);
+            breaker.record(CONNECTION_REFUSED, null);
+        }
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(null));
+    }
+
+    @Test
+    void shouldLetSingleProbeThroughOnceOpenDurationElapsed() {
+        var clock = new MutableClock();
+        var breaker = new CircuitBreaker("http://localhost:8080", new CircuitBreaker.Circuit(), 1, Duration.ofMinutes(1), clock);
+        breaker.record(CONNECTION_REFUSED, null);
+
+        clock.advance(Duration.ofMinutes(2));
+        breaker.acquire(null);
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.HALF_OPEN));
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(null));
+
+        breaker.record(null, null);
+        assertThat(breaker.state(), is(CircuitBreaker.State.CLOSED));
+        breaker.acquire(null);
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        var clock = new MutableClock();
+        var breaker = new CircuitBreaker("http://localhost:8080", new CircuitBreaker.Circuit(), 1, Duration.ofMinutes(1), clock);
+        breaker.record(503, null);
+
+        clock.advance(Duration.ofMinutes(2));
+        breaker.acquire(null);
+        breaker.record(CONNECTION_REFUSED, null);
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(null));
+    }
+
+    @Test
+    void shouldNotCountClientErrors() {
+        var breaker = new CircuitBreaker("http://localhost:8080", new CircuitBreaker.Circuit(), 1, Duration.ofMinutes(1), new MutableClock());
+
+        breaker.record(404, null);
+        breaker.record(new IllegalArgumentException("invalid filter"), null);
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void shouldOpenWhenCallsRunPastTheirDeadline() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/main/flows/distinct-namespaces", exchange ->
+        {
+            try {
+                Thread.sleep(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            String url = "http://localhost:" + server.getAddress().getPort();
+            var breaker = new CircuitBreaker(url, new CircuitBreaker.Circuit(), 2, Duration.ofMinutes(1), new MutableClock());
+
+            for (int i = 0; i < 2; i++) {
+                // a new connection per call, like successive trigger evaluations with their own time budget; the call
+                // fails with an HTTP timeout or a DeadlineExceededException depending on which fires first
+                var connection = KestraConnection.builder()
+                    .runContext(runContextFactory.of())
+                    .url(url)
+                    .circuitBreaker(breaker)
+                    .apiTimeout(Duration.ofMillis(200))
+                    .build();
+                assertThrows(Exception.class, () -> connection.get("flows.listDistinctNamespaces", "/api/v1/main/flows/distinct-namespaces").close());
+            }
+
+            assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+            assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(null));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldReopenWhenProbeRunsPastItsDeadline() {
+        var clock = new MutableClock();
+        var breaker = new CircuitBreaker("http://localhost:8080", new CircuitBreaker.Circuit(), 1, Duration.ofMinutes(1), clock);
+        breaker.record(503, null);
+
+        clock.advance(Duration.ofMinutes(2));
+        var connection = KestraConnection.builder()
+            .runContext(runContextFactory.of())
+            .url("http://localhost:8080")
+            .circuitBreaker(breaker)
+            .apiTimeout(Duration.ofMillis(200))
+            .build();
+        assertThrows(DeadlineExceededException.class, () -> connection.read("slow", client ->
+        {
+            Thread.sleep(Duration.ofSeconds(5));
+            return null;
+        }));
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Compares the bytes transferred for a large triggers search page with and without compression, against a local
+ * stand-in for the Kestra API.
+ */
+@KestraTest
+@Slf4j
+class HttpCompressionBenchmarkTest {
+    private static final String PATH = "/api/v1/main/triggers/search";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private HttpServer server;
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        byte[] page = searchPage(2_000);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(PATH, exchange ->
+        {
+            boolean gzip = exchange.getRequestHeaders().getOrDefault("Accept-Encoding", List.of()).stream().anyMatch(value -> value.contains("gzip"));
+            byte[] body = gzip ? gzip(page) : page;
+            if (gzip) {
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            bytesSent.addAndGet(body.length);
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldTransferLessBytesWithCompression() throws Exception {
+        var connection = KestraConnection.builder()
+            .runContext(runContextFactory.of())
+            .url("http://localhost:" + server.getAddress().getPort())
+            .tenantId("main")
+            .build();
+
+        bytesSent.set(0);
+        byte[] plain = connection.send(connection.request(PATH).GET().build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+        long plainBytes = bytesSent.getAndSet(0);
+
+        byte[] decoded;
+        try (RawResponse response = connection.get("triggers.search", PATH)) {
+            decoded = response.body().readAllBytes();
+        }
+        long compressedBytes = bytesSent.get();
+
+        log.info(
+            "Triggers search page: {} bytes uncompressed, {} bytes with gzip, {} bytes saved ({}%)",
+            plainBytes, compressedBytes, plainBytes - compressedBytes, 100 * (plainBytes - compressedBytes) / plainBytes
+        );
+        assertThat(decoded, is(plain));
+        assertThat(compressedBytes, lessThan(plainBytes / 4));
+    }
+
+    private static byte[] searchPage(int size) {
+        String results = IntStream.range(0, size)
+            .mapToObj(i -> """
+                {"trigger":{"id":"schedule","type":"io.kestra.plugin.core.trigger.Schedule","cron":"*/5 * * * *","disabled":false},\
+                "state":{"namespace":"company.team","flowId":"flow_%d","triggerId":"schedule","evaluatedAt":"2025-01-01T00:00:00Z","disabled":false}}\
+                """.formatted(i).strip())
+            .collect(Collectors.joining(","));
+        return ("{\"total\":" + size + ",\"results\":[" + results + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpCompressionTest {
+    private static final byte[] PAYLOAD = "{\"results\":[]}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void shouldDecodeZlibAndRawDeflate() throws IOException {
+        for (boolean nowrap : new boolean[]{false, true}) {
+            byte[] compressed = deflate(PAYLOAD, nowrap);
+            AtomicLong wireBytes = new AtomicLong();
+
+            try (InputStream body = HttpCompression.decode(200, "deflate", new ByteArrayInputStream(compressed), wireBytes::set)) {
+                assertThat(body.readAllBytes(), is(PAYLOAD));
+            }
+            assertThat(wireBytes.get(), is((long) compressed.length));
+        }
+    }
+
+    @Test
+    void shouldPassIdentityThrough() throws IOException {
+        try (InputStream body = HttpCompression.decode(200, null, new ByteArrayInputStream(PAYLOAD), bytes -> {})) {
+            assertThat(body.readAllBytes(), is(PAYLOAD));
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownEncodingAndCloseTheBody() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream wire = new ByteArrayInputStream(PAYLOAD) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        assertThrows(IOException.class, () -> HttpCompression.decode(200, "br", wire, bytes -> {}));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void shouldDecodeEmptyCompressedBodies() throws IOException {
+        for (int statusCode : new int[]{200, 204, 304}) {
+            for (String encoding : new String[]{"gzip", "deflate"}) {
+                try (InputStream body = HttpCompression.decode(statusCode, encoding, new ByteArrayInputStream(new byte[0]), bytes -> {})) {
+                    assertThat(body.readAllBytes().length, is(0));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldDecodeGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(PAYLOAD);
+        }
+
+        try (InputStream body = HttpCompression.decode(200, "gzip", new ByteArrayInputStream(out.toByteArray()), bytes -> {})) {
+            assertThat(body.readAllBytes(), is(PAYLOAD));
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes, boolean nowrap) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap))) {
+            deflater.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
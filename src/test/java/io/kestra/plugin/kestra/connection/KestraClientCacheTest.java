@@ -0,0 +1,45 @@
+package io.kestra.plugin.kestra.connection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.kestra.sdk.KestraClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class KestraClientCacheTest {
+    @BeforeEach
+    void clear() {
+        KestraClientCache.invalidateAll();
+    }
+
+    @Test
+    void shouldReuseClientForSameEndpointAndCredentials() {
+        KestraClient first = KestraClientCache.get("http://localhost:8080", KestraCredentials.ofBasic("user", "pass"), "main");
+        KestraClient second = KestraClientCache.get("http://localhost:8080", KestraCredentials.ofBasic("user", "pass"), "main");
+
+        assertThat(second, sameInstance(first));
+        assertThat(KestraClientCache.size(), is(1L));
+    }
+
+    @Test
+    void shouldIsolateClientsByCredentialsAndTenant() {
+        KestraClient basic = KestraClientCache.get("http://localhost:8080", KestraCredentials.ofBasic("user", "pass"), "main");
+        KestraClient token = KestraClientCache.get("http://localhost:8080", KestraCredentials.ofToken("token"), "main");
+        KestraClient otherTenant = KestraClientCache.get("http://localhost:8080", KestraCredentials.ofBasic("user", "pass"), "other");
+
+        assertThat(token, not(sameInstance(basic)));
+        assertThat(otherTenant, not(sameInstance(basic)));
+        assertThat(KestraClientCache.size(), is(3L));
+    }
+
+    @Test
+    void shouldNotExposeSecretsInFingerprint() {
+        String fingerprint = KestraCredentials.ofToken("super-secret").fingerprint();
+
+        assertThat(fingerprint, not(containsString("super-secret")));
+        assertThat(fingerprint, is(KestraCredentials.ofToken("super-secret").fingerprint()));
+        assertThat(KestraCredentials.NONE.fingerprint(), is("anonymous"));
+    }
+}
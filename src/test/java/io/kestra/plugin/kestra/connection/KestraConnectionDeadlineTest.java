@@ -0,0 +1,96 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class KestraConnectionDeadlineTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void shouldInterruptReadsRunningPastTheDeadline() {
+        var connection = KestraConnection.builder()
+            .runContext(runContextFactory.of())
+            .url("http://localhost:8080")
+            .apiTimeout(Duration.ofMillis(200))
+            .build();
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> connection.read("slow", client ->
+        {
+            Thread.sleep(Duration.ofSeconds(10));
+            return null;
+        }));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(Duration.ofSeconds(5)));
+        assertThat(connection.isDeadlineExceeded(), is(true));
+    }
+
+    @Test
+    void shouldNotStartCallsOnceTheDeadlineIsExceeded() throws InterruptedException {
+        var connection = KestraConnection.builder()
+            .runContext(runContextFactory.of())
+            .url("http://localhost:8080")
+            .apiTimeout(Duration.ofMillis(10))
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        Thread.sleep(50);
+
+        assertThrows(DeadlineExceededException.class, () -> connection.write("create", client -> calls.incrementAndGet()));
+        assertThat(calls.get(), is(0));
+    }
+
+    @Test
+    void shouldNotRetryPastTheDeadline() {
+        var connection = KestraConnection.builder()
+            .runContext(runContextFactory.of())
+            .url("http://localhost:8080")
+            .retryPolicy(new RetryPolicy(10, Duration.ofSeconds(5), Duration.ofSeconds(5), 10))
+            .apiTimeout(Duration.ofSeconds(1))
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        // the full-jitter backoff may pick a short delay, so a few attempts can still happen within the budget
+        assertThrows(DeadlineExceededException.class, () -> connection.read("flaky", client ->
+        {
+            calls.incrementAndGet();
+            throw new UncheckedIOException(new IOException("Connection reset"));
+        }));
+        assertThat(calls.get(), greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    void shouldNotWaitForAPermitPastTheDeadline() throws Exception {
+        ApiRateLimiter.invalidateAll();
+        var connection = KestraConnection.builder()
+            .runContext(runContextFactory.of())
+            .url("http://localhost:8080")
+            .rateLimiter(new ApiRateLimiter("http://localhost:8080", null, 0.1, null))
+            .apiTimeout(Duration.ofSeconds(1))
+            .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        connection.read("first", client -> calls.incrementAndGet());
+        // the next permit is ten seconds away, past the deadline
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> connection.read("second", client -> calls.incrementAndGet()));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start), lessThan(Duration.ofSeconds(1)));
+        assertThat(calls.get(), is(1));
+    }
+}
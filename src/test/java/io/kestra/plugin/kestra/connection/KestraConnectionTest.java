@@ -0,0 +1,35 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class KestraConnectionTest {
+    @Test
+    void shouldShareHttpClientAcrossConnections() {
+        var first = KestraConnection.builder().url("http://localhost:8080").tenantId("main").build();
+        var second = KestraConnection.builder().url("http://localhost:8080").tenantId("other").credentials(KestraCredentials.ofToken("token")).build();
+
+        assertThat(second.getHttpClient(), sameInstance(first.getHttpClient()));
+        assertThat(first.getHttpClient().executor().isPresent(), is(true));
+    }
+
+    @Test
+    void shouldApplyAuthenticationAndTimeoutOnRawRequests() {
+        var connection = KestraConnection.builder()
+            .url("http://localhost:8080")
+            .tenantId("main")
+            .credentials(KestraCredentials.ofToken("token"))
+            .readTimeout(Duration.ofSeconds(30))
+            .build();
+
+        var request = connection.request("/api/v1/main/triggers/search?page=1").GET().build();
+
+        assertThat(request.uri().toString(), is("http://localhost:8080/api/v1/main/triggers/search?page=1"));
+        assertThat(request.headers().firstValue("Authorization").orElse(null), is("Bearer token"));
+        assertThat(request.timeout().orElse(null), is(Duration.ofSeconds(30)));
+    }
+}
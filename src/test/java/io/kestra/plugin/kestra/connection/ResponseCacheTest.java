@@ -0,0 +1,127 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class ResponseCacheTest {
+    private static final String PATH = "/api/v1/main/flows/distinct-namespaces";
+    private static final String BODY = "[\"company\",\"company.team\"]";
+    private static final String ETAG = "\"v1\"";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private HttpServer server;
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(PATH, exchange ->
+        {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReuseCachedBodyOnNotModified() throws Exception {
+        String url = "http://localhost:" + server.getAddress().getPort();
+
+        for (int run = 0; run < 3; run++) {
+            // a new run context and connection per run, like successive executions of a task
+            RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "cached", "namespace", "company.cached")));
+            var connection = KestraConnection.builder()
+                .runContext(runContext)
+                .url(url)
+                .tenantId("main")
+                .responseCache(ResponseCache.of(runContext, ApiCache.builder().build(), url, "main", KestraCredentials.NONE))
+                .build();
+
+            try (RawResponse response = connection.get("flows.listDistinctNamespaces", PATH)) {
+                assertThat(response.statusCode(), is(200));
+                assertThat(response.bodyAsString(), is(BODY));
+            }
+        }
+
+        assertThat(notModified.get(), is(2));
+        // the body was fetched with the task credentials, flows of the namespace must not be able to read it
+        assertThat(runContextFactory.of(Map.of("flow", Map.of("id", "cached", "namespace", "company.cached"))).namespaceKv("company.cached").list(), empty());
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedEntries() {
+        RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "cached", "namespace", "company.bounded")));
+        var cache = ResponseCache.of(runContext, ApiCache.builder().maxEntries(Property.ofValue(2)).build(), "http://localhost:8081", "main", KestraCredentials.NONE);
+        String other = "/api/v1/main/flows/company.team";
+
+        cache.store(PATH, new ResponseCache.Entry(ETAG, null, BODY));
+        cache.store(other, new ResponseCache.Entry(ETAG, null, "[]"));
+        // reading PATH makes the other entry the least recently used one
+        assertThat(cache.lookup(PATH).isPresent(), is(true));
+        cache.store("/api/v1/main/flows/company", new ResponseCache.Entry(ETAG, null, "[]"));
+
+        assertThat(cache.lookup(other).isPresent(), is(false));
+        assertThat(cache.lookup(PATH).map(ResponseCache.Entry::body).orElse(null), is(BODY));
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTheTtl() throws InterruptedException {
+        RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "cached", "namespace", "company.team")));
+        var cache = ResponseCache.of(runContext, ApiCache.builder().ttl(Property.ofValue(Duration.ofMillis(1))).build(), "http://localhost:8082", "main", KestraCredentials.NONE);
+
+        cache.store(PATH, new ResponseCache.Entry(ETAG, null, BODY));
+
+        Thread.sleep(10);
+        assertThat(cache.lookup(PATH).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldIsolateEntriesByCredentials() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "cached", "namespace", "company.team")));
+
+        var anonymous = ResponseCache.of(runContext, ApiCache.builder().build(), "http://localhost:8080", "main", KestraCredentials.NONE);
+        var authenticated = ResponseCache.of(runContext, ApiCache.builder().build(), "http://localhost:8080", "main", KestraCredentials.ofToken("token"));
+
+        assertThat(authenticated.key(PATH), not(anonymous.key(PATH)));
+        assertThat(authenticated.key(PATH), not(containsString("token")));
+    }
+}
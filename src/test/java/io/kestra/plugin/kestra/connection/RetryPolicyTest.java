@@ -0,0 +1,61 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RetryPolicyTest {
+    @Test
+    void shouldOnlyRetryTransientStatusCodes() {
+        RetryPolicy policy = new RetryPolicy(4, Duration.ofMillis(100), Duration.ofSeconds(1), 20);
+
+        assertThat(policy.nextDelay(1, 503, null).isPresent(), is(true));
+        assertThat(policy.nextDelay(1, 429, null).isPresent(), is(true));
+        assertThat(policy.nextDelay(1, 500, null).isPresent(), is(false));
+        assertThat(policy.nextDelay(1, 404, null).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldRetryIoFailuresButNotParseErrors() {
+        assertThat(RetryPolicy.isRetryable(new UncheckedIOException(new IOException("Connection reset"))), is(true));
+        assertThat(RetryPolicy.isRetryable(new RuntimeException(new JsonParseException(null, "Unexpected character"))), is(false));
+        assertThat(RetryPolicy.isRetryable(new IllegalArgumentException("bad request")), is(false));
+    }
+
+    @Test
+    void shouldStopAfterMaxAttemptsAndBudget() {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(100), 2);
+
+        assertThat(policy.nextDelay(3, 503, null).isPresent(), is(false));
+        assertThat(policy.nextDelay(1, 503, null).isPresent(), is(true));
+        assertThat(policy.nextDelay(1, 503, null).isPresent(), is(true));
+        assertThat(policy.nextDelay(1, 503, null).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldHonorRetryAfterUpToMaxDelay() {
+        RetryPolicy policy = new RetryPolicy(4, Duration.ofMillis(1), Duration.ofSeconds(5), 20);
+
+        assertThat(policy.nextDelay(1, 429, "2").orElseThrow(), is(Duration.ofSeconds(2)));
+        assertThat(policy.nextDelay(1, 429, "120").orElseThrow(), is(Duration.ofSeconds(5)));
+        assertThat(policy.nextDelay(1, 503, null).orElseThrow(), lessThanOrEqualTo(Duration.ofMillis(1)));
+    }
+
+    @Test
+    void shouldParseRetryAfterDates() {
+        String inTenSeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(10));
+
+        assertThat(RetryPolicy.parseRetryAfter(inTenSeconds), allOf(greaterThan(Duration.ZERO), lessThanOrEqualTo(Duration.ofSeconds(10))));
+        assertThat(RetryPolicy.parseRetryAfter("not a date"), nullValue());
+        assertThat(RetryPolicy.parseRetryAfter(null), nullValue());
+    }
+}
@@ -0,0 +1,163 @@
+package io.kestra.plugin.kestra.connection;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+    private static final TypeReference<String> STRING = new TypeReference<>() {};
+
+    private static SingleFlight.Key key(String credentialsFingerprint, Object... arguments) {
+        return new SingleFlight.Key("http://localhost:8080", "main", credentialsFingerprint, "flows.listDistinctNamespaces", List.of(arguments));
+    }
+
+    @Test
+    void shouldShareConcurrentIdenticalCalls() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger shared = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> SingleFlight.execute(key("anonymous", "main", "company"), null, shared::incrementAndGet, STRING, () -> {
+                    calls.incrementAndGet();
+                    release.await();
+                    return "result";
+                })));
+            }
+
+            // let every caller join the in-flight call before it completes
+            while (calls.get() + SingleFlight.joiners(key("anonymous", "main", "company")) < 20) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS), is("result"));
+            }
+        }
+
+        assertThat(calls.get(), is(1));
+        assertThat(shared.get(), is(19));
+        assertThat(SingleFlight.inFlight(), is(0));
+    }
+
+    @Test
+    void shouldNotShareAcrossCredentialsOrArguments() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var keys = List.of(key("anonymous", "company"), key("token-fingerprint", "company"), key("anonymous", "other"));
+            List<Future<Integer>> results = keys.stream()
+                .map(key -> executor.submit(() -> SingleFlight.execute(key, null, () -> {}, new TypeReference<Integer>() {}, () -> {
+                    int call = calls.incrementAndGet();
+                    release.await();
+                    return call;
+                })))
+                .toList();
+
+            while (calls.get() < 3) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    void shouldStopWaitingForSharedCallAfterMaxWait() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> SingleFlight.execute(key("anonymous", "slow"), null, () -> {}, STRING, () -> {
+                started.countDown();
+                release.await();
+                return "slow";
+            }));
+            started.await();
+
+            assertThrows(TimeoutException.class, () -> SingleFlight.execute(key("anonymous", "slow"), Duration.ofMillis(50), () -> {}, STRING, () -> "not called"));
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldMakeOwnCallWhenSharedCallFails() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        AtomicInteger shared = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> owner = executor.submit(() -> SingleFlight.execute(key("anonymous", "failing"), null, () -> {}, STRING, () -> {
+                started.countDown();
+                joined.await();
+                throw new DeadlineExceededException("flows.listDistinctNamespaces", Duration.ofSeconds(1), null);
+            }));
+            started.await();
+
+            Future<String> joiner = executor.submit(() -> SingleFlight.execute(key("anonymous", "failing"), null, shared::incrementAndGet, STRING, () -> "own result"));
+            while (SingleFlight.joiners(key("anonymous", "failing")) < 1) {
+                Thread.sleep(10);
+            }
+            joined.countDown();
+
+            assertThat(assertThrows(ExecutionException.class, () -> owner.get(5, TimeUnit.SECONDS)).getCause(), instanceOf(DeadlineExceededException.class));
+            assertThat(joiner.get(5, TimeUnit.SECONDS), is("own result"));
+        }
+
+        assertThat(shared.get(), is(0));
+    }
+
+    @Test
+    void shouldGiveEachCallerItsOwnCopy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TypeReference<List<String>> type = new TypeReference<>() {};
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<String>> owner = executor.submit(() -> SingleFlight.execute(key("anonymous", "copied"), null, () -> {}, type, () -> {
+                started.countDown();
+                release.await();
+                return new ArrayList<>(List.of("company", "company.team"));
+            }));
+            started.await();
+
+            Future<List<String>> joiner = executor.submit(() -> SingleFlight.execute(key("anonymous", "copied"), null, () -> {}, type, () -> List.of("not called")));
+            while (SingleFlight.joiners(key("anonymous", "copied")) < 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            List<String> ownerResult = owner.get(5, TimeUnit.SECONDS);
+            List<String> joinerResult = joiner.get(5, TimeUnit.SECONDS);
+            assertThat(joinerResult, is(ownerResult));
+            assertThat(joinerResult, not(sameInstance(ownerResult)));
+
+            ownerResult.add("mutated");
+            assertThat(joinerResult, hasSize(2));
+        }
+    }
+}
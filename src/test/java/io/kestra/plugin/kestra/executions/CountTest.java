@@ -2,6 +2,7 @@ package io.kestra.plugin.kestra.executions;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -70,4 +71,47 @@ class CountTest extends AbstractKestraOssContainerTest {
         assertThat(output.getCount(), is(notNullValue()));
         assertThat(output.getCount(), greaterThanOrEqualTo(1L));
     }
+
+    @Test
+    void shouldCountPerTenant() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+
+        Count single = Count.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(
+                AbstractKestraTask.Auth.builder()
+                    .username(Property.ofValue(USERNAME))
+                    .password(Property.ofValue(PASSWORD))
+                    .build()
+            )
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespaces(Property.ofValue(List.of(NAMESPACE)))
+            .flowId(Property.ofValue(flow.getId()))
+            .build();
+
+        Count.Output expected = Await.until(() ->
+        {
+            try {
+                Count.Output o = single.run(runContext);
+                return o.getCount() >= 1 ? o : null;
+            } catch (Exception e) {
+                return null;
+            }
+        },
+            Duration.ofMillis(200),
+            Duration.ofSeconds(10)
+        );
+
+        // the same tenant listed twice is only counted once
+        Count.Output output = single.toBuilder()
+            .tenantIds(Property.ofValue(List.of(TENANT_ID, TENANT_ID)))
+            .build()
+            .run(runContext);
+
+        assertThat(output.getCount(), is(expected.getCount()));
+        assertThat(output.getTenantCounts(), is(Map.of(TENANT_ID, expected.getCount())));
+    }
 }
@@ -11,7 +11,6 @@ import org.testcontainers.shaded.org.awaitility.Awaitility;
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.VoidOutput;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.core.utils.Await;
@@ -185,7 +184,7 @@ public class DeleteTest extends AbstractKestraOssContainerTest {
                         .fetchType(Property.ofValue(io.kestra.core.models.tasks.common.FetchType.FETCH))
                         .build();
 
-                    FetchOutput output = searchTask.run(runContext);
+                    Query.Output output = searchTask.run(runContext);
                     if (output.getRows().isEmpty()) {
                         return null;
                     }
@@ -0,0 +1,95 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.sdk.model.ApiLightExecution;
+import io.kestra.sdk.model.StateType;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExecutionRollupTest {
+    private static final List<ExecutionAggregation.GroupBy> ALL = ExecutionAggregation.DEFAULT_GROUP_BY;
+
+    @Test
+    void shouldGroupByNamespaceFlowAndState() {
+        ExecutionRollup rollup = new ExecutionRollup(ALL, List.of(0.5));
+        for (int i = 0; i < 10; i++) {
+            rollup.add(execution("company.team", "flow", StateType.SUCCESS, 10));
+        }
+        rollup.add(execution("company.team", "flow", StateType.FAILED, 20));
+        // the same flow id in another namespace is another flow
+        rollup.add(execution("company.other", "flow", StateType.SUCCESS, 30));
+        rollup.add(execution("company.team", "flow", StateType.RUNNING, null));
+
+        List<Map<String, Object>> rows = rollup.rows();
+
+        assertThat(rows, hasSize(4));
+        assertThat(rows.get(0).keySet(), contains("namespace", "flowId", "state", "count", "p50"));
+        assertThat(rows.get(0).get("namespace"), is("company.other"));
+        assertThat(rows.get(0).get("count"), is(1L));
+        assertThat(rows.get(1).get("state"), is(StateType.FAILED));
+        assertThat(rows.get(1).get("count"), is(1L));
+        // executions still running are counted without a duration
+        assertThat(rows.get(2).get("state"), is(StateType.RUNNING));
+        assertThat(rows.get(2).get("p50"), nullValue());
+        assertThat(rows.get(3).get("state"), is(StateType.SUCCESS));
+        assertThat(rows.get(3).get("count"), is(10L));
+        // quantiles are estimated within 1%
+        assertThat((double) ((Duration) rows.get(3).get("p50")).toMillis(), closeTo(10_000, 100));
+    }
+
+    @Test
+    void shouldOnlyKeepTheGroupByDimensions() {
+        ExecutionRollup byNamespace = new ExecutionRollup(List.of(ExecutionAggregation.GroupBy.NAMESPACE), List.of());
+        ExecutionRollup all = new ExecutionRollup(List.of(), List.of());
+        for (StateType state : List.of(StateType.SUCCESS, StateType.FAILED)) {
+            for (String flowId : List.of("first", "second")) {
+                byNamespace.add(execution("company.team", flowId, state, 1));
+                all.add(execution("company.team", flowId, state, 1));
+            }
+        }
+
+        assertThat(byNamespace.rows(), is(List.of(Map.of("namespace", "company.team", "count", 4L))));
+        assertThat(all.rows(), is(List.of(Map.of("count", 4L))));
+    }
+
+    @Test
+    void shouldGrowPastTheInitialGroupTable() {
+        ExecutionRollup rollup = new ExecutionRollup(ALL, List.of());
+        // many more groups than the first slots of the table, each seen twice, with interleaved namespaces
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                rollup.add(execution("company.team" + (i % 7), "flow_" + i, i % 2 == 0 ? StateType.SUCCESS : StateType.FAILED, 1));
+            }
+        }
+
+        List<Map<String, Object>> rows = rollup.rows();
+
+        assertThat(rows, hasSize(1_000));
+        assertThat(rows.stream().map(row -> row.get("count")).distinct().toList(), is(List.of(2L)));
+        assertThat(rows.stream().map(row -> row.get("namespace") + "/" + row.get("flowId")).distinct().count(), is(1_000L));
+    }
+
+    @Test
+    void shouldRejectQuantilesOutOfRange() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new ExecutionRollup(ALL, List.of(1.5)));
+        assertThat(e.getMessage(), containsString("1.5"));
+    }
+
+    private static ApiLightExecution execution(String namespace, String flowId, StateType state, Integer seconds) {
+        Map<String, Object> execution = new HashMap<>(Map.of("id", namespace + "." + flowId, "namespace", namespace, "flowId", flowId));
+        execution.put("state", seconds == null ?
+            Map.of("current", state.name(), "startDate", "2024-01-01T00:00:00Z") :
+            Map.of("current", state.name(), "startDate", "2024-01-01T00:00:00Z", "endDate", "2024-01-01T00:00:%02dZ".formatted(seconds))
+        );
+        return JacksonMapper.ofJson().convertValue(execution, ApiLightExecution.class);
+    }
+}
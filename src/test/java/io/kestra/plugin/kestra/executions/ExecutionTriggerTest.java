@@ -0,0 +1,82 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.Await;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.kestra.AbstractKestraOssContainerTest;
+import io.kestra.plugin.kestra.AbstractKestraTrigger;
+import io.kestra.sdk.model.FlowWithSource;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public class ExecutionTriggerTest extends AbstractKestraOssContainerTest {
+    private static final Duration AWAIT_TIMEOUT = Duration.ofMinutes(2);
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFireOncePerExecution() throws Exception {
+        String namespace = "kestra.tests.executions.trigger." + IdUtils.create().toLowerCase();
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(namespace);
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+
+        ExecutionTrigger trigger = ExecutionTrigger.builder()
+            .id(ExecutionTriggerTest.class.getSimpleName() + IdUtils.create())
+            .type(ExecutionTrigger.class.getName())
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(basicAuth())
+            .tenantId(Property.ofValue(TENANT_ID))
+            .namespace(Property.ofValue(namespace))
+            .dateField(Property.ofValue(ExecutionTrigger.DateField.START_DATE))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        Execution execution = Await.until(
+            () -> evaluate(trigger, context.getKey(), context.getValue()).orElse(null),
+            Duration.ofMillis(100),
+            AWAIT_TIMEOUT
+        );
+
+        List<Map<String, Object>> executions = (List<Map<String, Object>>) execution.getTrigger().getVariables().get("executions");
+        assertThat(executions, hasSize(1));
+        assertThat(executions.getFirst().get("flowId"), is(flow.getId()));
+        assertThat(((Number) execution.getTrigger().getVariables().get("size")).longValue(), is(1L));
+
+        // the execution was already fired, nothing new matches
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+    }
+
+    private AbstractKestraTrigger.Auth basicAuth() {
+        return AbstractKestraTrigger.Auth.builder()
+            .username(Property.ofValue(USERNAME))
+            .password(Property.ofValue(PASSWORD))
+            .build();
+    }
+
+    private Optional<Execution> evaluate(ExecutionTrigger trigger, ConditionContext conditionContext, io.kestra.core.models.triggers.Trigger triggerContext) {
+        try {
+            return trigger.evaluate(conditionContext, triggerContext);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.kestra.plugin.kestra.executions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class QuantileSketchTest {
+    @Test
+    void shouldEstimateQuantilesWithinTheRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int value = 1; value <= 100_000; value++) {
+            sketch.add(value);
+        }
+
+        assertThat(sketch.count(), is(100_000L));
+        assertThat(sketch.quantile(0.5), closeTo(50_000, 500));
+        assertThat(sketch.quantile(0.95), closeTo(95_000, 950));
+        assertThat(sketch.quantile(0.99), closeTo(99_000, 990));
+        assertThat(sketch.quantile(0), is(1.0));
+        assertThat(sketch.quantile(1), is(100_000.0));
+    }
+
+    @Test
+    void shouldNameQuantileColumns() {
+        assertThat(ExecutionRollup.column(0.5), is("p50"));
+        assertThat(ExecutionRollup.column(0.95), is("p95"));
+        assertThat(ExecutionRollup.column(0.999), is("p99.9"));
+    }
+}
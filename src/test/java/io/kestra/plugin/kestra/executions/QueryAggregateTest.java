@@ -0,0 +1,105 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.sdk.model.StateType;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Aggregates the executions of a local stand-in for the Kestra API: every fifth execution failed after 20 seconds, the
+ * others succeeded after 10 seconds.
+ */
+@KestraTest
+class QueryAggregateTest {
+    private static final int TOTAL = 250;
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/main/executions/search", exchange ->
+        {
+            Map<String, String> query = Arrays.stream(exchange.getRequestURI().getQuery().split("&"))
+                .map(parameter -> parameter.split("=", 2))
+                .filter(parameter -> parameter.length == 2)
+                .collect(Collectors.toMap(parameter -> parameter[0], parameter -> parameter[1], (first, second) -> first));
+
+            byte[] body = searchPage(Integer.parseInt(query.get("page")), Integer.parseInt(query.get("size")));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldOutputAggregatesInsteadOfExecutions() throws Exception {
+        Query query = Query.builder()
+            .kestraUrl(Property.ofValue("http://localhost:" + server.getAddress().getPort()))
+            .tenantId(Property.ofValue("main"))
+            .size(Property.ofValue(100))
+            .aggregate(ExecutionAggregation.builder()
+                .groupBy(Property.ofValue(List.of(ExecutionAggregation.GroupBy.STATE)))
+                .quantiles(Property.ofValue(List.of(0.5)))
+                .build())
+            .build();
+
+        Query.Output output = query.run(runContextFactory.of());
+
+        assertThat(output.getSize(), is((long) TOTAL));
+        assertThat(output.getUri(), nullValue());
+        assertThat(output.getRows(), nullValue());
+
+        List<Map<String, Object>> aggregates = output.getAggregates();
+        assertThat(aggregates, hasSize(2));
+        assertThat(aggregates.get(0).keySet(), contains("state", "count", "p50"));
+        assertThat(aggregates.get(0).get("state"), is(StateType.FAILED));
+        assertThat(aggregates.get(0).get("count"), is(50L));
+        assertThat((double) ((Duration) aggregates.get(0).get("p50")).toMillis(), closeTo(20_000, 200));
+        assertThat(aggregates.get(1).get("state"), is(StateType.SUCCESS));
+        assertThat(aggregates.get(1).get("count"), is(200L));
+        assertThat((double) ((Duration) aggregates.get(1).get("p50")).toMillis(), closeTo(10_000, 100));
+    }
+
+    private static byte[] searchPage(int page, int size) {
+        String results = IntStream.range(Math.min((page - 1) * size, TOTAL), Math.min(page * size, TOTAL))
+            .mapToObj(i -> """
+                {"id":"execution_%d","namespace":"company.team","flowId":"flow","state":{"current":"%s","startDate":"2024-01-01T00:00:00Z","endDate":"2024-01-01T00:00:%sZ"}}"""
+                .formatted(i, i % 5 == 0 ? "FAILED" : "SUCCESS", i % 5 == 0 ? "20" : "10"))
+            .collect(Collectors.joining(","));
+        return ("{\"total\":" + TOTAL + ",\"results\":[" + results + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,123 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.kestra.pagination.Paginator;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Streams a large search from a local stand-in for the Kestra API into internal storage, with bounded memory: one page
+ * is answered slowly, and the pages after it must not be requested further than the sliding window of the paginator,
+ * or pages would pile up in memory while it waits.
+ */
+@KestraTest
+class QueryStoreTest {
+    private static final int TOTAL = 1_000_000;
+    private static final int SLOW_PAGE = 20;
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private HttpServer server;
+    private final AtomicInteger pagesServed = new AtomicInteger();
+    private final AtomicInteger lastPageRequested = new AtomicInteger();
+    private final AtomicInteger lastPageRequestedWhileSlow = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/main/executions/search", exchange ->
+        {
+            Map<String, String> query = Arrays.stream(exchange.getRequestURI().getQuery().split("&"))
+                .map(parameter -> parameter.split("=", 2))
+                .filter(parameter -> parameter.length == 2)
+                .collect(Collectors.toMap(parameter -> parameter[0], parameter -> parameter[1], (first, second) -> first));
+            int page = Integer.parseInt(query.get("page"));
+            int size = Integer.parseInt(query.get("size"));
+            lastPageRequested.accumulateAndGet(page, Math::max);
+            if (page == SLOW_PAGE) {
+                try {
+                    Thread.sleep(Duration.ofMillis(500));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                lastPageRequestedWhileSlow.set(lastPageRequested.get());
+            }
+
+            byte[] body = searchPage(page, size);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            pagesServed.incrementAndGet();
+        });
+        // pages fetched concurrently are answered concurrently
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldStreamEveryPageToStorage() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Query query = Query.builder()
+            .kestraUrl(Property.ofValue("http://localhost:" + server.getAddress().getPort()))
+            .tenantId(Property.ofValue("main"))
+            .size(Property.ofValue(5_000))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        Query.Output output = query.run(runContext);
+
+        assertThat(output.getSize(), is((long) TOTAL));
+        assertThat(output.getPartial(), is(false));
+        assertThat(pagesServed.get(), is(TOTAL / 5_000));
+        // while a page is awaited, at most `pageConcurrency` pages are fetched from it, the earlier ones being at most
+        // `prefetchPages` queued for the output: what is held in memory does not depend on the size of the search
+        assertThat(lastPageRequestedWhileSlow.get(), lessThanOrEqualTo(SLOW_PAGE + Paginator.DEFAULT_CONCURRENCY - 1));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+            assertThat(reader.lines().count(), is((long) TOTAL));
+        }
+    }
+
+    private static byte[] searchPage(int page, int size) {
+        String results = IntStream.range(Math.min((page - 1) * size, TOTAL), Math.min(page * size, TOTAL))
+            .mapToObj(i -> "{\"id\":\"execution_%d\",\"namespace\":\"company.team\",\"flowId\":\"flow_%d\"}".formatted(i, i % 100))
+            .collect(Collectors.joining(","));
+        return ("{\"total\":" + TOTAL + ",\"results\":[" + results + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+}
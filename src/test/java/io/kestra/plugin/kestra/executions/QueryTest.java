@@ -7,7 +7,6 @@ import org.junit.jupiter.api.Test;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.plugin.kestra.AbstractKestraOssContainerTest;
@@ -48,7 +47,7 @@ public class QueryTest extends AbstractKestraOssContainerTest {
             .fetchType(Property.ofValue(io.kestra.core.models.tasks.common.FetchType.FETCH))
             .build();
 
-        FetchOutput output = searchTask.run(runContext);
+        Query.Output output = searchTask.run(runContext);
 
         assertThat(output, is(notNullValue()));
         assertThat(output.getRows(), is(notNullValue()));
@@ -79,7 +78,7 @@ public class QueryTest extends AbstractKestraOssContainerTest {
             .fetchType(Property.ofValue(io.kestra.core.models.tasks.common.FetchType.FETCH))
             .build();
 
-        FetchOutput matchingOutput = matchingLabel.run(runContext);
+        Query.Output matchingOutput = matchingLabel.run(runContext);
 
         assertThat(matchingOutput, is(notNullValue()));
         assertThat(matchingOutput.getSize(), is(greaterThanOrEqualTo(1L)));
@@ -88,9 +87,41 @@ public class QueryTest extends AbstractKestraOssContainerTest {
             .labels(Property.ofValue(Map.of("key", "wrong-value")))
             .build();
 
-        FetchOutput nonMatchingOutput = nonMatchingLabel.run(runContext);
+        Query.Output nonMatchingOutput = nonMatchingLabel.run(runContext);
 
         assertThat(nonMatchingOutput, is(notNullValue()));
         assertThat(nonMatchingOutput.getSize(), is(0L));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldTagExecutionsWithTheirTenant() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        FlowWithSource flow = kestraTestDataUtils.createRandomizedFlow(NAMESPACE);
+        kestraTestDataUtils.createRandomizedExecution(flow.getId(), flow.getNamespace());
+
+        Query searchTask = Query.builder()
+            .kestraUrl(Property.ofValue(KESTRA_URL))
+            .auth(
+                AbstractKestraTask.Auth.builder()
+                    .username(Property.ofValue(USERNAME))
+                    .password(Property.ofValue(PASSWORD))
+                    .build()
+            )
+            .tenantIds(Property.ofValue(List.of(TENANT_ID)))
+            .namespace(Property.ofValue(NAMESPACE))
+            .flowId(Property.ofValue(flow.getId()))
+            .fields(Property.ofValue(List.of("tenantId", "flowId")))
+            .fetchType(Property.ofValue(io.kestra.core.models.tasks.common.FetchType.FETCH))
+            .build();
+
+        Query.Output output = searchTask.run(runContext);
+
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) output.getRows().getFirst();
+        assertThat(rows, hasSize(1));
+        assertThat(rows.getFirst(), is(Map.of("tenantId", TENANT_ID, "flowId", flow.getId())));
+        assertThat(output.getTenantSizes(), is(Map.of(TENANT_ID, 1L)));
+        assertThat(output.getSize(), is(1L));
+    }
 }
\ No newline at end of file
@@ -7,7 +7,6 @@ import org.junit.jupiter.api.Test;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.plugin.kestra.AbstractKestraOssContainerTest;
@@ -145,7 +144,7 @@ public class ResumeTest extends AbstractKestraOssContainerTest {
             .fetchType(Property.ofValue(io.kestra.core.models.tasks.common.FetchType.FETCH))
             .build();
 
-        FetchOutput output = searchTask.run(runContext);
+        Query.Output output = searchTask.run(runContext);
 
         if (output.getRows().isEmpty()) {
             throw new RuntimeException("No execution found for flow " + flowId);
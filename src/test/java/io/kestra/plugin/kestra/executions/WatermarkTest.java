@@ -0,0 +1,84 @@
+package io.kestra.plugin.kestra.executions;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class WatermarkTest {
+    private static final OffsetDateTime NOON = OffsetDateTime.parse("2025-01-01T12:00:00Z");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext run(String executionId) {
+        return runContextFactory.of(Map.of(
+            "flow", Map.of("id", "etl", "namespace", "company.team"),
+            "execution", Map.of("id", executionId),
+            "task", Map.of("id", "query")
+        ));
+    }
+
+    @Test
+    void shouldRejectMaxResultsWithAnIncrementalQuery() {
+        Query query = Query.builder()
+            .kestraUrl(Property.ofValue("http://localhost:8080"))
+            .tenantId(Property.ofValue("main"))
+            .maxResults(Property.ofValue(100))
+            .incremental(IncrementalScan.builder().build())
+            .build();
+
+        // a truncated run would keep the watermark, and every next run would return the same first executions
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> query.run(run("truncated")));
+        assertThat(e.getMessage(), containsString("maxResults"));
+    }
+
+    @Test
+    void shouldOnlyReturnNewAndUpdatedExecutions() throws Exception {
+        IncrementalScan incremental = IncrementalScan.builder().overlap(Property.ofValue(Duration.ofMinutes(5))).build();
+
+        Watermark first = Watermark.restore(run("first"), incremental);
+        assertThat(first.from(), nullValue());
+        assertThat(first.accept("old", NOON.minusHours(1), "SUCCESS"), is(true));
+        assertThat(first.accept("settled", NOON.minusMinutes(2), "SUCCESS"), is(true));
+        assertThat(first.accept("running", NOON, "RUNNING"), is(true));
+        first.save();
+
+        Watermark second = Watermark.restore(run("second"), incremental);
+        assertThat(second.from(), is(ZonedDateTime.parse("2025-01-01T11:55:00Z")));
+        // fetched again within the overlap
+        assertThat(second.accept("settled", NOON.minusMinutes(2), "SUCCESS"), is(false));
+        assertThat(second.accept("running", NOON, "SUCCESS"), is(true));
+        assertThat(second.accept("late", NOON.minusMinutes(1), "SUCCESS"), is(true));
+        assertThat(second.accept("new", NOON.plusMinutes(10), "RUNNING"), is(true));
+        second.save();
+
+        Watermark third = Watermark.restore(run("third"), incremental);
+        assertThat(third.from(), is(ZonedDateTime.parse("2025-01-01T12:05:00Z")));
+        assertThat(third.accept("new", NOON.plusMinutes(10), "RUNNING"), is(false));
+    }
+
+    @Test
+    void shouldKeepTheMarkWhenNothingWasSeen() throws Exception {
+        IncrementalScan incremental = IncrementalScan.builder().key(Property.ofValue("empty_watermark")).build();
+
+        Watermark first = Watermark.restore(run("first"), incremental);
+        first.save();
+
+        assertThat(Watermark.restore(run("second"), incremental).from(), nullValue());
+    }
+}
@@ -7,7 +7,6 @@ import org.slf4j.event.Level;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.common.FetchOutput;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
@@ -189,7 +188,7 @@ public class FetchTest extends AbstractKestraOssContainerTest {
             .fetchType(Property.ofValue(FetchType.FETCH))
             .build();
 
-        FetchOutput output = searchTask.run(runContext);
+        Query.Output output = searchTask.run(runContext);
 
         assertThat(output.getRows()).isNotEmpty();
 
@@ -0,0 +1,82 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class CheckpointerTest {
+    private static final ScanCheckpoint EVERY_PAGE = ScanCheckpoint.builder().interval(Property.ofValue(Duration.ZERO)).build();
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    // a new run context per attempt of the same task run, like a task retry
+    private RunContext attempt() {
+        return runContextFactory.of(Map.of(
+            "flow", Map.of("id", "scan", "namespace", "company.team"),
+            "execution", Map.of("id", "checkpointed"),
+            "task", Map.of("id", "query"),
+            "taskrun", Map.of("id", "taskrun_1")
+        ));
+    }
+
+    @Test
+    void shouldResumeFromTheLastCheckpoint() throws Exception {
+        RunContext first = attempt();
+        Checkpointer checkpointer = Checkpointer.of(first, EVERY_PAGE, "scope");
+        File output = first.workingDir().createTempFile(".ion").toFile();
+        assertThat(checkpointer.restore(output), is(Optional.empty()));
+
+        try (Writer writer = new FileWriter(output, true)) {
+            writer.write("row_1\nrow_2\n");
+            checkpointer.written(output, writer, "2", 2);
+            writer.write("row_3\n");
+            checkpointer.written(output, writer, "3", 3);
+            // written after the last checkpoint, lost with the failed attempt
+            writer.write("row_4\n");
+        }
+
+        RunContext second = attempt();
+        File resumed = second.workingDir().createTempFile(".ion").toFile();
+        Optional<Checkpointer.Cursor> cursor = Checkpointer.of(second, EVERY_PAGE, "scope").restore(resumed);
+
+        assertThat(cursor.isPresent(), is(true));
+        assertThat(cursor.get().position(), is("3"));
+        assertThat(cursor.get().rows(), is(3L));
+        assertThat(Files.readString(resumed.toPath()), is("row_1\nrow_2\nrow_3\n"));
+    }
+
+    @Test
+    void shouldStartOverOnceCompletedOrForAnotherScope() throws Exception {
+        RunContext first = attempt();
+        Checkpointer checkpointer = Checkpointer.of(first, EVERY_PAGE, "completed");
+        File output = first.workingDir().createTempFile(".ion").toFile();
+        try (Writer writer = new FileWriter(output, true)) {
+            writer.write("row_1\n");
+            checkpointer.written(output, writer, "1", 1);
+        }
+
+        RunContext second = attempt();
+        assertThat(Checkpointer.of(second, EVERY_PAGE, "another").restore(second.workingDir().createTempFile(".ion").toFile()), is(Optional.empty()));
+
+        checkpointer.complete();
+        assertThat(Checkpointer.of(second, EVERY_PAGE, "completed").restore(second.workingDir().createTempFile(".ion").toFile()), is(Optional.empty()));
+    }
+}
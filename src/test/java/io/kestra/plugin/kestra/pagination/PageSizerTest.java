@@ -0,0 +1,77 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class PageSizerTest {
+    private static final Duration FAST = Duration.ofMillis(20);
+    private static final Duration SLOW = Duration.ofSeconds(2);
+
+    @Test
+    void shouldGrowWhilePagesAreFast() {
+        PageSizer sizer = PageSizer.adaptive(size -> {});
+
+        long offset = 0;
+        for (int i = 0; i < 20; i++) {
+            int size = sizer.next(offset);
+            sizer.record(size, size, FAST);
+            offset += size;
+        }
+
+        assertThat(sizer.next(offset), is(PageSizer.MAX_SIZE));
+    }
+
+    @Test
+    void shouldShrinkWhenPagesGetSlow() {
+        PageSizer sizer = PageSizer.adaptive(size -> {});
+
+        sizer.record(PageSizer.INITIAL_SIZE, PageSizer.INITIAL_SIZE, SLOW);
+        sizer.record(PageSizer.INITIAL_SIZE / 2, PageSizer.INITIAL_SIZE / 2, SLOW);
+        sizer.record(PageSizer.MIN_SIZE, PageSizer.MIN_SIZE, SLOW);
+
+        assertThat(sizer.next(0), is(PageSizer.MIN_SIZE));
+    }
+
+    @Test
+    void shouldNotGrowOnTheLastShortPage() {
+        PageSizer sizer = PageSizer.adaptive(size -> {});
+
+        sizer.record(PageSizer.INITIAL_SIZE, 3, FAST);
+
+        assertThat(sizer.next(0), is(PageSizer.INITIAL_SIZE));
+    }
+
+    @Test
+    void shouldAlignPagesWithTheOffset() {
+        PageSizer sizer = PageSizer.adaptive(size -> {});
+        sizer.record(PageSizer.INITIAL_SIZE, PageSizer.INITIAL_SIZE, FAST);
+
+        // 200 rows per page cannot start at offset 100, the page number would not address it
+        assertThat(sizer.next(100), is(100));
+        assertThat(sizer.next(200), is(200));
+    }
+
+    @Test
+    void shouldFetchEveryRowOnceWhileTheSizeChanges() throws Exception {
+        int total = 25_000;
+        List<Integer> sizes = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+
+        Paginator.fetchAll(PageSizer.adaptive(sizes::add), 1, (page, size) -> {
+            int from = Math.min((page - 1) * size, total);
+            int to = Math.min(page * size, total);
+            return new PaginatorTest.Page(IntStream.range(from, to).boxed().toList(), (long) total);
+        }, PaginatorTest.Page::results, PaginatorTest.Page::total, rows::addAll);
+
+        assertThat(rows, is(IntStream.range(0, total).boxed().toList()));
+        assertThat(sizes.getFirst(), is(PageSizer.INITIAL_SIZE));
+        assertThat(sizes.getLast(), is(PageSizer.MAX_SIZE));
+    }
+}
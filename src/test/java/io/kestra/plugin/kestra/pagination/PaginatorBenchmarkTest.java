@@ -0,0 +1,79 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Checks that a large scan where every page costs some network latency and some serialization time fetches the next
+ * page while the previous one is written with the pipelined {@link Paginator#stream}, instead of fetching and writing
+ * in turn.
+ * <p>
+ * Overlap is observed from the requests in flight when a page is written, not from wall-clock times, which depend on
+ * the load of the machine running the tests.
+ */
+@Slf4j
+class PaginatorBenchmarkTest {
+    private static final int PAGES = 50;
+    private static final int SIZE = 100;
+    private static final Duration FETCH = Duration.ofMillis(20);
+    private static final Duration WRITE = Duration.ofMillis(20);
+
+    record Page(List<Integer> results, Long total) {
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger pagesWrittenWhileFetching = new AtomicInteger();
+
+    private Page fetch(int page) throws InterruptedException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(FETCH);
+            return new Page(IntStream.range((page - 1) * SIZE, page * SIZE).boxed().toList(), (long) PAGES * SIZE);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void write(int row) throws InterruptedException {
+        // the cost of a page is spread over its rows
+        if (row % SIZE == SIZE - 1) {
+            Thread.sleep(WRITE);
+            if (inFlight.get() > 0) {
+                pagesWrittenWhileFetching.incrementAndGet();
+            }
+        }
+    }
+
+    @Test
+    void shouldOverlapFetchingAndWriting() {
+        long start = System.nanoTime();
+        // a single request in flight, so the gain only comes from the queue between fetching and writing
+        long written = Paginator.stream(PageSizer.fixed(SIZE), 1, Paginator.DEFAULT_PREFETCH, Paginator.UNLIMITED, (page, size) -> fetch(page), Page::results, Page::total, total -> {})
+            .doOnNext(row ->
+            {
+                try {
+                    write(row);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .count()
+            .block();
+        Duration pipelined = Duration.ofNanos(System.nanoTime() - start);
+
+        log.info("Scan of {} pages pipelined in {}, {} pages written while the next one was fetched", PAGES, pipelined, pagesWrittenWhileFetching.get());
+        assertThat(written, is((long) PAGES * SIZE));
+        assertThat(maxInFlight.get(), is(1));
+        assertThat(pagesWrittenWhileFetching.get(), greaterThan(0));
+    }
+}
@@ -0,0 +1,310 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Exceptions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaginatorTest {
+    record Page(List<Integer> results, Long total) {
+    }
+
+    private static Page page(int total, int size, int page) {
+        int from = Math.min((page - 1) * size, total);
+        int to = Math.min(page * size, total);
+        return new Page(IntStream.range(from, to).boxed().toList(), (long) total);
+    }
+
+    private static Page page(List<Integer> table, int size, int page) {
+        synchronized (table) {
+            int from = Math.min((page - 1) * size, table.size());
+            int to = Math.min(page * size, table.size());
+            return new Page(List.copyOf(table.subList(from, to)), (long) table.size());
+        }
+    }
+
+    private static List<Integer> table(int size) {
+        return new ArrayList<>(IntStream.range(0, size).boxed().toList());
+    }
+
+    @Test
+    void shouldFetchEveryPageInOrder() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> rows = new ArrayList<>();
+
+        long total = Paginator.fetchAll(10, 3, page -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                // out-of-order completion must not change the order rows are delivered in
+                Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20));
+                return page(95, 10, page);
+            } finally {
+                running.decrementAndGet();
+            }
+        }, Page::results, Page::total, rows::addAll);
+
+        assertThat(total, is(95L));
+        assertThat(rows, is(IntStream.range(0, 95).boxed().toList()));
+        assertThat(maxRunning.get(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    void shouldFetchTheLastPartialPage() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> rows = new ArrayList<>();
+
+        Paginator.fetchAll(100, 1, page -> {
+            calls.incrementAndGet();
+            return page(150, 100, page);
+        }, Page::results, Page::total, rows::addAll);
+
+        assertThat(calls.get(), is(2));
+        assertThat(rows, hasSize(150));
+    }
+
+    @Test
+    void shouldStopAfterTheFirstPageWhenEverythingFits() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        Paginator.fetchAll(100, 4, page -> {
+            calls.incrementAndGet();
+            return page(100, 100, page);
+        }, Page::results, Page::total, rows -> {});
+
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    void shouldKeepPagesBeforeAFailure() {
+        List<Integer> rows = new ArrayList<>();
+
+        assertThrows(IOException.class, () -> Paginator.fetchAll(10, 4, page -> {
+            if (page == 3) {
+                throw new IOException("Connection reset");
+            }
+            return page(100, 10, page);
+        }, Page::results, Page::total, rows::addAll));
+
+        assertThat(rows, is(IntStream.range(0, 20).boxed().toList()));
+    }
+
+    @Test
+    void shouldStreamOneMillionRowsWithBoundedPagesInMemory() {
+        int total = 1_000_000;
+        int size = 1_000;
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicLong reportedTotal = new AtomicLong();
+        AtomicLong emitted = new AtomicLong();
+
+        long count = Paginator.stream(size, 4, page -> {
+                fetched.incrementAndGet();
+                return page(total, size, page);
+            }, Page::results, Page::total, reportedTotal::set)
+            .doOnNext(row -> {
+                assertThat(row, is((int) emitted.getAndIncrement()));
+                // pages fetched but whose rows were not all emitted yet are the ones held in memory
+                maxAhead.accumulateAndGet(fetched.get() - row / size, Math::max);
+            })
+            .count()
+            .block();
+
+        assertThat(count, is((long) total));
+        assertThat(reportedTotal.get(), is((long) total));
+        assertThat(fetched.get(), is(total / size));
+        // in flight, queued for the consumer, and the one being emitted
+        assertThat(maxAhead.get(), lessThanOrEqualTo(4 + Paginator.DEFAULT_PREFETCH + 2));
+    }
+
+    @Test
+    void shouldNotFetchAnythingBeforeSubscription() {
+        AtomicInteger calls = new AtomicInteger();
+
+        Paginator.stream(10, 4, page -> {
+            calls.incrementAndGet();
+            return page(100, 10, page);
+        }, Page::results, Page::total, t -> {});
+
+        assertThat(calls.get(), is(0));
+    }
+
+    @Test
+    void shouldStreamAPrefixBeforeAFailure() {
+        List<Integer> rows = new ArrayList<>();
+
+        // reactor wraps checked exceptions when blocking
+        RuntimeException e = assertThrows(RuntimeException.class, () -> Paginator.stream(10, 4, page -> {
+                if (page == 3) {
+                    throw new IOException("Connection reset");
+                }
+                return page(100, 10, page);
+            }, Page::results, Page::total, t -> {})
+            .doOnNext(rows::add)
+            .blockLast());
+
+        assertThat(Exceptions.unwrap(e), instanceOf(IOException.class));
+        assertThat(rows, is(IntStream.range(0, 20).boxed().toList()));
+    }
+
+    @Test
+    void shouldStopOnceMaxResultsAreConsumed() throws Exception {
+        AtomicInteger maxPage = new AtomicInteger();
+        List<Integer> rows = new ArrayList<>();
+
+        long total = Paginator.fetchAll(PageSizer.fixed(100), 4, 250, (page, size) -> {
+            maxPage.accumulateAndGet(page, Math::max);
+            return page(10_000, size, page);
+        }, Page::results, Page::total, rows::addAll);
+
+        assertThat(total, is(10_000L));
+        assertThat(rows, is(IntStream.range(0, 250).boxed().toList()));
+        assertThat(maxPage.get(), is(3));
+    }
+
+    @Test
+    void shouldShrinkTheFirstPageToMaxResults() throws Exception {
+        List<Integer> sizes = new ArrayList<>();
+
+        Paginator.fetchAll(PageSizer.fixed(100), 4, 5, (page, size) -> {
+            sizes.add(size);
+            return page(10_000, size, page);
+        }, Page::results, Page::total, rows -> {});
+
+        assertThat(sizes, is(List.of(5)));
+    }
+
+    @Test
+    void shouldStreamNoMoreThanMaxResults() {
+        AtomicInteger maxPage = new AtomicInteger();
+
+        List<Integer> rows = Paginator.stream(PageSizer.fixed(100), 4, Paginator.DEFAULT_PREFETCH, 250, (page, size) -> {
+                maxPage.accumulateAndGet(page, Math::max);
+                return page(10_000, size, page);
+            }, Page::results, Page::total, t -> {})
+            .collectList()
+            .block();
+
+        assertThat(rows, is(IntStream.range(0, 250).boxed().toList()));
+        assertThat(maxPage.get(), is(3));
+    }
+
+    @Test
+    void shouldFetchAgainTheRowsMovedBackByARemoval() throws Exception {
+        List<Integer> table = table(100);
+        List<Integer> rows = new ArrayList<>();
+
+        Paginator.fetchAll(PageSizer.fixed(10), 1, Paginator.UNLIMITED, (page, size) -> {
+            if (page == 3) {
+                // rows already returned are deleted, 20, 21 and 22 move back to the end of page 2
+                synchronized (table) {
+                    table.subList(0, 3).clear();
+                }
+            }
+            return page(table, size, page);
+        }, Page::results, Page::total, Object::toString, rows::addAll);
+
+        assertThat(rows, hasSize(100));
+        assertThat(rows, containsInAnyOrder(IntStream.range(0, 100).boxed().toArray()));
+    }
+
+    @Test
+    void shouldOnlyFetchAgainTheRememberedPagesAfterALargeRemoval() throws Exception {
+        List<Integer> table = table(1_000);
+        List<Integer> rows = new ArrayList<>();
+        AtomicInteger fetched = new AtomicInteger();
+
+        Paginator.fetchAll(PageSizer.fixed(10), 1, Paginator.UNLIMITED, (page, size) -> {
+            fetched.incrementAndGet();
+            if (page == 50) {
+                // 200 rows already returned are deleted, more than the remembered pages hold: 490 to 689 move back
+                synchronized (table) {
+                    table.subList(0, 200).clear();
+                }
+            }
+            return page(table, size, page);
+        }, Page::results, Page::total, Object::toString, rows::addAll);
+
+        // the 80 rows before page 50, 610 to 689, are fetched again, those that moved back further are skipped
+        assertThat(fetched.get(), is(80 + Paginator.REMEMBERED_PAGES));
+        assertThat(rows, hasSize(1_000 - 120));
+        assertThat(rows.stream().distinct().count(), is((long) rows.size()));
+        assertThat(rows, hasItems(IntStream.range(610, 690).boxed().toArray(Integer[]::new)));
+        assertThat(rows, not(hasItem(490)));
+    }
+
+    @Test
+    void shouldDropTheRowsMovedForwardByAnInsertion() {
+        List<Integer> table = table(100);
+
+        List<Integer> rows = Paginator.stream(PageSizer.fixed(10), 1, Paginator.DEFAULT_PREFETCH, Paginator.UNLIMITED, (page, size) -> {
+                if (page == 3) {
+                    // new rows at the head move 17, 18 and 19 to page 3
+                    synchronized (table) {
+                        table.addAll(0, List.of(-1, -2, -3));
+                    }
+                }
+                return page(table, size, page);
+            }, Page::results, Page::total, Object::toString, t -> {})
+            .collectList()
+            .block();
+
+        assertThat(rows, is(IntStream.range(0, 100).boxed().toList()));
+    }
+
+    @Test
+    void shouldFollowATotalGrowingDuringTheLastPage() {
+        List<Integer> table = table(100);
+        List<Long> totals = new ArrayList<>();
+
+        List<Integer> rows = Paginator.stream(PageSizer.fixed(10), 4, Paginator.DEFAULT_PREFETCH, Paginator.UNLIMITED, (page, size) -> {
+                if (page == 10) {
+                    synchronized (table) {
+                        table.addAll(IntStream.range(100, 115).boxed().toList());
+                    }
+                }
+                return page(table, size, page);
+            }, Page::results, Page::total, Object::toString, totals::add)
+            .collectList()
+            .block();
+
+        assertThat(rows, is(IntStream.range(0, 115).boxed().toList()));
+        assertThat(totals, is(List.of(100L, 115L)));
+    }
+
+    @Test
+    void shouldStopAtAShortPageWhateverTheTotalSays() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> rows = new ArrayList<>();
+
+        Paginator.fetchAll(10, 1, page -> {
+            calls.incrementAndGet();
+            Page served = page(35, 10, page);
+            return new Page(served.results(), 1_000L);
+        }, Page::results, Page::total, rows::addAll);
+
+        assertThat(calls.get(), is(4));
+        assertThat(rows, is(IntStream.range(0, 35).boxed().toList()));
+    }
+
+    @Test
+    void shouldResumeFromTheOffsetOfAPreviousChunk() {
+        List<Paginator.Chunk<Integer>> chunks = Paginator.pages(PageSizer.fixed(10), 4, Paginator.DEFAULT_PREFETCH, 40, Paginator.UNLIMITED, (page, size) -> page(100, size, page), Page::results, Page::total, Object::toString, t -> {})
+            .collectList()
+            .block();
+
+        assertThat(chunks.stream().flatMap(chunk -> chunk.rows().stream()).toList(), is(IntStream.range(40, 100).boxed().toList()));
+        assertThat(chunks.stream().map(Paginator.Chunk::next).toList(), is(List.of(50L, 60L, 70L, 80L, 90L, 100L)));
+    }
+}
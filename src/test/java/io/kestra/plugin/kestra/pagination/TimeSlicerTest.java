@@ -0,0 +1,97 @@
+package io.kestra.plugin.kestra.pagination;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeSlicerTest {
+    private static final ZonedDateTime FROM = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime TO = FROM.plusDays(30);
+
+    record Row(String id, ZonedDateTime startDate) {
+    }
+
+    record Page(List<Row> results, Long total) {
+    }
+
+    private static Page search(List<Row> table, ZonedDateTime from, ZonedDateTime to, int size, int page) {
+        List<Row> matching = table.stream()
+            .filter(row -> !row.startDate().isBefore(from) && !row.startDate().isAfter(to))
+            .toList();
+        int start = Math.min((page - 1) * size, matching.size());
+        int end = Math.min(page * size, matching.size());
+        return new Page(matching.subList(start, end), (long) matching.size());
+    }
+
+    private static List<Row> table() {
+        List<Row> table = new ArrayList<>();
+        // a steady trickle, one row per hour, some of them on slice boundaries
+        IntStream.range(0, 30 * 24).forEach(i -> table.add(new Row("hourly_" + i, FROM.plusHours(i))));
+        // a burst of 2,000 rows within ten minutes
+        IntStream.range(0, 2_000).forEach(i -> table.add(new Row("burst_" + i, FROM.plusDays(10).plusNanos(i * 300_000_000L))));
+        return table;
+    }
+
+    @Test
+    void shouldReturnEveryRowOnceWithSmallSlices() {
+        List<Row> table = table();
+        AtomicInteger maxPage = new AtomicInteger();
+
+        List<String> ids = TimeSlicer.stream(FROM, TO, 100, 4, 1, (from, to, page) -> {
+                maxPage.accumulateAndGet(page, Math::max);
+                return search(table, from, to, 100, page);
+            }, Page::results, Page::total, Row::id)
+            .map(Row::id)
+            .collectList()
+            .block();
+
+        assertThat(ids, hasSize(table.size()));
+        assertThat(ids, containsInAnyOrder(table.stream().map(Row::id).toArray()));
+        assertThat(maxPage.get(), lessThanOrEqualTo(4));
+    }
+
+    @Test
+    void shouldKeepTimeOrderWhenScanningPartsInParallel() {
+        List<Row> table = table();
+
+        List<Row> rows = TimeSlicer.stream(FROM, TO, 100, 4, 4, (from, to, page) -> search(table, from, to, 100, page), Page::results, Page::total, Row::id)
+            .collectList()
+            .block();
+
+        assertThat(rows, hasSize(table.size()));
+        for (int i = 1; i < rows.size(); i++) {
+            assertThat(rows.get(i).startDate(), greaterThanOrEqualTo(rows.get(i - 1).startDate()));
+        }
+    }
+
+    @Test
+    void shouldIgnoreRowsInsertedAfterTheWindowDuringTheScan() {
+        List<Row> table = new ArrayList<>(table());
+        int expected = table.size();
+
+        List<Row> rows = TimeSlicer.stream(FROM, TO, 100, 4, 1, (from, to, page) -> {
+                // a live table keeps growing at its head while the scan runs
+                table.add(new Row("late_" + table.size(), TO.plus(Duration.ofMinutes(1))));
+                return search(table, from, to, 100, page);
+            }, Page::results, Page::total, Row::id)
+            .collectList()
+            .block();
+
+        assertThat(rows, hasSize(expected));
+    }
+
+    @Test
+    void shouldRejectAReversedWindow() {
+        assertThrows(IllegalArgumentException.class, () -> TimeSlicer.stream(TO, FROM, 100, 4, 1, (from, to, page) -> new Page(List.of(), 0L), Page::results, Page::total, Row::id));
+    }
+}
@@ -0,0 +1,79 @@
+package io.kestra.plugin.kestra.serde;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class FetchGuardTest {
+    record Row(String id, String namespace) {
+    }
+
+    private static final List<Row> ROWS = IntStream.range(0, 20).mapToObj(i -> new Row("execution_" + i, "company.team")).toList();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldOnlyGuardWithLimits() {
+        assertThat(FetchGuard.of(null, null), nullValue());
+    }
+
+    @Test
+    void shouldLimitRows() throws Exception {
+        assertThat(collect(FetchGuard.of(20, null), ROWS).exceeded(), is(false));
+        assertThat(collect(FetchGuard.of(19, null), ROWS).exceeded(), is(true));
+    }
+
+    @Test
+    void shouldLimitSerializedBytes() throws Exception {
+        // {"id":"execution_0","namespace":"company.team"} is 47 bytes
+        assertThat(collect(FetchGuard.of(null, 47L), ROWS.subList(0, 1)).exceeded(), is(false));
+        assertThat(collect(FetchGuard.of(null, 46L), ROWS.subList(0, 1)).exceeded(), is(true));
+        assertThat(collect(FetchGuard.of(null, 10_000L), ROWS).exceeded(), is(false));
+    }
+
+    @Test
+    void shouldKeepEveryRowWithoutGuard() throws Exception {
+        FetchGuard.Rows<Row> rows = collect(null, ROWS);
+
+        assertThat(rows.exceeded(), is(false));
+        assertThat(rows.rows(), is(ROWS));
+        assertThat(rows.count(), is(20L));
+    }
+
+    @Test
+    void shouldStoreEveryRowAndOnlyHoldThePreviewOnceExceeded() throws Exception {
+        File spill = directory.resolve("rows.jsonl").toFile();
+        FetchGuard.Rows<Row> rows = FetchGuard.collect(FetchGuard.of(12, null), spill, OutputFormat.NDJSON, OutputCompression.NONE, Row.class, null);
+        try (rows) {
+            for (Row row : ROWS) {
+                rows.add(row);
+                // the rows after the limit go to the file, not to memory
+                assertThat(rows.rows().size(), lessThanOrEqualTo(12 + 1));
+            }
+        }
+
+        assertThat(rows.exceeded(), is(true));
+        assertThat(rows.count(), is(20L));
+        assertThat(rows.rows(), is(ROWS.subList(0, FetchGuard.PREVIEW_ROWS)));
+        assertThat(Files.readAllLines(spill.toPath()), hasSize(20));
+    }
+
+    private FetchGuard.Rows<Row> collect(FetchGuard guard, List<Row> rows) throws IOException {
+        File spill = Files.createTempFile(directory, "rows", ".jsonl").toFile();
+        FetchGuard.Rows<Row> collected = FetchGuard.collect(guard, spill, OutputFormat.NDJSON, OutputCompression.NONE, Row.class, null);
+        try (collected) {
+            collected.addAll(rows);
+        }
+        return collected;
+    }
+}
@@ -0,0 +1,58 @@
+package io.kestra.plugin.kestra.serde;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class FieldProjectionTest {
+    record State(String current, String startDate, String duration, List<String> histories) {
+    }
+
+    record Label(String key, String value) {
+    }
+
+    record Execution(String id, String namespace, String flowId, State state, List<Label> labels) {
+    }
+
+    private static final Execution EXECUTION = new Execution(
+        "execution_1",
+        "company.team",
+        "etl",
+        new State("SUCCESS", "2025-01-01T00:00:00Z", "PT1M", List.of("CREATED", "RUNNING", "SUCCESS")),
+        List.of(new Label("team", "data"), new Label("env", "prod"))
+    );
+
+    @Test
+    void shouldKeepOnlyTheSelectedFields() {
+        FieldProjection projection = FieldProjection.of(List.of("id", "flowId", "state.current", "state.duration"));
+
+        Map<String, Object> row = projection.toMap(EXECUTION);
+
+        assertThat(row, is(Map.of(
+            "id", "execution_1",
+            "flowId", "etl",
+            "state", Map.of("current", "SUCCESS", "duration", "PT1M")
+        )));
+    }
+
+    @Test
+    void shouldKeepWholeObjectsAndProjectListItems() {
+        FieldProjection projection = FieldProjection.of(List.of("state", "state.current", "labels.key"));
+
+        Map<String, Object> row = projection.toMap(EXECUTION);
+
+        assertThat(row.keySet(), containsInAnyOrder("state", "labels"));
+        assertThat((Map<?, ?>) row.get("state"), aMapWithSize(4));
+        assertThat(row.get("labels"), is(List.of(Map.of("key", "team"), Map.of("key", "env"))));
+    }
+
+    @Test
+    void shouldKeepEverythingWithoutFields() {
+        assertThat(FieldProjection.of(List.of()), nullValue());
+        assertThat(FieldProjection.of(null), nullValue());
+    }
+}
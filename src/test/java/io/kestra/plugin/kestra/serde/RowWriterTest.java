@@ -0,0 +1,167 @@
+package io.kestra.plugin.kestra.serde;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RowWriterTest {
+    record State(String current, String duration) {
+    }
+
+    record Execution(String id, String namespace, State state, List<String> tags) {
+    }
+
+    record Tagged(String tenantId, @JsonUnwrapped Execution execution) {
+    }
+
+    enum Kind {
+        FLOW_TRIGGER;
+
+        @JsonValue
+        String value() {
+            return "flow-trigger";
+        }
+    }
+
+    record Event(Kind kind, OffsetDateTime date, Map<String, String> labels, UUID uid, List<String> empty) {
+    }
+
+    private static final Execution FIRST = new Execution("execution_1", "company.team", new State("SUCCESS", "PT1M"), List.of("a", "b"));
+    private static final Execution SECOND = new Execution("execution_2", "company, \"team\"", new State("FAILED", null), null);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteIonLines() throws Exception {
+        File output = directory.resolve("rows.ion").toFile();
+        long count;
+        try (RowWriter writer = RowWriter.of(output, OutputFormat.ION, OutputCompression.NONE, Execution.class, null)) {
+            count = writer.writeAll(Flux.just(FIRST, SECOND)).block();
+        }
+
+        List<String> lines = Files.readAllLines(output.toPath());
+        assertThat(count, is(2L));
+        assertThat(lines, hasSize(2));
+        assertThat(JacksonMapper.ofIon().readValue(lines.get(0), Map.class).get("id"), is("execution_1"));
+    }
+
+    @Test
+    void shouldWriteProjectedNdjsonLines() throws Exception {
+        File output = directory.resolve("rows.ndjson").toFile();
+        try (RowWriter writer = RowWriter.of(output, OutputFormat.NDJSON, OutputCompression.NONE, Execution.class, FieldProjection.of(List.of("id", "state.current")))) {
+            writer.writeAll(Flux.just(FIRST, SECOND)).block();
+        }
+
+        List<String> lines = Files.readAllLines(output.toPath());
+        assertThat(lines, hasSize(2));
+        assertThat(JacksonMapper.ofJson().readValue(lines.get(0), Map.class), is(Map.of("id", "execution_1", "state", Map.of("current", "SUCCESS"))));
+    }
+
+    @Test
+    void shouldWriteFlattenedCsv() throws Exception {
+        File output = directory.resolve("rows.csv").toFile();
+        try (RowWriter writer = RowWriter.of(output, OutputFormat.CSV, OutputCompression.NONE, Execution.class, null)) {
+            writer.writeAll(Flux.just(FIRST, SECOND)).block();
+        }
+
+        List<String> lines = Files.readAllLines(output.toPath());
+        assertThat(lines.get(0).split(","), arrayContainingInAnyOrder("id", "namespace", "state.current", "state.duration", "tags"));
+        assertThat(lines, hasSize(3));
+        assertThat(lines.get(1), containsString("\"[\"\"a\"\",\"\"b\"\"]\""));
+        assertThat(lines.get(2), containsString("\"company, \"\"team\"\"\""));
+    }
+
+    @Test
+    void shouldWriteCsvCellsAsInJson() throws Exception {
+        UUID uid = UUID.fromString("0b3c4d5e-0000-4000-8000-000000000001");
+        Event event = new Event(Kind.FLOW_TRIGGER, OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), Map.of("team", "a,b"), uid, null);
+
+        File output = directory.resolve("events.csv").toFile();
+        try (RowWriter writer = RowWriter.of(output, OutputFormat.CSV, OutputCompression.NONE, Event.class, FieldProjection.of(List.of("kind", "date", "labels", "uid", "empty")))) {
+            writer.write(event);
+            writer.write(event);
+        }
+
+        List<String> lines = Files.readAllLines(output.toPath());
+        assertThat(lines, hasSize(3));
+        assertThat(lines.get(0), is("kind,date,labels,uid,empty"));
+        // the cell generator is reused, each cell only gets its own value
+        assertThat(lines.get(1), is("flow-trigger,2024-01-01T00:00:00Z,\"{\"\"team\"\":\"\"a,b\"\"}\"," + uid + ","));
+        assertThat(lines.get(2), is(lines.get(1)));
+    }
+
+    @Test
+    void shouldWriteUnwrappedFieldsInTheRow() throws Exception {
+        Tagged tagged = new Tagged("production", FIRST);
+
+        File csv = directory.resolve("tagged.csv").toFile();
+        try (RowWriter writer = RowWriter.of(csv, OutputFormat.CSV, OutputCompression.NONE, Tagged.class, null)) {
+            writer.write(tagged);
+        }
+        List<String> lines = Files.readAllLines(csv.toPath());
+        assertThat(lines.get(0).split(","), arrayContainingInAnyOrder("tenantId", "id", "namespace", "state.current", "state.duration", "tags"));
+
+        File ndjson = directory.resolve("tagged.ndjson").toFile();
+        try (RowWriter writer = RowWriter.of(ndjson, OutputFormat.NDJSON, OutputCompression.NONE, Tagged.class, FieldProjection.of(List.of("tenantId", "id")))) {
+            writer.write(tagged);
+        }
+        assertThat(JacksonMapper.ofJson().readValue(Files.readString(ndjson.toPath()), Map.class), is(Map.of("tenantId", "production", "id", "execution_1")));
+    }
+
+    @Test
+    void shouldKeepGzipReadableAfterFlushAndAppend() throws Exception {
+        File output = directory.resolve("rows.csv.gz").toFile();
+        FieldProjection projection = FieldProjection.of(List.of("id"));
+        long flushed;
+        try (RowWriter writer = RowWriter.of(output, OutputFormat.CSV, OutputCompression.GZIP, Execution.class, projection)) {
+            writer.write(FIRST);
+            writer.flush();
+            flushed = output.length();
+            // written after the flush, like the rows lost with a failed attempt
+            writer.write(FIRST);
+        }
+
+        // resumed from the bytes of the flush, like a checkpoint
+        try (FileChannel channel = FileChannel.open(output.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(flushed);
+        }
+        try (RowWriter writer = RowWriter.append(output, OutputFormat.CSV, OutputCompression.GZIP, Execution.class, projection)) {
+            writer.write(SECOND);
+        }
+
+        try (InputStream in = new GZIPInputStream(new FileInputStream(output))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8), is("id\nexecution_1\nexecution_2\n"));
+        }
+    }
+
+    @Test
+    void shouldNameFilesAfterTheFormat() {
+        assertThat(RowWriter.extension(OutputFormat.NDJSON, OutputCompression.GZIP), is(".ndjson.gz"));
+        assertThat(RowWriter.extension(OutputFormat.ION, OutputCompression.NONE), is(".ion"));
+    }
+}